@@ -0,0 +1,39 @@
+package ru.testassignment.bench;
+
+import io.qameta.allure.Allure;
+import io.qameta.allure.AllureLifecycle;
+import io.qameta.allure.model.TestResult;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import java.util.UUID;
+
+/**
+ * Открытый тест-кейс Allure в потоке бенчмарка.
+ *
+ * Без него @Step и AllureRestAssured видят «тест не запущен» и ничего не пишут —
+ * замер был бы дешевле, чем в настоящем прогоне. Кейс закрывается после каждой итерации,
+ * чтобы вложения не копились в памяти; результаты — в target/jmh-allure-results.
+ */
+@State(Scope.Thread)
+public class AllureTestContext {
+
+    private final AllureLifecycle lifecycle = Allure.getLifecycle();
+    private String uuid;
+
+    @Setup(Level.Iteration)
+    public void startTestCase() {
+        uuid = UUID.randomUUID().toString();
+        lifecycle.scheduleTestCase(new TestResult().setUuid(uuid).setName("JMH"));
+        lifecycle.startTestCase(uuid);
+    }
+
+    @TearDown(Level.Iteration)
+    public void stopTestCase() {
+        lifecycle.stopTestCase(uuid);
+        lifecycle.writeTestCase(uuid);
+    }
+}
@@ -0,0 +1,60 @@
+package ru.testassignment.bench;
+
+import io.qameta.allure.restassured.AllureRestAssured;
+import io.restassured.RestAssured;
+import io.restassured.response.ValidatableResponse;
+import org.openjdk.jmh.annotations.*;
+import ru.testassignment.client.EndpointClient;
+import ru.testassignment.helper.TokenGenerator;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Клиентская часть одного запроса EndpointClient.send: сборка, отправка, разбор ответа.
+ *
+ * Сервер — {@link StubEndpoint} в том же процессе, поэтому разница между вариантами —
+ * это накладные расходы клиента:
+ * - restassured — REST Assured без фильтров;
+ * - restassured-allure — плюс AllureRestAssured, как в обычном прогоне (вложения пишутся на диск);
+ * - http-client — транспорт -Dendpoint.transport=http-client.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class EndpointClientBenchmark {
+
+    @Param({"restassured", "restassured-allure", "http-client"})
+    public String client;
+
+    private StubEndpoint endpoint;
+    private String token;
+
+    @Setup
+    public void setUp() throws IOException {
+        endpoint = StubEndpoint.start();
+        // TestConfig ещё не загружен: порт и транспорт подхватятся при первом обращении к EndpointClient
+        System.setProperty("app.port", String.valueOf(endpoint.port()));
+        if ("http-client".equals(client)) {
+            System.setProperty("endpoint.transport", "http-client");
+        }
+        if ("restassured-allure".equals(client)) {
+            RestAssured.filters(new AllureRestAssured());
+        }
+        token = TokenGenerator.validToken();
+    }
+
+    @TearDown
+    public void tearDown() {
+        RestAssured.reset();
+        endpoint.close();
+    }
+
+    @Benchmark
+    public ValidatableResponse send(AllureTestContext allure) {
+        return EndpointClient.send(token, "ACTION");
+    }
+}
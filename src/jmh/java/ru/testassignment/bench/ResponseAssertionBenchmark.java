@@ -0,0 +1,39 @@
+package ru.testassignment.bench;
+
+import io.restassured.response.ValidatableResponse;
+import org.openjdk.jmh.annotations.*;
+import ru.testassignment.client.EndpointResponse;
+import ru.testassignment.steps.ApiSteps;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Стоимость проверки ответа в ApiSteps: только статус против статуса с JSON-path "result".
+ *
+ * Ответ собран заранее, сеть не участвует. Шаги @Step пишутся в открытый тест-кейс Allure.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Thread)
+public class ResponseAssertionBenchmark {
+
+    private ValidatableResponse response;
+
+    @Setup
+    public void setUp() {
+        response = new EndpointResponse(200, "application/json", "{\"result\":\"OK\"}").then();
+    }
+
+    @Benchmark
+    public void assertStatus(AllureTestContext allure) {
+        ApiSteps.assertStatus(response, 200);
+    }
+
+    @Benchmark
+    public void assertResultOk(AllureTestContext allure) {
+        ApiSteps.assertResultOk(response, 200);
+    }
+}
@@ -0,0 +1,51 @@
+package ru.testassignment.bench;
+
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Минимальный /endpoint на встроенном HTTP-сервере JDK: всегда 200 {"result":"OK"}.
+ *
+ * Заменяет приложение, чтобы в замер клиента не попадала работа сервера и мока.
+ */
+final class StubEndpoint implements AutoCloseable {
+
+    private static final byte[] RESPONSE = "{\"result\":\"OK\"}".getBytes(StandardCharsets.UTF_8);
+
+    private final HttpServer server;
+
+    private StubEndpoint(HttpServer server) {
+        this.server = server;
+    }
+
+    /** Поднимает сервер на свободном порту */
+    static StubEndpoint start() throws IOException {
+        HttpServer server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        server.createContext("/endpoint", exchange -> {
+            try (InputStream body = exchange.getRequestBody()) {
+                body.transferTo(OutputStream.nullOutputStream());
+            }
+            exchange.getResponseHeaders().set("Content-Type", "application/json");
+            exchange.sendResponseHeaders(200, RESPONSE.length);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(RESPONSE);
+            }
+        });
+        server.start();
+        return new StubEndpoint(server);
+    }
+
+    int port() {
+        return server.getAddress().getPort();
+    }
+
+    @Override
+    public void close() {
+        server.stop(0);
+    }
+}
@@ -0,0 +1,88 @@
+package ru.testassignment.bench;
+
+import org.openjdk.jmh.annotations.*;
+import ru.testassignment.mock.LightMockServer;
+import ru.testassignment.mock.MockBackend;
+import ru.testassignment.mock.WireMockBackend;
+import ru.testassignment.steps.ApiSteps;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.concurrent.TimeUnit;
+
+import static com.github.tomakehurst.wiremock.core.WireMockConfiguration.wireMockConfig;
+
+/**
+ * Ответ мока на /auth в зависимости от числа токен-специфичных стабов (ApiSteps.stubAuth).
+ *
+ * Каждый тест добавляет свои стабы и не удаляет их, поэтому к концу прогона WireMock
+ * перебирает сотни условий на каждый запрос приложения:
+ * - token — запрос со стабированным токеном (приоритет 1);
+ * - global — токен без стаба, ответ общего стаба после перебора всех токен-специфичных.
+ * Разница с stubs=0 — цена сопоставления; остальное — HTTP и сам WireMock.
+ * Журнал запросов ограничен, иначе за время замера он занял бы всю память.
+ *
+ * server=light — тот же замер на LightMockServer: стаб ищется по хеш-таблице,
+ * поэтому его время от числа стабов не зависит.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class StubMatchingBenchmark {
+
+    private static final String UNSTUBBED_TOKEN = "FFFFFFFFFFFFFFFFFFFFFFFFFFFFFFFF";
+
+    @Param({"0", "100", "1000"})
+    public int stubs;
+
+    @Param({"token", "global"})
+    public String target;
+
+    @Param({"wiremock", "light"})
+    public String server;
+
+    private MockBackend mock;
+    private HttpClient client;
+    private HttpRequest request;
+
+    @Setup
+    public void setUp() {
+        mock = "light".equals(server)
+                ? new LightMockServer(0, 200)
+                : new WireMockBackend(wireMockConfig().dynamicPort().maxRequestJournalEntries(10_000));
+        mock.start();
+        ApiSteps.stubAuth(mock, 200);
+        String stubbedToken = UNSTUBBED_TOKEN;
+        for (int i = 0; i < stubs; i++) {
+            String token = String.format("%032X", i);
+            ApiSteps.stubAuth(mock, token, 200);
+            // Токен из середины — типичная, а не лучшая или худшая позиция в списке стабов
+            if (i == stubs / 2) {
+                stubbedToken = token;
+            }
+        }
+        String token = "token".equals(target) ? stubbedToken : UNSTUBBED_TOKEN;
+
+        client = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+        request = HttpRequest.newBuilder(URI.create("http://localhost:" + mock.port() + "/auth"))
+                .header("Content-Type", "application/x-www-form-urlencoded")
+                .POST(HttpRequest.BodyPublishers.ofString("token=" + token))
+                .build();
+    }
+
+    @TearDown
+    public void tearDown() {
+        mock.stop();
+    }
+
+    @Benchmark
+    public int auth() throws IOException, InterruptedException {
+        return client.send(request, HttpResponse.BodyHandlers.discarding()).statusCode();
+    }
+}
@@ -0,0 +1,44 @@
+package ru.testassignment.bench;
+
+import org.openjdk.jmh.annotations.*;
+import ru.testassignment.helper.TokenGenerator;
+import ru.testassignment.helper.TokenStream;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Стоимость генерации токенов: по одному через ThreadLocal и пакетно из своего потока.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Thread)
+public class TokenBenchmark {
+
+    private TokenStream stream;
+
+    @Setup
+    public void setUp() {
+        stream = TokenGenerator.currentStream();
+    }
+
+    /** То, что вызывает каждый тест */
+    @Benchmark
+    public String validToken() {
+        return TokenGenerator.validToken();
+    }
+
+    /** Без обращения к ThreadLocal — так работают нагрузочные драйверы */
+    @Benchmark
+    public String streamNext() {
+        return stream.next();
+    }
+
+    /** Готовое тело формы — без formParam и URL-кодирования */
+    @Benchmark
+    public byte[] formBody() {
+        return stream.nextFormBody("ACTION");
+    }
+}
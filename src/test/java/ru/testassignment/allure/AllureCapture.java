@@ -0,0 +1,64 @@
+package ru.testassignment.allure;
+
+import io.qameta.allure.Allure;
+import io.qameta.allure.restassured.AllureRestAssured;
+import io.restassured.filter.Filter;
+import ru.testassignment.config.TestConfig;
+
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Как запросы REST Assured попадают в Allure. Режим — -Dallure.capture:
+ * - full (по умолчанию) — AllureRestAssured, каждый запрос и ответ во вложениях;
+ * - sampled — {@link SampledAllureFilter}: выборка запросов, фоновая запись и сводка на тест.
+ *   Параметры выборки: -Dallure.capture.first (5), -Dallure.capture.every (100),
+ *   -Dallure.capture.slowMs (1000).
+ */
+public final class AllureCapture {
+
+    private static final boolean SAMPLED = "sampled".equals(TestConfig.ALLURE_CAPTURE);
+
+    private static AttachmentWriter writer;
+    private static SampledAllureFilter sampledFilter;
+
+    private AllureCapture() {
+    }
+
+    /** Фильтр для RestAssured.filters(...) по выбранному режиму */
+    public static synchronized Filter filter() {
+        if (!SAMPLED) {
+            return new AllureRestAssured();
+        }
+        if (sampledFilter == null) {
+            writer = new AttachmentWriter(Allure.getLifecycle());
+            sampledFilter = new SampledAllureFilter(Allure.getLifecycle(), writer,
+                    Integer.getInteger("allure.capture.first", 5),
+                    Integer.getInteger("allure.capture.every", 100),
+                    Long.getLong("allure.capture.slowMs", 1000));
+        }
+        return sampledFilter;
+    }
+
+    /** Прикрепить к тесту сводку его запросов (только режим sampled) */
+    static void attachSummary(String testUuid) {
+        SampledAllureFilter filter;
+        synchronized (AllureCapture.class) {
+            filter = sampledFilter;
+        }
+        if (filter == null) {
+            return;
+        }
+        filter.takeStats(testUuid).ifPresent(stats -> {
+            String summary = stats.summary();
+            writer.submit("HTTP-запросы теста: сводка", "text/plain", ".txt",
+                    () -> summary.getBytes(StandardCharsets.UTF_8));
+        });
+    }
+
+    /** Дописать отложенные вложения — в конце запуска, до генерации отчёта */
+    public static synchronized void close() throws InterruptedException {
+        if (writer != null) {
+            writer.shutdown();
+        }
+    }
+}
@@ -0,0 +1,57 @@
+package ru.testassignment.allure;
+
+import io.qameta.allure.Allure;
+import io.qameta.allure.AllureLifecycle;
+import io.qameta.allure.model.Parameter;
+import io.qameta.allure.model.Status;
+import io.qameta.allure.model.TestResult;
+import ru.testassignment.config.TestConfig;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static io.qameta.allure.util.ResultsUtils.*;
+
+/**
+ * Сводки на весь запуск — отдельными результатами в отчёте Allure (эпик «Сводки запуска»).
+ *
+ * Такой результат не принадлежит ни одному тесту: его создают в конце запуска, когда
+ * тесты уже закрыты (см. TestEnvironment.close). У каждого форка — свой результат.
+ */
+public final class AllureReports {
+
+    private static final String EPIC = "Сводки запуска";
+
+    private AllureReports() {
+    }
+
+    /** Опубликовать сводку с текстовыми вложениями (имя → текст, в порядке map) */
+    public static void publish(String feature, String name, Map<String, String> attachments) {
+        AllureLifecycle lifecycle = Allure.getLifecycle();
+        String uuid = UUID.randomUUID().toString();
+        String fullName = AllureReports.class.getName() + "." + feature + "." + name;
+        TestResult result = new TestResult()
+                .setUuid(uuid)
+                .setName(name)
+                .setFullName(fullName)
+                // История Allure — своя у каждого форка
+                .setHistoryId(md5(fullName + "#" + TestConfig.WORKER_ID))
+                .setStatus(Status.PASSED)
+                .setLabels(new ArrayList<>(List.of(
+                        createEpicLabel(EPIC),
+                        createFeatureLabel(feature),
+                        createSuiteLabel(EPIC),
+                        createHostLabel())))
+                .setParameters(new ArrayList<>(List.of(
+                        new Parameter().setName("Воркер").setValue(String.valueOf(TestConfig.WORKER_ID)))));
+        lifecycle.scheduleTestCase(result);
+        lifecycle.startTestCase(uuid);
+        attachments.forEach((attachmentName, text) -> lifecycle.addAttachment(
+                attachmentName, "text/plain", ".txt", text.getBytes(StandardCharsets.UTF_8)));
+        lifecycle.stopTestCase(uuid);
+        lifecycle.writeTestCase(uuid);
+    }
+}
@@ -0,0 +1,97 @@
+package ru.testassignment.allure;
+
+import io.qameta.allure.AllureLifecycle;
+
+import java.io.ByteArrayInputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Фоновая запись вложений Allure пачками.
+ *
+ * Вложение регистрируется в тесте синхронно ({@link AllureLifecycle#prepareAttachment}),
+ * а содержимое рендерится и пишется на диск отдельным потоком — поток теста не ждёт диск.
+ * Если очередь переполнена, вложение пишется в потоке вызова: медленнее, но без потерь.
+ * После {@link #shutdown} вложения пишутся в потоке вызова.
+ */
+final class AttachmentWriter {
+
+    private static final int QUEUE_CAPACITY = 10_000;
+    private static final int BATCH_SIZE = 256;
+
+    private record Pending(String source, Supplier<byte[]> content) {
+    }
+
+    private final AllureLifecycle lifecycle;
+    private final BlockingQueue<Pending> queue = new LinkedBlockingQueue<>(QUEUE_CAPACITY);
+    private final Thread worker;
+    private long submitted;
+    private long written;
+    private volatile boolean closed;
+
+    AttachmentWriter(AllureLifecycle lifecycle) {
+        this.lifecycle = lifecycle;
+        this.worker = new Thread(this::drainLoop, "allure-attachment-writer");
+        this.worker.setDaemon(true);
+        this.worker.start();
+    }
+
+    /** Зарегистрировать вложение в текущем тесте/шаге; content вызывается уже в фоне */
+    void submit(String name, String type, String extension, Supplier<byte[]> content) {
+        String source = lifecycle.prepareAttachment(name, type, extension);
+        Pending pending = new Pending(source, content);
+        synchronized (this) {
+            submitted++;
+        }
+        if (closed || !queue.offer(pending)) {
+            write(pending);
+        }
+    }
+
+    /** Дождаться записи всего, что отправлено до вызова */
+    synchronized void flush() throws InterruptedException {
+        long target = submitted;
+        while (written < target) {
+            wait(TimeUnit.SECONDS.toMillis(1));
+        }
+    }
+
+    /** Дописать отправленное и остановить фоновый поток */
+    void shutdown() throws InterruptedException {
+        flush();
+        closed = true;
+        worker.interrupt();
+    }
+
+    private void drainLoop() {
+        List<Pending> batch = new ArrayList<>(BATCH_SIZE);
+        try {
+            while (!closed) {
+                batch.add(queue.take());
+                queue.drainTo(batch, BATCH_SIZE - 1);
+                batch.forEach(this::write);
+                batch.clear();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void write(Pending pending) {
+        try {
+            lifecycle.writeAttachment(pending.source(), new ByteArrayInputStream(pending.content().get()));
+        } catch (RuntimeException e) {
+            // Потерянное вложение не должно ронять тест или поток записи
+            System.err.println("Не удалось записать вложение Allure " + pending.source() + ": " + e);
+        } finally {
+            synchronized (this) {
+                written++;
+                notifyAll();
+            }
+        }
+    }
+}
@@ -0,0 +1,64 @@
+package ru.testassignment.allure;
+
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Статистика HTTP-запросов одного теста: сколько отправлено, сколько попало во вложения,
+ * распределение статусов и задержек. Из неё строится сводное вложение теста.
+ */
+final class CaptureStats {
+
+    private final Histogram latencies = new ConcurrentHistogram(3);
+    private final AtomicLong total = new AtomicLong();
+    private final LongAdder captured = new LongAdder();
+    private final LongAdder slow = new LongAdder();
+    // Статус ответа → число; -1 — ответа не было (сетевая ошибка)
+    private final Map<Integer, LongAdder> statuses = new ConcurrentHashMap<>();
+
+    /** Номер запроса в тесте, начиная с 1 */
+    long next() {
+        return total.incrementAndGet();
+    }
+
+    void record(int status, long latencyNanos, boolean isSlow) {
+        statuses.computeIfAbsent(status, k -> new LongAdder()).increment();
+        if (latencyNanos >= 0) {
+            latencies.recordValue(TimeUnit.NANOSECONDS.toMicros(latencyNanos));
+        }
+        if (isSlow) {
+            slow.increment();
+        }
+    }
+
+    void captured() {
+        captured.increment();
+    }
+
+    String summary() {
+        Map<Integer, Long> byStatus = new TreeMap<>();
+        statuses.forEach((status, count) -> byStatus.put(status, count.sum()));
+        StringBuilder text = new StringBuilder()
+                .append(String.format("Запросов: %d, во вложениях: %d, медленных: %d%n",
+                        total.get(), captured.sum(), slow.sum()))
+                .append("Статусы: ");
+        byStatus.forEach((status, count) ->
+                text.append(status < 0 ? "нет ответа" : status).append(" × ").append(count).append("  "));
+        if (latencies.getTotalCount() > 0) {
+            text.append(System.lineSeparator())
+                    .append(String.format("Задержка, мс: p50 %.2f, p90 %.2f, p99 %.2f, max %.2f",
+                            latencies.getValueAtPercentile(50) / 1000.0,
+                            latencies.getValueAtPercentile(90) / 1000.0,
+                            latencies.getValueAtPercentile(99) / 1000.0,
+                            latencies.getMaxValue() / 1000.0));
+        }
+        return text.toString();
+    }
+}
@@ -0,0 +1,17 @@
+package ru.testassignment.allure;
+
+import io.qameta.allure.Allure;
+import org.junit.jupiter.api.extension.AfterEachCallback;
+import org.junit.jupiter.api.extension.ExtensionContext;
+
+/**
+ * После каждого теста прикрепляет сводку его HTTP-запросов (в режиме -Dallure.capture=sampled).
+ * Тест Allure ещё открыт: afterEach выполняется до того, как allure-junit5 его закроет.
+ */
+public final class CaptureSummaryExtension implements AfterEachCallback {
+
+    @Override
+    public void afterEach(ExtensionContext context) {
+        Allure.getLifecycle().getCurrentTestCase().ifPresent(AllureCapture::attachSummary);
+    }
+}
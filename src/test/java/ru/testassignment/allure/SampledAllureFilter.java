@@ -0,0 +1,146 @@
+package ru.testassignment.allure;
+
+import io.qameta.allure.AllureLifecycle;
+import io.qameta.allure.attachment.AttachmentData;
+import io.qameta.allure.attachment.FreemarkerAttachmentRenderer;
+import io.qameta.allure.attachment.http.HttpRequestAttachment;
+import io.qameta.allure.attachment.http.HttpResponseAttachment;
+import io.restassured.filter.FilterContext;
+import io.restassured.filter.OrderedFilter;
+import io.restassured.http.Header;
+import io.restassured.response.Response;
+import io.restassured.specification.FilterableRequestSpecification;
+import io.restassured.specification.FilterableResponseSpecification;
+
+import java.nio.charset.StandardCharsets;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Фильтр REST Assured для объёмных прогонов: во вложения Allure попадает только выборка запросов.
+ *
+ * Запрос сохраняется, если это:
+ * - один из первых {@code first} запросов теста;
+ * - каждый {@code every}-й запрос теста;
+ * - ответ с ошибкой (4xx/5xx) или без ответа;
+ * - ответ медленнее {@code slowMillis}.
+ * Остальные только учитываются в {@link CaptureStats} — сводка прикрепляется к тесту
+ * в конце ({@link CaptureSummaryExtension}). Вложения рендерятся тем же шаблоном, что у
+ * AllureRestAssured, но в фоне ({@link AttachmentWriter}).
+ */
+final class SampledAllureFilter implements OrderedFilter {
+
+    private static final String REQUEST_TEMPLATE = "http-request.ftl";
+    private static final String RESPONSE_TEMPLATE = "http-response.ftl";
+    private static final String HIDDEN = "[ BLACKLISTED ]";
+
+    private final AllureLifecycle lifecycle;
+    private final AttachmentWriter writer;
+    private final int first;
+    private final int every;
+    private final long slowNanos;
+    // UUID теста Allure → статистика его запросов
+    private final Map<String, CaptureStats> stats = new ConcurrentHashMap<>();
+
+    SampledAllureFilter(AllureLifecycle lifecycle, AttachmentWriter writer, int first, int every, long slowMillis) {
+        this.lifecycle = lifecycle;
+        this.writer = writer;
+        this.first = first;
+        this.every = every;
+        this.slowNanos = TimeUnit.MILLISECONDS.toNanos(slowMillis);
+    }
+
+    @Override
+    public Response filter(FilterableRequestSpecification request, FilterableResponseSpecification responseSpec,
+                           FilterContext context) {
+        Optional<String> testCase = lifecycle.getCurrentTestCase();
+        if (testCase.isEmpty()) {
+            // Вне теста прикреплять некуда
+            return context.next(request, responseSpec);
+        }
+        CaptureStats testStats = stats.computeIfAbsent(testCase.get(), k -> new CaptureStats());
+        long sequence = testStats.next();
+
+        long start = System.nanoTime();
+        Response response;
+        try {
+            response = context.next(request, responseSpec);
+        } catch (RuntimeException e) {
+            testStats.record(-1, -1, false);
+            testStats.captured();
+            attachRequest(request, sequence);
+            throw e;
+        }
+        long latency = System.nanoTime() - start;
+
+        int status = response.getStatusCode();
+        boolean slow = latency > slowNanos;
+        testStats.record(status, latency, slow);
+        if (sequence <= first || sequence % every == 0 || status >= 400 || slow) {
+            testStats.captured();
+            attachRequest(request, sequence);
+            attachResponse(request, response, sequence, latency);
+        }
+        return response;
+    }
+
+    /** Статистика теста для сводки; удаляется — тест закончился */
+    Optional<CaptureStats> takeStats(String testUuid) {
+        return Optional.ofNullable(stats.remove(testUuid));
+    }
+
+    @Override
+    public int getOrder() {
+        // Последним, как AllureRestAssured: видим запрос после всех остальных фильтров
+        return Integer.MAX_VALUE;
+    }
+
+    private void attachRequest(FilterableRequestSpecification request, long sequence) {
+        // Данные копируются сейчас: спецификацию REST Assured переиспользует
+        HttpRequestAttachment.Builder builder = HttpRequestAttachment.Builder
+                .create("Request #" + sequence, request.getURI())
+                .setMethod(request.getMethod())
+                .setHeaders(toMap(request.getHeaders(), hiddenHeaders(request)));
+        if (request.getBody() != null) {
+            builder.setBody(String.valueOf((Object) request.getBody()));
+        }
+        if (request.getFormParams() != null) {
+            builder.setFormParams(new LinkedHashMap<>(request.getFormParams()));
+        }
+        HttpRequestAttachment attachment = builder.build();
+        writer.submit(attachment.getName(), "text/html", ".html", () -> render(REQUEST_TEMPLATE, attachment));
+    }
+
+    private void attachResponse(FilterableRequestSpecification request, Response response,
+                                long sequence, long latencyNanos) {
+        String name = String.format("Response #%d: %d, %.1f мс",
+                sequence, response.getStatusCode(), latencyNanos / 1e6);
+        HttpResponseAttachment attachment = HttpResponseAttachment.Builder.create(name)
+                .setResponseCode(response.getStatusCode())
+                .setHeaders(toMap(response.getHeaders(), hiddenHeaders(request)))
+                .setBody(response.getBody().asString())
+                .build();
+        writer.submit(name, "text/html", ".html", () -> render(RESPONSE_TEMPLATE, attachment));
+    }
+
+    private static byte[] render(String template, AttachmentData data) {
+        return new FreemarkerAttachmentRenderer(template).render(data)
+                .getContent().getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static Set<String> hiddenHeaders(FilterableRequestSpecification request) {
+        return request.getConfig().getLogConfig().blacklistedHeaders();
+    }
+
+    private static Map<String, String> toMap(Iterable<Header> headers, Set<String> hidden) {
+        Map<String, String> map = new LinkedHashMap<>();
+        for (Header header : headers) {
+            map.put(header.getName(), hidden.contains(header.getName()) ? HIDDEN : header.getValue());
+        }
+        return map;
+    }
+}
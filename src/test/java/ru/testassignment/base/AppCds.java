@@ -0,0 +1,193 @@
+package ru.testassignment.base;
+
+import ru.testassignment.config.TestConfig;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Архив AppCDS для jar приложения: классы, загруженные при прошлом запуске, отображаются в память
+ * готовыми, и следующий запуск не тратит время на их разбор и проверку.
+ *
+ * Архив лежит в target/appcds/ под SHA-256 jar и сборкой JDK: другой jar или другой JDK — другой архив.
+ * Нет архива — приложение запускается с -XX:ArchiveClassesAtExit, и JVM пишет его при остановке;
+ * есть — с -XX:SharedArchiveFile. Если JDK архив не принял, JVM работает без него: это видно
+ * по jcmd VM.info, и такой архив удаляется, чтобы следующий запуск записал новый; если приложение
+ * с архивом не запустилось вовсе — тоже, и запуск повторяется без него.
+ * Если JDK не знает этих опций, AppCDS отключается до конца прогона.
+ */
+final class AppCds {
+
+    /** Как запущено приложение — колонка cds в target/app-startup.csv */
+    enum Mode {
+        OFF("off"),
+        DUMP("dump"),
+        ON("on"),
+        REJECTED("rejected"),
+        UNSUPPORTED("unsupported");
+
+        private final String label;
+
+        Mode(String label) {
+            this.label = label;
+        }
+
+        @Override
+        public String toString() {
+            return label;
+        }
+    }
+
+    // "CDS archive(s) mapped at: [база-конец базового-конец динамического)"; концы равны — динамический не загружен
+    private static final Pattern MAPPED = Pattern.compile(
+            "CDS archive\\(s\\) mapped at: \\[(0x\\p{XDigit}+)-(0x\\p{XDigit}+)-(0x\\p{XDigit}+)\\)");
+    // "OpenJDK Runtime Environment Temurin-17.0.9+9 (build 17.0.9+9)"
+    private static final Pattern BUILD = Pattern.compile("\\(build ([^)]+)\\)");
+
+    private static final Map<Path, String> JAR_HASHES = new ConcurrentHashMap<>();
+    private static volatile String launcherBuild;
+    // JDK не запустился с опциями AppCDS — дальше в этом прогоне без них
+    private static volatile boolean unsupported;
+
+    private final Path archive;
+    private final Path pending;
+    private Mode mode;
+
+    private AppCds(Path archive, Path pending, Mode mode) {
+        this.archive = archive;
+        this.pending = pending;
+        this.mode = mode;
+    }
+
+    /** Режим для очередного запуска jar: OFF, DUMP (архива нет) или ON */
+    static AppCds prepare(Path jar, boolean enabled, int port) throws IOException, InterruptedException {
+        if (!enabled) {
+            return new AppCds(null, null, Mode.OFF);
+        }
+        if (unsupported) {
+            return new AppCds(null, null, Mode.UNSUPPORTED);
+        }
+        Path dir = Files.createDirectories(Path.of(TestConfig.APPCDS_DIR)).toAbsolutePath();
+        String name = sha256(jar) + "-" + launcherBuild().replaceAll("[^A-Za-z0-9._-]", "_");
+        Path archive = dir.resolve(name + ".jsa");
+        // Форки пишут каждый в свой файл; готовый архив переносится на место одной операцией
+        Path pending = dir.resolve(name + "-" + port + ".tmp");
+        return new AppCds(archive, pending, Files.isRegularFile(archive) ? Mode.ON : Mode.DUMP);
+    }
+
+    Mode mode() {
+        return mode;
+    }
+
+    /** Опции JVM приложения для текущего режима */
+    List<String> options() throws IOException {
+        return switch (mode) {
+            case DUMP -> {
+                Files.deleteIfExists(pending);
+                yield List.of("-XX:ArchiveClassesAtExit=" + pending);
+            }
+            case ON -> List.of("-XX:SharedArchiveFile=" + archive);
+            default -> List.of();
+        };
+    }
+
+    /**
+     * Процесс с опциями AppCDS завершился при запуске. С архивом — архив испорчен (JVM может даже
+     * упасть на нём): удаляем и запускаемся без него. При создании архива и отказе JVM от опций —
+     * этот JDK их не поддерживает. Возвращает, стоит ли повторить запуск
+     */
+    boolean fallBack(boolean jvmOptionsRejected) throws IOException {
+        if (mode == Mode.ON) {
+            System.err.println("AppManager: приложение не запустилось с архивом " + archive
+                    + ", он удалён и будет создан заново");
+            Files.deleteIfExists(archive);
+            mode = Mode.REJECTED;
+            return true;
+        }
+        if (mode == Mode.DUMP && jvmOptionsRejected) {
+            System.err.println("AppManager: JDK не поддерживает -XX:ArchiveClassesAtExit, дальше без AppCDS");
+            unsupported = true;
+            mode = Mode.UNSUPPORTED;
+            return true;
+        }
+        return false;
+    }
+
+    /** После запуска с архивом: принял ли его JDK. Не принял — архив удаляется */
+    void verify(AppManager app) throws IOException, InterruptedException {
+        if (mode != Mode.ON) {
+            return;
+        }
+        String info = app.jcmd("VM.info");
+        Matcher mapped = MAPPED.matcher(info);
+        boolean accepted = mapped.find()
+                ? Long.decode(mapped.group(3)) > Long.decode(mapped.group(2))
+                : !info.contains("CDS archive(s) not mapped");
+        if (!accepted) {
+            System.err.println("AppManager: JDK не принял архив " + archive + ", он будет создан заново");
+            mode = Mode.REJECTED;
+            Files.deleteIfExists(archive);
+        }
+    }
+
+    /** После остановки: архив, записанный JVM при выходе, переносится на место */
+    void completeDump() {
+        if (mode != Mode.DUMP) {
+            return;
+        }
+        try {
+            if (Files.isRegularFile(pending) && Files.size(pending) > 0) {
+                Files.move(pending, archive, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            } else {
+                Files.deleteIfExists(pending);
+            }
+        } catch (IOException e) {
+            System.err.println("AppManager: архив AppCDS не сохранён: " + e.getMessage());
+        }
+    }
+
+    /** Сборка JDK, которым запускается приложение ("java" из PATH) — один раз за прогон */
+    static String launcherBuild() throws IOException, InterruptedException {
+        String build = launcherBuild;
+        if (build == null) {
+            Process process = new ProcessBuilder("java", "-version").redirectErrorStream(true).start();
+            String output = new String(process.getInputStream().readAllBytes(), StandardCharsets.UTF_8);
+            process.waitFor();
+            Matcher matcher = BUILD.matcher(output);
+            build = matcher.find() ? matcher.group(1) : "unknown";
+            launcherBuild = build;
+        }
+        return build;
+    }
+
+    private static String sha256(Path jar) {
+        return JAR_HASHES.computeIfAbsent(jar.toAbsolutePath(), path -> {
+            try (InputStream in = Files.newInputStream(path)) {
+                MessageDigest digest = MessageDigest.getInstance("SHA-256");
+                byte[] buffer = new byte[64 * 1024];
+                int read;
+                while ((read = in.read(buffer)) > 0) {
+                    digest.update(buffer, 0, read);
+                }
+                return HexFormat.of().formatHex(digest.digest());
+            } catch (IOException e) {
+                throw new UncheckedIOException("Не удалось прочитать " + path, e);
+            } catch (NoSuchAlgorithmException e) {
+                throw new IllegalStateException(e);
+            }
+        });
+    }
+}
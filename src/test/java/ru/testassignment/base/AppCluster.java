@@ -0,0 +1,72 @@
+package ru.testassignment.base;
+
+import ru.testassignment.config.TestConfig;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Несколько экземпляров приложения на своих портах за {@link StickyProxy}.
+ *
+ * Клиенты обращаются к порту прокси, и запросы одного токена всегда попадают на один экземпляр —
+ * как при горизонтальном масштабировании сервиса с сессиями в памяти.
+ */
+public final class AppCluster {
+
+    private final List<AppManager> instances = new ArrayList<>();
+    private final StickyProxy proxy;
+
+    /** instances экземпляров с опциями options на свободных портах; прокси — на proxyPort */
+    public AppCluster(int instances, int proxyPort, AppOptions options) {
+        List<String> upstreams = new ArrayList<>();
+        for (int i = 0; i < instances; i++) {
+            AppManager instance = new AppManager(options, TestConfig.freePort());
+            this.instances.add(instance);
+            upstreams.add(instance.baseUrl());
+        }
+        this.proxy = new StickyProxy(proxyPort, TestConfig.MOCK_THREADS, upstreams);
+    }
+
+    /** Запускает экземпляры по очереди, затем прокси; при ошибке останавливает уже запущенные */
+    public void start() throws IOException, InterruptedException {
+        try {
+            for (AppManager instance : instances) {
+                instance.start();
+            }
+            proxy.start();
+        } catch (IOException | InterruptedException | RuntimeException e) {
+            stop();
+            throw e;
+        }
+    }
+
+    /** Перезапускает завершившиеся экземпляры */
+    public void ensureHealthy() throws IOException, InterruptedException {
+        for (AppManager instance : instances) {
+            if (!instance.isAlive()) {
+                instance.stop();
+                instance.start();
+            }
+        }
+        proxy.start();
+    }
+
+    public void stop() {
+        proxy.stop();
+        instances.forEach(AppManager::stop);
+    }
+
+    public List<AppManager> instances() {
+        return List.copyOf(instances);
+    }
+
+    public StickyProxy proxy() {
+        return proxy;
+    }
+
+    /** "http://localhost:порт" прокси — сюда и направляются запросы */
+    public String baseUrl() {
+        return "http://localhost:" + proxy.port();
+    }
+}
@@ -2,40 +2,197 @@ package ru.testassignment.base;
 
 import ru.testassignment.config.TestConfig;
 
+import java.io.BufferedReader;
 import java.io.File;
 import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.PrintWriter;
 import java.net.HttpURLConnection;
+import java.net.InetSocketAddress;
+import java.net.Socket;
 import java.net.URI;
-import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Pattern;
 
 /**
  * Управление жизненным циклом тестируемого приложения.
  * Запускает jar через ProcessBuilder, ожидает готовности, останавливает.
+ *
+ * Готовность определяется по логу процесса (строка Spring "Started ..."),
+ * запасной вариант — быстрые TCP-подключения к порту приложения.
+ * Загрузку классов ускоряет архив AppCDS ({@link AppCds}), созданный при первом запуске.
  */
 public class AppManager {
 
+    // "Started InternalApplication in 2.345 seconds"
+    private static final Pattern STARTED_LINE = Pattern.compile("Started \\S+ in [\\d.]+ seconds");
+    // Имя непрерывной записи JFR в приложении — по нему делаются выгрузки (JFR.dump)
+    public static final String JFR_RECORDING = "app-under-test";
+    private static final long JCMD_TIMEOUT_SEC = 60;
+
+    private final int port;
+    private AppOptions options;
     private Process process;
+    private LogTail tail;
+    private AppCds cds;
+    private StartupTimings lastStartup;
+
+    public AppManager() {
+        this(AppOptions.DEFAULT);
+    }
+
+    public AppManager(AppOptions options) {
+        this(options, TestConfig.APP_PORT);
+    }
+
+    /** Экземпляр на своём порту — например, узел {@link AppCluster} */
+    public AppManager(AppOptions options, int port) {
+        this.options = options;
+        this.port = port;
+    }
+
+    public int port() {
+        return port;
+    }
+
+    /** "http://localhost:порт" этого экземпляра */
+    public String baseUrl() {
+        return "http://localhost:" + port;
+    }
+
+    /** Лог экземпляра — свой файл на каждый порт */
+    public Path logFile() {
+        return Path.of("target/app-" + port + ".log");
+    }
+
+    /** Опции JVM текущего (или следующего) запуска */
+    public AppOptions options() {
+        return options;
+    }
+
+    /** Перезапуск с другими опциями JVM — дальше приложение запускается с ними */
+    public void restart(AppOptions options) throws IOException, InterruptedException {
+        stop();
+        this.options = options;
+        start();
+    }
 
     /**
      * Запускает приложение и ждёт, пока оно начнёт отвечать.
      * Jar ищется в app/ относительно корня проекта.
      */
     public void start() throws IOException, InterruptedException {
-        String jarPath = findJar();
+        Path jar = Path.of(findJar());
+        cds = AppCds.prepare(jar, options.cds(), port);
+        StartupTimings timings;
+        try {
+            timings = launch(jar);
+        } catch (RuntimeException e) {
+            // Процесс умер при запуске с опциями AppCDS (испорченный архив, старый JDK) — тот же запуск без архива
+            if (process == null || process.isAlive() || !cds.fallBack(rejectedJvmOptions())) {
+                throw e;
+            }
+            timings = launch(jar);
+        }
+        cds.verify(this);
+        lastStartup = timings.withLaunch(cds.mode().toString(), AppCds.launcherBuild(), options.name());
+        lastStartup.append();
+    }
 
-        ProcessBuilder pb = new ProcessBuilder(
-                "java",
+    private StartupTimings launch(Path jar) throws IOException, InterruptedException {
+        List<String> command = new ArrayList<>();
+        // taskset запускает java через exec — PID остаётся тем же, jcmd и /proc работают
+        if (options.cpus() != null) {
+            command.addAll(List.of("taskset", "-c", options.cpus()));
+        }
+        // Отчёт о падении JVM (например, на испорченном архиве AppCDS) — в target/, а не в корень проекта
+        command.addAll(List.of("java", "-XX:ErrorFile=target/hs_err_pid%p.log"));
+        command.addAll(cds.options());
+        command.addAll(options.jvmOptions());
+        if (TestConfig.APP_JFR) {
+            command.add(jfrOption());
+        }
+        command.addAll(List.of(
                 "-jar",
                 "-Dsecret=" + TestConfig.API_KEY,
-                "-Dmock=" + TestConfig.MOCK_URL,
-                jarPath
-        );
+                "-Dmock=" + TestConfig.DOWNSTREAM_URL,
+                "-Dserver.port=" + port,
+                jar.toString()
+        ));
+        ProcessBuilder pb = new ProcessBuilder(command);
         pb.redirectErrorStream(true);
-        // Логи приложения в файл — не засоряют вывод тестов
-        pb.redirectOutput(new File("target/app.log"));
+
+        long startNanos = System.nanoTime();
         process = pb.start();
+        long spawnMs = elapsedMs(startNanos);
+
+        // Логи приложения в файл — не засоряют вывод тестов; попутно ловим строки готовности
+        tail = new LogTail(process, logFile(), startNanos);
+        tail.start();
+
+        return waitForStartup(tail, startNanos, spawnMs);
+    }
+
+    /** Процесс завершился, не создав JVM: неизвестная или неподходящая опция */
+    private boolean rejectedJvmOptions() throws IOException, InterruptedException {
+        // Дочитать вывод умершего процесса в лог
+        tail.join(TestConfig.LOG_GRACE_MS);
+        Path log = logFile();
+        return Files.exists(log) && Files.readString(log).contains("Could not create the Java Virtual Machine");
+    }
+
+    /** Жив ли процесс приложения */
+    public boolean isAlive() {
+        return process != null && process.isAlive();
+    }
+
+    /** PID процесса приложения */
+    public long pid() {
+        if (process == null) {
+            throw new IllegalStateException("Приложение не запущено");
+        }
+        return process.pid();
+    }
+
+    /**
+     * Диагностическая команда для процесса приложения через jcmd (JFR.dump, GC.heap_info, ...).
+     * Возвращает вывод команды.
+     */
+    public String jcmd(String... arguments) throws IOException, InterruptedException {
+        List<String> command = new ArrayList<>(List.of(
+                Path.of(System.getProperty("java.home"), "bin", "jcmd").toString(), String.valueOf(pid())));
+        command.addAll(List.of(arguments));
+        // Вывод — в файл, а не в канал: чтение канала блокировалось бы до конца jcmd, и таймаут не сработал бы
+        Path outputFile = Files.createTempFile("jcmd-", ".txt");
+        try {
+            Process jcmd = new ProcessBuilder(command)
+                    .redirectErrorStream(true)
+                    .redirectOutput(outputFile.toFile())
+                    .start();
+            if (!jcmd.waitFor(JCMD_TIMEOUT_SEC, TimeUnit.SECONDS)) {
+                jcmd.destroyForcibly();
+                throw new IOException("jcmd " + String.join(" ", arguments) + " не завершился за " + JCMD_TIMEOUT_SEC + " с");
+            }
+            String output = Files.readString(outputFile, StandardCharsets.UTF_8);
+            if (jcmd.exitValue() != 0) {
+                throw new IOException("jcmd " + String.join(" ", arguments) + " завершился с кодом "
+                        + jcmd.exitValue() + ": " + output.strip());
+            }
+            return output;
+        } finally {
+            Files.deleteIfExists(outputFile);
+        }
+    }
 
-        waitForStartup();
+    /** Тайминги последнего запуска */
+    public StartupTimings lastStartup() {
+        return lastStartup;
     }
 
     /** Останавливает приложение */
@@ -49,36 +206,90 @@ public class AppManager {
                 Thread.currentThread().interrupt();
             }
         }
+        // Архив AppCDS JVM пишет при выходе — теперь он готов
+        if (cds != null) {
+            cds.completeDump();
+        }
     }
 
     /**
-     * Проверяет готовность приложения — шлём запрос и ждём любой ответ.
-     * Без X-Api-Key вернёт 401/403, но это значит что приложение запустилось.
+     * Ждёт готовности: строку "Started" в логе либо открытый порт (проверка TCP-подключением),
+     * затем — первый HTTP-ответ. Без X-Api-Key вернёт 401/403, но это значит что приложение запустилось.
      */
-    private void waitForStartup() throws InterruptedException {
-        long deadline = System.currentTimeMillis() + TestConfig.STARTUP_TIMEOUT_SEC * 1000L;
+    private StartupTimings waitForStartup(LogTail tail, long startNanos, long spawnMs)
+            throws InterruptedException {
+        long deadline = startNanos + TimeUnit.SECONDS.toNanos(TestConfig.STARTUP_TIMEOUT_SEC);
 
-        while (System.currentTimeMillis() < deadline) {
-            try {
-                HttpURLConnection conn = (HttpURLConnection)
-                        URI.create(TestConfig.BASE_URL + TestConfig.ENDPOINT_PATH).toURL().openConnection();
-                conn.setRequestMethod("POST");
-                conn.setConnectTimeout(1000);
-                conn.setReadTimeout(1000);
-                conn.getResponseCode(); // Любой ответ = приложение живо
-                conn.disconnect();
-                return;
-            } catch (IOException e) {
-                // Приложение ещё не готово — ждём
-                Thread.sleep(TestConfig.POLL_INTERVAL_MS);
+        String readySignal = null;
+        while (readySignal == null && System.nanoTime() < deadline) {
+            if (!process.isAlive()) {
+                throw new RuntimeException("Приложение завершилось при запуске с кодом "
+                        + process.exitValue() + ", см. " + logFile());
+            }
+            if (tail.started.await(TestConfig.PROBE_INTERVAL_MS, TimeUnit.MILLISECONDS)) {
+                readySignal = "log";
+            } else if (isPortOpen()) {
+                readySignal = "tcp";
             }
         }
 
+        while (readySignal != null && System.nanoTime() < deadline) {
+            if (respondsToHttp()) {
+                long firstResponseMs = elapsedMs(startNanos);
+                // Порт мог открыться раньше строки "Started" — даём логу догнать, чтобы не потерять фазу
+                tail.started.await(TestConfig.LOG_GRACE_MS, TimeUnit.MILLISECONDS);
+                return new StartupTimings(port, spawnMs, tail.contextStartMs,
+                        firstResponseMs, readySignal);
+            }
+            Thread.sleep(TestConfig.PROBE_INTERVAL_MS);
+        }
+
         stop();
         throw new RuntimeException(
                 "Приложение не запустилось за " + TestConfig.STARTUP_TIMEOUT_SEC + " секунд");
     }
 
+    /** Быстрая проверка: принимает ли порт TCP-подключения */
+    private boolean isPortOpen() {
+        try (Socket socket = new Socket()) {
+            socket.connect(new InetSocketAddress("localhost", port), TestConfig.PROBE_INTERVAL_MS);
+            return true;
+        } catch (IOException e) {
+            return false;
+        }
+    }
+
+    /** Любой HTTP-ответ эндпоинта = приложение живо */
+    private boolean respondsToHttp() {
+        try {
+            HttpURLConnection conn = (HttpURLConnection)
+                    URI.create(baseUrl() + TestConfig.ENDPOINT_PATH).toURL().openConnection();
+            conn.setRequestMethod("POST");
+            conn.setConnectTimeout(1000);
+            conn.setReadTimeout(1000);
+            conn.getResponseCode();
+            conn.disconnect();
+            return true;
+        } catch (IOException e) {
+            // Приложение ещё не готово — ждём
+            return false;
+        }
+    }
+
+    /**
+     * Непрерывная запись JFR с настройками profile (выборка аллокаций, паузы GC, потоки).
+     * Хранится последние 30 минут; при остановке приложения вся запись выгружается в файл запуска
+     */
+    private String jfrOption() throws IOException {
+        Path dir = Files.createDirectories(Path.of(TestConfig.JFR_DIR));
+        return "-XX:StartFlightRecording=name=" + JFR_RECORDING + ",settings=profile,maxage=30m"
+                + ",dumponexit=true,filename=" + dir.resolve("app-" + port + ".jfr").toAbsolutePath();
+    }
+
+    private static long elapsedMs(long startNanos) {
+        return TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startNanos);
+    }
+
     /** Ищет jar-файл в директории app/ */
     private String findJar() {
         File appDir = new File("app");
@@ -91,4 +302,51 @@ public class AppManager {
         }
         return jars[0].getAbsolutePath();
     }
+
+    /**
+     * Фоновое чтение вывода процесса: копирует строки в лог-файл и отмечает
+     * момент старта контекста Spring.
+     * Читает до завершения процесса — иначе переполненный pipe заблокирует приложение.
+     */
+    private static final class LogTail extends Thread {
+
+        private final Process process;
+        private final Path logFile;
+        private final long startNanos;
+        private final CountDownLatch started = new CountDownLatch(1);
+        private volatile long contextStartMs = -1;
+
+        LogTail(Process process, Path logFile, long startNanos) {
+            super("app-log-tail-" + process.pid());
+            setDaemon(true);
+            this.process = process;
+            this.logFile = logFile;
+            this.startNanos = startNanos;
+        }
+
+        @Override
+        public void run() {
+            try (BufferedReader reader = new BufferedReader(
+                    new InputStreamReader(process.getInputStream(), StandardCharsets.UTF_8));
+                 PrintWriter log = new PrintWriter(Files.newBufferedWriter(logFile, StandardCharsets.UTF_8))) {
+                String line;
+                while ((line = reader.readLine()) != null) {
+                    log.println(line);
+                    log.flush();
+                    if (started.getCount() > 0) {
+                        scan(line);
+                    }
+                }
+            } catch (IOException e) {
+                // Процесс остановлен — поток вывода закрыт
+            }
+        }
+
+        private void scan(String line) {
+            if (STARTED_LINE.matcher(line).find()) {
+                contextStartMs = elapsedMs(startNanos);
+                started.countDown();
+            }
+        }
+    }
 }
@@ -0,0 +1,55 @@
+package ru.testassignment.base;
+
+import ru.testassignment.config.TestConfig;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Опции JVM, с которыми запускается приложение: сборщик мусора, размер кучи, уровень JIT.
+ *
+ * @param name       имя профиля для отчётов
+ * @param jvmOptions опции перед -jar
+ * @param cds        использовать ли архив AppCDS ({@link AppCds})
+ * @param cpus       ядра для taskset -c ("0-3"); null — без привязки
+ */
+public record AppOptions(String name, List<String> jvmOptions, boolean cds, String cpus) {
+
+    /** Как в функциональных тестах: без опций, AppCDS — по -Dapp.cds */
+    public static final AppOptions DEFAULT = new AppOptions("default", List.of(), TestConfig.APP_CDS);
+
+    public AppOptions {
+        jvmOptions = List.copyOf(jvmOptions);
+    }
+
+    public AppOptions(String name, List<String> jvmOptions, boolean cds) {
+        this(name, jvmOptions, cds, null);
+    }
+
+    /**
+     * Профили из строки "имя=опции;имя=опции", опции — через пробел:
+     * "serial=-XX:+UseSerialGC;g1-256m=-XX:+UseG1GC -Xmx256m". Без AppCDS: архив записан
+     * с другими опциями, и время запуска сравнивалось бы не только по ним
+     */
+    public static List<AppOptions> parse(String profiles) {
+        List<AppOptions> result = new ArrayList<>();
+        for (String profile : profiles.split(";")) {
+            if (profile.isBlank()) {
+                continue;
+            }
+            String[] parts = profile.split("=", 2);
+            List<String> options = parts.length > 1 && !parts[1].isBlank()
+                    ? Arrays.asList(parts[1].trim().split("\\s+"))
+                    : List.of();
+            result.add(new AppOptions(parts[0].trim(), options, false));
+        }
+        return result;
+    }
+
+    @Override
+    public String toString() {
+        return (cpus == null ? "" : "taskset -c " + cpus + " ") + name
+                + (jvmOptions.isEmpty() ? "" : " " + String.join(" ", jvmOptions));
+    }
+}
@@ -1,52 +1,41 @@
 package ru.testassignment.base;
 
-import com.github.tomakehurst.wiremock.junit5.WireMockExtension;
-import io.qameta.allure.restassured.AllureRestAssured;
-import io.restassured.RestAssured;
-import org.junit.jupiter.api.BeforeAll;
-import org.junit.jupiter.api.AfterAll;
-import org.junit.jupiter.api.BeforeEach;
-import org.junit.jupiter.api.extension.RegisterExtension;
-import ru.testassignment.config.TestConfig;
-
-import static com.github.tomakehurst.wiremock.core.WireMockConfiguration.wireMockConfig;
+import org.junit.jupiter.api.extension.ExtendWith;
+import ru.testassignment.allure.CaptureSummaryExtension;
+import ru.testassignment.client.EndpointTimingsExtension;
+import ru.testassignment.mock.MockBackend;
+import ru.testassignment.mock.NetworkProxy;
 
 /**
  * Базовый класс для всех тестов.
  *
  * Жизненный цикл:
- * 1. WireMock стартует (расширение JUnit)
- * 2. Тестируемое приложение стартует (@BeforeAll)
- * 3. Перед каждым тестом WireMock сбрасывает стабы (@BeforeEach)
- * 4. Тесты выполняются
- * 5. Приложение останавливается (@AfterAll)
- * 6. WireMock останавливается (расширение JUnit)
+ * 1. Первый тестовый класс запуска поднимает мок внешнего сервиса и приложение ({@link TestEnvironment})
+ * 2. Перед каждым классом проверяется, что процесс приложения жив (иначе — перезапуск)
+ * 3. Тесты выполняются — параллельно, каждый со своими стабами (см. ниже)
+ * 4. По завершении всего запуска приложение и мок останавливаются
+ *
+ * С -Dapp.jfr=true по каждому классу в отчёт добавляется сводка JFR приложения ({@link JfrRecordingExtension}).
+ *
+ * Мок — WireMock или лёгкий {@code LightMockServer} для нагрузочных прогонов (-Dmock.server).
+ * Приложение ходит к нему через прокси сети ({@link NetworkProxy}); его условия общие для всех
+ * тестов, поэтому тесты, меняющие их, помечаются {@code @Isolated} и возвращают условия по умолчанию.
+ *
+ * Общего сброса мока между тестами нет: он стёр бы стабы и журнал соседних
+ * параллельных тестов. Изоляция — через токен: стабы и проверки в {@code ApiSteps}
+ * привязаны к токену теста, а токены уникальны.
  */
+@ExtendWith({SharedEnvironmentExtension.class, CaptureSummaryExtension.class, JfrRecordingExtension.class,
+        EndpointTimingsExtension.class})
 public abstract class BaseTest {
 
-    private static final AppManager appManager = new AppManager();
-
-    // WireMock на порту 8888 — имитирует внешний сервис
-    @RegisterExtension
-    protected static WireMockExtension wireMock = WireMockExtension.newInstance()
-            .options(wireMockConfig().port(TestConfig.MOCK_PORT))
-            .build();
-
-    @BeforeAll
-    static void startApp() throws Exception {
-        // Фильтр REST Assured → автоматически прикрепляет запросы/ответы к Allure
-        RestAssured.filters(new AllureRestAssured());
-        appManager.start();
-    }
+    // Мок внешнего сервиса, общий для всех тестовых классов; mock.downstreamLatency() —
+    // задержки его ответов для сравнения с задержками приложения
+    protected static MockBackend mock;
 
-    @AfterAll
-    static void stopApp() {
-        appManager.stop();
-    }
+    // Прокси сети между приложением и моком; null при -Dnet.proxy=false
+    protected static NetworkProxy network;
 
-    @BeforeEach
-    void resetMocks() {
-        // Сброс стабов между тестами — изоляция
-        wireMock.resetAll();
-    }
+    // Процесс приложения — для диагностики (PID, jcmd) в экспериментах с производительностью
+    protected static AppManager app;
 }
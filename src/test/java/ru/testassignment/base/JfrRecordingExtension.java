@@ -0,0 +1,58 @@
+package ru.testassignment.base;
+
+import org.junit.jupiter.api.extension.AfterAllCallback;
+import org.junit.jupiter.api.extension.BeforeAllCallback;
+import org.junit.jupiter.api.extension.ExtensionContext;
+import ru.testassignment.allure.AllureReports;
+import ru.testassignment.config.TestConfig;
+import ru.testassignment.profiling.JfrSummary;
+
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.Map;
+
+/**
+ * С -Dapp.jfr=true выгружает запись JFR приложения за время каждого тестового класса
+ * (в том числе нагрузочного) в target/jfr/&lt;Класс&gt;-&lt;воркер&gt;.jfr и публикует её сводку
+ * в отчёт Allure: паузы GC, скорость аллокаций, потоки, места аллокаций.
+ *
+ * Запись в приложении одна на весь запуск (см. AppManager), класс получает окно от своего
+ * beforeAll до afterAll. Классы выполняются параллельно, поэтому в окно попадает и нагрузка
+ * соседних классов; точные цифры — у нагрузочных тестов, они @Isolated.
+ */
+public class JfrRecordingExtension implements BeforeAllCallback, AfterAllCallback {
+
+    private static final ExtensionContext.Namespace NAMESPACE =
+            ExtensionContext.Namespace.create(JfrRecordingExtension.class);
+
+    @Override
+    public void beforeAll(ExtensionContext context) {
+        if (TestConfig.APP_JFR) {
+            context.getStore(NAMESPACE).put(Instant.class, Instant.now());
+        }
+    }
+
+    @Override
+    public void afterAll(ExtensionContext context) {
+        Instant from = context.getStore(NAMESPACE).get(Instant.class, Instant.class);
+        if (from == null) {
+            return;
+        }
+        Instant to = Instant.now();
+        String testClass = context.getRequiredTestClass().getSimpleName();
+        Path file = Path.of(TestConfig.JFR_DIR, testClass + "-" + TestConfig.WORKER_ID + ".jfr").toAbsolutePath();
+        try {
+            SharedEnvironmentExtension.environment(context).appManager().jcmd("JFR.dump",
+                    "name=" + AppManager.JFR_RECORDING, "filename=" + file, "begin=" + from, "end=" + to);
+            JfrSummary summary = JfrSummary.read("JFR приложения: " + context.getDisplayName(), file, from, to);
+            AllureReports.publish("JFR приложения", context.getDisplayName(),
+                    Map.of("JFR: GC, аллокации, потоки", summary + System.lineSeparator()
+                            + System.lineSeparator() + "Запись: " + file));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (Exception e) {
+            // Сводка JFR — диагностика: её отсутствие не должно ронять тесты класса
+            System.err.println("JfrRecordingExtension: не удалось выгрузить запись JFR для " + testClass + ": " + e);
+        }
+    }
+}
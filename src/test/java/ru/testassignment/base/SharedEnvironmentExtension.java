@@ -0,0 +1,31 @@
+package ru.testassignment.base;
+
+import org.junit.jupiter.api.extension.BeforeAllCallback;
+import org.junit.jupiter.api.extension.ExtensionContext;
+
+/**
+ * Расширение JUnit: подключает тестовый класс к общему {@link TestEnvironment}.
+ *
+ * Первый класс запуска создаёт окружение в корневом Store,
+ * остальные получают уже запущенное и только проверяют, что процесс приложения жив.
+ */
+public class SharedEnvironmentExtension implements BeforeAllCallback {
+
+    private static final ExtensionContext.Namespace NAMESPACE =
+            ExtensionContext.Namespace.create(SharedEnvironmentExtension.class);
+
+    @Override
+    public void beforeAll(ExtensionContext context) throws Exception {
+        TestEnvironment environment = environment(context);
+        environment.ensureHealthy();
+        BaseTest.mock = environment.mock();
+        BaseTest.network = environment.network();
+        BaseTest.app = environment.appManager();
+    }
+
+    /** Общее окружение запуска; создаётся при первом обращении */
+    static TestEnvironment environment(ExtensionContext context) {
+        return context.getRoot().getStore(NAMESPACE)
+                .getOrComputeIfAbsent(TestEnvironment.class, key -> TestEnvironment.start(), TestEnvironment.class);
+    }
+}
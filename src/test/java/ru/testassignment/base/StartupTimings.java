@@ -0,0 +1,142 @@
+package ru.testassignment.base;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.TreeMap;
+
+/**
+ * Разбивка одного запуска приложения по фазам (миллисекунды от вызова {@code start()}).
+ *
+ * @param port            порт, на котором поднялось приложение
+ * @param spawnMs         создание процесса (ProcessBuilder.start)
+ * @param contextStartMs  строка Spring "Started ... in N seconds" в логе; -1, если не дождались
+ * @param firstResponseMs первый HTTP-ответ эндпоинта
+ * @param readySignal     чем обнаружена готовность: "log" или "tcp" (запасной вариант)
+ * @param cds             архив AppCDS: off, dump (создаётся), on, rejected (JDK не принял), unsupported
+ * @param jdk             сборка JDK, которым запущено приложение
+ * @param options         профиль опций JVM ({@link AppOptions})
+ */
+public record StartupTimings(int port, long spawnMs, long contextStartMs, long firstResponseMs,
+                             String readySignal, String cds, String jdk, String options) {
+
+    // Все запуски за прогон копятся в одном файле — регрессии старта видны по цифрам.
+    // Форки surefire (-Dtest.forks) пишут в него одновременно: файл блокируется на запись и чтение
+    private static final Path CSV = Path.of("target/app-startup.csv");
+    private static final String HEADER =
+            "timestamp,port,spawn_ms,context_start_ms,first_response_ms,ready_signal,cds,jdk,options";
+    private static final int HEADER_COLUMNS = HEADER.split(",").length;
+
+    StartupTimings(int port, long spawnMs, long contextStartMs, long firstResponseMs, String readySignal) {
+        this(port, spawnMs, contextStartMs, firstResponseMs, readySignal, "off", "", "default");
+    }
+
+    StartupTimings withLaunch(String cds, String jdk, String options) {
+        return new StartupTimings(port, spawnMs, contextStartMs, firstResponseMs, readySignal, cds, jdk, options);
+    }
+
+    /** Дописывает строку в target/app-startup.csv */
+    void append() {
+        String line = String.join(",", Instant.now().toString(), String.valueOf(port),
+                String.valueOf(spawnMs), String.valueOf(contextStartMs),
+                String.valueOf(firstResponseMs), readySignal, cds, jdk, options) + System.lineSeparator();
+        // Блокировка файла — между форками, synchronized — между потоками одного форка:
+        // вторая блокировка того же файла в одной JVM бросила бы OverlappingFileLockException
+        synchronized (StartupTimings.class) {
+            // Блокировка снимается при закрытии канала
+            try (FileChannel channel = FileChannel.open(CSV, StandardOpenOption.CREATE,
+                    StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+                channel.lock();
+                // Новый файл или файл от прошлой версии стенда с другим набором колонок — начинаем заново
+                String content = read(channel);
+                if (!content.startsWith(HEADER + System.lineSeparator())) {
+                    channel.truncate(0);
+                    write(channel, HEADER + System.lineSeparator());
+                }
+                write(channel, line);
+            } catch (IOException e) {
+                throw new UncheckedIOException("Не удалось записать " + CSV, e);
+            }
+        }
+    }
+
+    private static String read(FileChannel channel) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate((int) channel.size());
+        while (buffer.hasRemaining()) {
+            if (channel.read(buffer, buffer.position()) < 0) {
+                break;
+            }
+        }
+        return new String(buffer.array(), 0, buffer.position(), StandardCharsets.UTF_8);
+    }
+
+    private static void write(FileChannel channel, String text) throws IOException {
+        ByteBuffer buffer = ByteBuffer.wrap(text.getBytes(StandardCharsets.UTF_8));
+        long position = channel.size();
+        while (buffer.hasRemaining()) {
+            position += channel.write(buffer, position);
+        }
+    }
+
+    /**
+     * Медиана первого ответа по всем запускам из target/app-startup.csv в разрезе JDK, опций JVM и AppCDS:
+     * выигрыш архива — разница строк dump/off и on одного JDK. Пусто, если файла нет.
+     * Строки не в формате {@link #HEADER} (файл прошлой версии стенда, обрыв записи) пропускаются
+     */
+    static Optional<String> summary() {
+        Map<String, List<Long>> firstResponses = new TreeMap<>();
+        synchronized (StartupTimings.class) {
+            if (Files.notExists(CSV)) {
+                return Optional.empty();
+            }
+            String content;
+            try (FileChannel channel = FileChannel.open(CSV, StandardOpenOption.READ)) {
+                channel.lock(0, Long.MAX_VALUE, true);
+                content = read(channel);
+            } catch (IOException e) {
+                throw new UncheckedIOException("Не удалось прочитать " + CSV, e);
+            }
+            for (String line : content.split("\\R")) {
+                String[] columns = line.split(",", -1);
+                if (columns.length != HEADER_COLUMNS || line.equals(HEADER)) {
+                    continue;
+                }
+                try {
+                    firstResponses.computeIfAbsent(String.format("%-24s %-16s %-12s", columns[7], columns[8], columns[6]),
+                            key -> new ArrayList<>()).add(Long.parseLong(columns[4]));
+                } catch (NumberFormatException e) {
+                    // Строка чужого формата — пропускаем
+                }
+            }
+        }
+        if (firstResponses.isEmpty()) {
+            return Optional.empty();
+        }
+        List<String> rows = new ArrayList<>();
+        rows.add("Первый ответ приложения по запускам из " + CSV);
+        rows.add(String.format("%-24s %-16s %-12s %9s %16s", "JDK", "Опции JVM", "AppCDS", "Запусков", "Медиана, мс"));
+        firstResponses.forEach((key, values) -> {
+            Collections.sort(values);
+            rows.add(String.format("%s %9d %16d", key, values.size(), values.get(values.size() / 2)));
+        });
+        return Optional.of(String.join(System.lineSeparator(), rows));
+    }
+
+    @Override
+    public String toString() {
+        return "порт " + port + ": процесс " + spawnMs + " мс, контекст Spring " + contextStartMs
+                + " мс, первый ответ " + firstResponseMs + " мс (готовность по: " + readySignal
+                + ", AppCDS: " + cds + ")";
+    }
+}
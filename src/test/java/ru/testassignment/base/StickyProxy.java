@@ -0,0 +1,156 @@
+package ru.testassignment.base;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import ru.testassignment.load.VirtualThreads;
+import ru.testassignment.mock.CallCounter;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Локальный балансировщик перед несколькими экземплярами приложения, на HTTP-сервере JDK.
+ *
+ * Сессии хранятся в памяти каждого экземпляра, поэтому все запросы одного токена должны
+ * попадать на один и тот же экземпляр: он выбирается по хешу token из тела формы.
+ * Запрос без токена (отказы валидации) уходит на первый — ответ от этого не зависит.
+ * Ответ возвращается как есть, с заголовком {@value #INSTANCE_HEADER} — номером экземпляра.
+ * До экземпляров — keep-alive соединения java.net.http.
+ */
+public final class StickyProxy {
+
+    public static final String INSTANCE_HEADER = "X-App-Instance";
+
+    private static final int BACKLOG = 1024;
+    // Заголовки соединения: их выставляют сами сервер и клиент (HttpClient их и не примет)
+    private static final Set<String> HOP_BY_HOP = Set.of("connection", "content-length", "date", "expect", "host",
+            "keep-alive", "transfer-encoding", "upgrade", "via", "warning", "from", "origin", "referer");
+
+    private final int port;
+    private final int threads;
+    private final List<URI> upstreams;
+    private final LongAdder[] routed;
+    private final HttpClient client = HttpClient.newBuilder()
+            .version(HttpClient.Version.HTTP_1_1)
+            .connectTimeout(Duration.ofSeconds(5))
+            .build();
+    private HttpServer server;
+    private ExecutorService executor;
+
+    /** upstreams — базовые URL экземпляров ("http://localhost:порт") */
+    public StickyProxy(int port, int threads, List<String> upstreams) {
+        this.port = port;
+        this.threads = threads;
+        this.upstreams = upstreams.stream().map(URI::create).toList();
+        this.routed = new LongAdder[upstreams.size()];
+        for (int i = 0; i < routed.length; i++) {
+            routed[i] = new LongAdder();
+        }
+    }
+
+    public synchronized void start() {
+        if (server != null) {
+            return;
+        }
+        try {
+            server = HttpServer.create(new InetSocketAddress(port), BACKLOG);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Не удалось запустить прокси на порту " + port, e);
+        }
+        executor = VirtualThreads.perTaskExecutor("sticky-proxy", threads);
+        server.setExecutor(executor);
+        server.createContext("/", this::handle);
+        server.start();
+    }
+
+    public synchronized void stop() {
+        if (server == null) {
+            return;
+        }
+        server.stop(0);
+        executor.shutdownNow();
+        server = null;
+    }
+
+    public int port() {
+        return port;
+    }
+
+    /** Номер экземпляра для токена; null — без токена, на первый */
+    public int route(String token) {
+        return token == null ? 0 : Math.floorMod(token.hashCode(), upstreams.size());
+    }
+
+    /** Сколько запросов ушло на каждый экземпляр */
+    public long[] routedCounts() {
+        long[] counts = new long[routed.length];
+        for (int i = 0; i < counts.length; i++) {
+            counts[i] = routed[i].sum();
+        }
+        return counts;
+    }
+
+    private void handle(HttpExchange exchange) throws IOException {
+        try (exchange) {
+            byte[] body;
+            try (InputStream in = exchange.getRequestBody()) {
+                body = in.readAllBytes();
+            }
+            int instance = route(CallCounter.token(new String(body, StandardCharsets.UTF_8)));
+            routed[instance].increment();
+
+            HttpRequest.Builder request = HttpRequest.newBuilder(upstreams.get(instance).resolve(exchange.getRequestURI()))
+                    .method(exchange.getRequestMethod(), body.length == 0
+                            ? HttpRequest.BodyPublishers.noBody()
+                            : HttpRequest.BodyPublishers.ofByteArray(body));
+            exchange.getRequestHeaders().forEach((name, values) -> {
+                if (!HOP_BY_HOP.contains(name.toLowerCase(Locale.ROOT))) {
+                    values.forEach(value -> request.header(name, value));
+                }
+            });
+
+            HttpResponse<byte[]> response;
+            try {
+                response = client.send(request.build(), HttpResponse.BodyHandlers.ofByteArray());
+            } catch (IOException e) {
+                respond(exchange, 502, Map.of(), ("Экземпляр " + instance + " недоступен: " + e).getBytes(StandardCharsets.UTF_8), instance);
+                return;
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+            respond(exchange, response.statusCode(), response.headers().map(), response.body(), instance);
+        }
+    }
+
+    private static void respond(HttpExchange exchange, int status, Map<String, List<String>> headers, byte[] body,
+                                int instance) throws IOException {
+        headers.forEach((name, values) -> {
+            if (!HOP_BY_HOP.contains(name.toLowerCase(Locale.ROOT))) {
+                exchange.getResponseHeaders().put(name, values);
+            }
+        });
+        exchange.getResponseHeaders().set(INSTANCE_HEADER, String.valueOf(instance));
+        exchange.sendResponseHeaders(status, body.length == 0 ? -1 : body.length);
+        if (body.length > 0) {
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(body);
+            }
+        }
+    }
+}
@@ -0,0 +1,183 @@
+package ru.testassignment.base;
+
+import com.github.tomakehurst.wiremock.core.WireMockConfiguration;
+import io.restassured.RestAssured;
+import org.junit.jupiter.api.extension.ExtensionContext;
+import ru.testassignment.allure.AllureCapture;
+import ru.testassignment.allure.AllureReports;
+import ru.testassignment.client.EndpointClient;
+import ru.testassignment.client.EndpointTimings;
+import ru.testassignment.config.TestConfig;
+import ru.testassignment.helper.TokenGenerator;
+import ru.testassignment.mock.DownstreamProfile;
+import ru.testassignment.mock.LightMockServer;
+import ru.testassignment.mock.MockBackend;
+import ru.testassignment.mock.NetworkConditions;
+import ru.testassignment.mock.NetworkProxy;
+import ru.testassignment.mock.WireMockBackend;
+
+import java.util.Map;
+
+import static com.github.tomakehurst.wiremock.core.WireMockConfiguration.wireMockConfig;
+
+/**
+ * Общее окружение на весь запуск тестов: один мок внешнего сервиса и один процесс приложения —
+ * или, с -Dapp.instances больше одного, {@link AppCluster} с прокси на порту приложения:
+ * клиенты тестов не замечают разницы, а {@link #appManager()} — первый экземпляр.
+ * Между приложением и моком — {@link NetworkProxy} (если не отключён -Dnet.proxy=false).
+ *
+ * Создаётся лениво при первом обращении (из {@link SharedEnvironmentExtension})
+ * и хранится в корневом Store JUnit — тот закрывает его по завершении запуска.
+ */
+public final class TestEnvironment implements ExtensionContext.Store.CloseableResource {
+
+    private final MockBackend mock;
+    private final NetworkProxy network;
+    private final AppCluster cluster;
+    private final AppManager appManager;
+
+    private TestEnvironment() {
+        mock = createMock();
+        network = TestConfig.NET_PROXY
+                ? new NetworkProxy(TestConfig.NET_PROXY_PORT, TestConfig.MOCK_PORT, NetworkConditions.fromSystemProperty())
+                : null;
+        if (TestConfig.APP_INSTANCES > 1) {
+            cluster = new AppCluster(TestConfig.APP_INSTANCES, TestConfig.APP_PORT, AppOptions.DEFAULT);
+            appManager = cluster.instances().get(0);
+        } else {
+            cluster = null;
+            appManager = new AppManager();
+        }
+    }
+
+    /** Мок на порту воркера (по умолчанию 8888) — имитирует внешний сервис; реализация — -Dmock.server */
+    private static MockBackend createMock() {
+        if ("light".equals(TestConfig.MOCK_SERVER)) {
+            return new LightMockServer(TestConfig.MOCK_PORT, TestConfig.MOCK_THREADS);
+        }
+        WireMockConfiguration config = wireMockConfig()
+                .port(TestConfig.MOCK_PORT)
+                .containerThreads(TestConfig.MOCK_THREADS);
+        if ("off".equals(TestConfig.MOCK_JOURNAL)) {
+            config.disableRequestJournal();
+        } else if (!"on".equals(TestConfig.MOCK_JOURNAL)) {
+            config.maxRequestJournalEntries(Integer.parseInt(TestConfig.MOCK_JOURNAL));
+        }
+        return new WireMockBackend(config);
+    }
+
+    /** Поднимает мок, прокси сети и приложение. Вызывается один раз за запуск. */
+    static TestEnvironment start() {
+        TestEnvironment environment = new TestEnvironment();
+        // Фильтр REST Assured → прикрепляет запросы/ответы к Allure (все или выборку, -Dallure.capture).
+        // Регистрируем один раз: повторный вызов добавил бы дубликат фильтра
+        RestAssured.filters(AllureCapture.filter());
+        environment.mock.start();
+        try {
+            environment.startApp();
+            environment.warmUp();
+        } catch (Exception e) {
+            // Процесс приложения пережил бы JVM тестов и держал порт — останавливаем всё, что успело подняться
+            try {
+                environment.stopServices();
+            } catch (InterruptedException interrupted) {
+                Thread.currentThread().interrupt();
+                e.addSuppressed(interrupted);
+            }
+            throw new RuntimeException("Не удалось запустить тестируемое приложение", e);
+        }
+        return environment;
+    }
+
+    private void startApp() throws Exception {
+        if (network != null) {
+            network.start();
+        }
+        if (cluster != null) {
+            cluster.start();
+        } else {
+            appManager.start();
+        }
+    }
+
+    /** Останавливает приложение (или кластер), прокси сети и мок; то, что не запускалось, пропускается */
+    private void stopServices() throws InterruptedException {
+        if (cluster != null) {
+            cluster.stop();
+        } else {
+            appManager.stop();
+        }
+        if (network != null) {
+            network.stop();
+        }
+        mock.stop();
+    }
+
+    /**
+     * Проверка здоровья между тестовыми классами.
+     * Приложение перезапускается, только если его процесс завершился.
+     */
+    synchronized void ensureHealthy() throws Exception {
+        if (!mock.isRunning()) {
+            mock.start();
+        }
+        if (network != null && !network.isRunning()) {
+            network.start();
+        }
+        if (cluster != null) {
+            cluster.ensureHealthy();
+        } else if (!appManager.isAlive()) {
+            appManager.stop();
+            appManager.start();
+            warmUp();
+        }
+    }
+
+    /**
+     * Прогрев приложения и клиента тестов: бюджеты времени ответа (TestConfig.latencyBudgetMs)
+     * рассчитаны на прогретый путь, а первые запросы к свежему процессу в десятки раз медленнее.
+     * Каждый цикл — свой токен: в кластере прогреваются все экземпляры
+     */
+    private void warmUp() {
+        for (int i = 0; i < TestConfig.LATENCY_WARMUP_CYCLES; i++) {
+            String token = TokenGenerator.validToken();
+            mock.stub("/auth", token, 200, DownstreamProfile.NONE);
+            mock.stub("/doAction", token, 200, DownstreamProfile.NONE);
+            EndpointClient.warmUp(token, "LOGIN");
+            EndpointClient.warmUp(token, "ACTION");
+            EndpointClient.warmUp(token, "LOGOUT");
+        }
+    }
+
+    public MockBackend mock() {
+        return mock;
+    }
+
+    /** Прокси сети между приложением и моком; null, если отключён */
+    NetworkProxy network() {
+        return network;
+    }
+
+    AppManager appManager() {
+        return appManager;
+    }
+
+    /** Останавливает приложение, прокси сети и мок в конце запуска */
+    @Override
+    public void close() throws InterruptedException {
+        try {
+            stopServices();
+            // Задержки всех запросов запуска по действиям — отдельным результатом в отчёте
+            EndpointTimings.report().ifPresent(report -> AllureReports.publish(
+                    "Задержки функционального прогона", "Время ответа по действиям",
+                    Map.of("Время ответа по действиям", report.toString())));
+            // Запуски приложения за все прогоны в target/: эффект AppCDS по JDK
+            StartupTimings.summary().ifPresent(summary -> AllureReports.publish(
+                    "Запуск приложения", "Время запуска по JDK и AppCDS",
+                    Map.of("Время запуска по JDK и AppCDS", summary)));
+        } finally {
+            // Отложенные вложения Allure должны оказаться на диске до генерации отчёта — даже если сводки не вышли
+            AllureCapture.close();
+        }
+    }
+}
@@ -1,62 +1,143 @@
 package ru.testassignment.client;
 
+import io.restassured.response.Response;
 import io.restassured.response.ValidatableResponse;
 import ru.testassignment.config.TestConfig;
 
+import java.util.Collections;
+import java.util.Map;
+import java.util.WeakHashMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
 import static io.restassured.RestAssured.given;
 
 /**
  * HTTP-клиент для взаимодействия с эндпоинтом /endpoint.
  * Единая точка для всех HTTP-вызовов в тестах.
+ *
+ * Транспорт выбирается через -Dendpoint.transport: REST Assured (по умолчанию)
+ * или {@link HttpClientTransport}. API и проверки ответа от выбора не зависят.
+ *
+ * Время ответа — {@link #responseTime} при любом транспорте; запросы функциональных тестов
+ * копятся по действиям в {@link EndpointTimings}.
  */
 public final class EndpointClient {
 
+    private static final boolean HTTP_CLIENT = "http-client".equals(TestConfig.ENDPOINT_TRANSPORT);
+
+    // Время ответов HttpClientTransport: ответ собран ResponseBuilder, и своего времени у него нет.
+    // Слабые ключи — запись живёт, пока жив сам ответ
+    private static final Map<Response, Long> HTTP_CLIENT_TIMES = Collections.synchronizedMap(new WeakHashMap<>());
+
     private EndpointClient() {
     }
 
     /** Отправить запрос с валидным API-ключом */
     public static ValidatableResponse send(String token, String action) {
-        return given()
+        if (HTTP_CLIENT) {
+            return viaHttpClient(action, () -> HttpClientTransport.shared().send(token, action));
+        }
+        return timed(action, given()
                 .header("X-Api-Key", TestConfig.API_KEY)
                 .contentType("application/x-www-form-urlencoded")
                 .formParam("token", token)
                 .formParam("action", action)
                 .when()
                 .post(TestConfig.BASE_URL + TestConfig.ENDPOINT_PATH)
-                .then();
+                .then());
     }
 
     /** Отправить запрос БЕЗ заголовка X-Api-Key */
     public static ValidatableResponse sendWithoutApiKey(String token, String action) {
-        return given()
+        if (HTTP_CLIENT) {
+            return viaHttpClient(action, () -> HttpClientTransport.shared().send(null, token, action));
+        }
+        return timed(action, given()
                 .contentType("application/x-www-form-urlencoded")
                 .formParam("token", token)
                 .formParam("action", action)
                 .when()
                 .post(TestConfig.BASE_URL + TestConfig.ENDPOINT_PATH)
-                .then();
+                .then());
     }
 
     /** Отправить запрос с невалидным API-ключом */
     public static ValidatableResponse sendWithInvalidApiKey(String token, String action) {
-        return given()
+        if (HTTP_CLIENT) {
+            return viaHttpClient(action, () -> HttpClientTransport.shared().send("INVALID_KEY", token, action));
+        }
+        return timed(action, given()
                 .header("X-Api-Key", "INVALID_KEY")
                 .contentType("application/x-www-form-urlencoded")
                 .formParam("token", token)
                 .formParam("action", action)
                 .when()
                 .post(TestConfig.BASE_URL + TestConfig.ENDPOINT_PATH)
-                .then();
+                .then());
     }
 
     /** Отправить запрос без токена и без action */
     public static ValidatableResponse sendEmpty() {
+        if (HTTP_CLIENT) {
+            return viaHttpClient(null, () -> HttpClientTransport.shared().send(TestConfig.API_KEY, null, null));
+        }
+        return timed(null, given()
+                .header("X-Api-Key", TestConfig.API_KEY)
+                .contentType("application/x-www-form-urlencoded")
+                .when()
+                .post(TestConfig.BASE_URL + TestConfig.ENDPOINT_PATH)
+                .then());
+    }
+
+    /**
+     * Асинхронная отправка — всегда через {@link HttpClientTransport}:
+     * REST Assured блокирует поток на каждый запрос. Время не замеряется — это делает вызывающий.
+     */
+    public static CompletableFuture<EndpointResponse> sendAsync(String token, String action) {
+        return HttpClientTransport.shared().sendAsync(token, action);
+    }
+
+    /**
+     * Запрос прогрева (см. TestEnvironment): без фильтров REST Assured — вложений Allure вне теста —
+     * и без учёта в {@link EndpointTimings}. Возвращает HTTP-статус
+     */
+    public static int warmUp(String token, String action) {
+        if (HTTP_CLIENT) {
+            return HttpClientTransport.shared().send(token, action).statusCode();
+        }
         return given()
+                .noFilters()
                 .header("X-Api-Key", TestConfig.API_KEY)
                 .contentType("application/x-www-form-urlencoded")
+                .formParam("token", token)
+                .formParam("action", action)
                 .when()
                 .post(TestConfig.BASE_URL + TestConfig.ENDPOINT_PATH)
-                .then();
+                .statusCode();
+    }
+
+    /** Время ответа, мс, при любом транспорте; -1 — не замерено */
+    public static long responseTime(ValidatableResponse response) {
+        Response raw = response.extract().response();
+        Long httpClientTime = HTTP_CLIENT_TIMES.get(raw);
+        return httpClientTime != null ? httpClientTime : raw.time();
+    }
+
+    /** Запрос через HttpClientTransport с замером времени — его REST Assured делает сам */
+    private static ValidatableResponse viaHttpClient(String action, Supplier<EndpointResponse> exchange) {
+        long start = System.nanoTime();
+        EndpointResponse response = exchange.get();
+        long timeMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+        ValidatableResponse validatable = response.then();
+        HTTP_CLIENT_TIMES.put(validatable.extract().response(), timeMillis);
+        return timed(action, validatable);
+    }
+
+    private static ValidatableResponse timed(String action, ValidatableResponse response) {
+        EndpointTimings.record(action, response.extract().statusCode(), responseTime(response));
+        return response;
     }
 
     // --- Удобные методы для конкретных действий ---
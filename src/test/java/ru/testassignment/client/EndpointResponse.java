@@ -0,0 +1,28 @@
+package ru.testassignment.client;
+
+import io.restassured.builder.ResponseBuilder;
+import io.restassured.response.Response;
+import io.restassured.response.ValidatableResponse;
+
+/**
+ * Ответ эндпоинта, полученный без REST Assured ({@link HttpClientTransport}).
+ *
+ * @param statusCode  HTTP-статус
+ * @param contentType заголовок Content-Type (может быть null)
+ * @param body        тело ответа
+ */
+public record EndpointResponse(int statusCode, String contentType, String body) {
+
+    /** Обёртка в ValidatableResponse — чтобы те же проверки ApiSteps работали с любым транспортом */
+    public ValidatableResponse then() {
+        return build().then();
+    }
+
+    private Response build() {
+        return new ResponseBuilder()
+                .setStatusCode(statusCode)
+                .setContentType(contentType != null ? contentType : "application/json")
+                .setBody(body)
+                .build();
+    }
+}
@@ -0,0 +1,63 @@
+package ru.testassignment.client;
+
+import ru.testassignment.load.LoadMetrics;
+import ru.testassignment.load.LoadReport;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Время ответов эндпоинта за весь запуск: по действию и статусу ответа ("LOGIN → 200",
+ * "ACTION → 403"), чтобы быстрые отказы не смешивались с полной обработкой.
+ *
+ * Пишет {@link EndpointClient} на каждый синхронный запрос, в конце запуска сводка
+ * прикрепляется к отчёту (см. TestEnvironment) — функциональный прогон заодно служит
+ * дешёвой проверкой задержек. Время — как у REST Assured, с точностью до миллисекунды.
+ *
+ * Учитываются только запросы из потока функционального теста ({@link EndpointTimingsExtension}):
+ * нагрузочные прогоны, прогрев и тесты с искусственными задержками ({@link ExcludedFromTimings})
+ * исказили бы сводку.
+ */
+public final class EndpointTimings {
+
+    private static final LoadMetrics METRICS = new LoadMetrics();
+    // Момент первого запроса; 0 — запросов ещё не было
+    private static final AtomicLong FIRST_REQUEST_NANOS = new AtomicLong();
+    // Поток теста, чьи запросы входят в сводку
+    private static final ThreadLocal<Boolean> RECORDING = ThreadLocal.withInitial(() -> false);
+
+    private EndpointTimings() {
+    }
+
+    /** Учитывать запросы текущего потока (true) или нет */
+    static void recording(boolean enabled) {
+        RECORDING.set(enabled);
+    }
+
+    static void record(String action, int statusCode, long timeMillis) {
+        if (timeMillis < 0 || !RECORDING.get()) {
+            return;
+        }
+        FIRST_REQUEST_NANOS.compareAndSet(0, System.nanoTime());
+        METRICS.recordSuccess(label(action) + " → " + statusCode, TimeUnit.MILLISECONDS.toNanos(timeMillis));
+    }
+
+    private static String label(String action) {
+        if (action == null) {
+            return "(без action)";
+        }
+        return action.isEmpty() ? "(пустой action)" : action;
+    }
+
+    /** Сводка с начала запуска; пусто, если запросов не было */
+    public static Optional<LoadReport> report() {
+        long first = FIRST_REQUEST_NANOS.get();
+        if (first == 0) {
+            return Optional.empty();
+        }
+        return Optional.of(METRICS.report("Время ответа эндпоинта по действиям за запуск",
+                Duration.ofNanos(System.nanoTime() - first)));
+    }
+}
@@ -0,0 +1,30 @@
+package ru.testassignment.client;
+
+import org.junit.jupiter.api.extension.AfterEachCallback;
+import org.junit.jupiter.api.extension.BeforeEachCallback;
+import org.junit.jupiter.api.extension.ExtensionContext;
+import org.junit.platform.commons.support.AnnotationSupport;
+
+/**
+ * Включает учёт времени ответов ({@link EndpointTimings}) в потоке функционального теста.
+ *
+ * Не учитываются нагрузочные классы (@Tag("load")) и тесты с {@link ExcludedFromTimings}.
+ * Потоки нагрузочных движков не помечаются вовсе, поэтому их запросы в сводку не попадают.
+ */
+public final class EndpointTimingsExtension implements BeforeEachCallback, AfterEachCallback {
+
+    private static final String LOAD_TAG = "load";
+
+    @Override
+    public void beforeEach(ExtensionContext context) {
+        boolean excluded = context.getTags().contains(LOAD_TAG)
+                || AnnotationSupport.isAnnotated(context.getRequiredTestClass(), ExcludedFromTimings.class)
+                || AnnotationSupport.isAnnotated(context.getRequiredTestMethod(), ExcludedFromTimings.class);
+        EndpointTimings.recording(!excluded);
+    }
+
+    @Override
+    public void afterEach(ExtensionContext context) {
+        EndpointTimings.recording(false);
+    }
+}
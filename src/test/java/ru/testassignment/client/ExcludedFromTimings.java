@@ -0,0 +1,15 @@
+package ru.testassignment.client;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Запросы теста (или всех тестов класса) не входят в сводку {@link EndpointTimings}:
+ * задержки в них искусственные — медленный мок, плохая сеть.
+ */
+@Target({ElementType.TYPE, ElementType.METHOD})
+@Retention(RetentionPolicy.RUNTIME)
+public @interface ExcludedFromTimings {
+}
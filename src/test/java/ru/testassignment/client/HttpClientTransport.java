@@ -0,0 +1,146 @@
+package ru.testassignment.client;
+
+import ru.testassignment.config.TestConfig;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Лёгкий транспорт до /endpoint на java.net.http.HttpClient.
+ *
+ * В отличие от REST Assured, на запрос не строится спецификация с фильтрами и матчерами:
+ * заголовки собраны заранее, тело кодируется прямо в байты, соединения keep-alive
+ * переиспользуются пулом HttpClient, а ответ можно получить асинхронно.
+ * Каждый запрос ограничен {@link TestConfig#HTTP_TIMEOUT_SEC}: по истечении — HttpTimeoutException
+ * (асинхронно — future, завершённый этим исключением).
+ */
+public final class HttpClientTransport {
+
+    private static final String FORM_CONTENT_TYPE = "application/x-www-form-urlencoded";
+
+    // Заголовки запроса с валидным ключом — один раз на весь прогон
+    private static final String[] HEADERS = {
+            "X-Api-Key", TestConfig.API_KEY,
+            "Content-Type", FORM_CONTENT_TYPE,
+            "Accept", "application/json"
+    };
+    private static final String[] HEADERS_WITHOUT_KEY = {
+            "Content-Type", FORM_CONTENT_TYPE,
+            "Accept", "application/json"
+    };
+
+    private static final byte[] TOKEN_PREFIX = "token=".getBytes(StandardCharsets.US_ASCII);
+    private static final byte[] ACTION_PREFIX = "&action=".getBytes(StandardCharsets.US_ASCII);
+
+    private static volatile HttpClientTransport shared;
+
+    private final HttpClient client;
+    private final URI endpoint;
+    private final Duration timeout = Duration.ofSeconds(TestConfig.HTTP_TIMEOUT_SEC);
+
+    public HttpClientTransport(String baseUrl) {
+        this.client = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(5))
+                .build();
+        this.endpoint = URI.create(baseUrl + TestConfig.ENDPOINT_PATH);
+    }
+
+    /** Общий экземпляр для приложения из TestConfig — один пул соединений на JVM */
+    public static HttpClientTransport shared() {
+        HttpClientTransport instance = shared;
+        if (instance == null) {
+            synchronized (HttpClientTransport.class) {
+                instance = shared;
+                if (instance == null) {
+                    instance = new HttpClientTransport(TestConfig.BASE_URL);
+                    shared = instance;
+                }
+            }
+        }
+        return instance;
+    }
+
+    /** Запрос с валидным API-ключом, синхронно */
+    public EndpointResponse send(String token, String action) {
+        return exchange(request(HEADERS, formBody(token, action)));
+    }
+
+    /** Запрос с валидным API-ключом, асинхронно */
+    public CompletableFuture<EndpointResponse> sendAsync(String token, String action) {
+        return client.sendAsync(request(HEADERS, formBody(token, action)), HttpResponse.BodyHandlers.ofString())
+                .thenApply(HttpClientTransport::toEndpointResponse);
+    }
+
+    /** Запрос с произвольным ключом (null — без заголовка) и телом формы (null — пустое тело) */
+    public EndpointResponse send(String apiKey, String token, String action) {
+        String[] headers = apiKey == null
+                ? HEADERS_WITHOUT_KEY
+                : new String[]{"X-Api-Key", apiKey, "Content-Type", FORM_CONTENT_TYPE, "Accept", "application/json"};
+        byte[] body = token == null && action == null ? new byte[0] : formBody(token, action);
+        return exchange(request(headers, body));
+    }
+
+    private HttpRequest request(String[] headers, byte[] body) {
+        return HttpRequest.newBuilder(endpoint)
+                .headers(headers)
+                .timeout(timeout)
+                .POST(HttpRequest.BodyPublishers.ofByteArray(body))
+                .build();
+    }
+
+    private EndpointResponse exchange(HttpRequest request) {
+        try {
+            return toEndpointResponse(client.send(request, HttpResponse.BodyHandlers.ofString()));
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Запрос прерван", e);
+        }
+    }
+
+    private static EndpointResponse toEndpointResponse(HttpResponse<String> response) {
+        return new EndpointResponse(response.statusCode(),
+                response.headers().firstValue("Content-Type").orElse(null),
+                response.body());
+    }
+
+    /** token=...&action=... сразу в байты; экранирование — только если есть символы вне [0-9A-Za-z] */
+    static byte[] formBody(String token, String action) {
+        byte[] tokenBytes = encode(token);
+        byte[] actionBytes = encode(action);
+        byte[] body = new byte[TOKEN_PREFIX.length + tokenBytes.length + ACTION_PREFIX.length + actionBytes.length];
+        int pos = 0;
+        System.arraycopy(TOKEN_PREFIX, 0, body, pos, TOKEN_PREFIX.length);
+        pos += TOKEN_PREFIX.length;
+        System.arraycopy(tokenBytes, 0, body, pos, tokenBytes.length);
+        pos += tokenBytes.length;
+        System.arraycopy(ACTION_PREFIX, 0, body, pos, ACTION_PREFIX.length);
+        pos += ACTION_PREFIX.length;
+        System.arraycopy(actionBytes, 0, body, pos, actionBytes.length);
+        return body;
+    }
+
+    private static byte[] encode(String value) {
+        if (value == null) {
+            return new byte[0];
+        }
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            boolean plain = (c >= '0' && c <= '9') || (c >= 'A' && c <= 'Z') || (c >= 'a' && c <= 'z');
+            if (!plain) {
+                return URLEncoder.encode(value, StandardCharsets.UTF_8).getBytes(StandardCharsets.US_ASCII);
+            }
+        }
+        return value.getBytes(StandardCharsets.US_ASCII);
+    }
+}
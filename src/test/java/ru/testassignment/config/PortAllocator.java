@@ -0,0 +1,69 @@
+package ru.testassignment.config;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.ServerSocket;
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * Выделение портов для воркера (форка surefire).
+ *
+ * Порядок выбора:
+ * 1. Явно заданный порт через системное свойство (-Dapp.port=9090)
+ * 2. Базовый порт + смещение по номеру воркера (8080, 8081, ... для форков 1, 2, ...)
+ * 3. Если он занят — любой свободный порт, выданный ОС
+ */
+final class PortAllocator {
+
+    // Порты, уже выданные в этой JVM — чтобы приложение и мок не получили один и тот же
+    private static final Set<Integer> ALLOCATED = new HashSet<>();
+
+    private PortAllocator() {
+    }
+
+    static synchronized int allocate(String property, int basePort, int workerId) {
+        Integer explicit = Integer.getInteger(property);
+        if (explicit != null && explicit > 0) {
+            ALLOCATED.add(explicit);
+            return explicit;
+        }
+
+        int preferred = basePort + workerId - 1;
+        if (!ALLOCATED.contains(preferred) && isFree(preferred)) {
+            ALLOCATED.add(preferred);
+            return preferred;
+        }
+
+        return any();
+    }
+
+    /** Любой свободный порт от ОС, не совпадающий с уже выданными */
+    static synchronized int any() {
+        int port;
+        do {
+            port = ephemeralPort();
+        } while (ALLOCATED.contains(port));
+        ALLOCATED.add(port);
+        return port;
+    }
+
+    private static boolean isFree(int port) {
+        try (ServerSocket socket = new ServerSocket()) {
+            // Как у серверов приложения и WireMock: TIME_WAIT от прошлого прогона порт не занимает
+            socket.setReuseAddress(true);
+            socket.bind(new InetSocketAddress(port));
+            return true;
+        } catch (IOException e) {
+            return false;
+        }
+    }
+
+    private static int ephemeralPort() {
+        try (ServerSocket socket = new ServerSocket(0)) {
+            return socket.getLocalPort();
+        } catch (IOException e) {
+            throw new RuntimeException("Не удалось получить свободный порт", e);
+        }
+    }
+}
@@ -1,34 +1,148 @@
 package ru.testassignment.config;
 
+import java.util.Map;
+
 /**
  * Конфигурация тестового окружения.
  * Порты и секреты соответствуют параметрам запуска приложения.
+ *
+ * Значения вычисляются один раз на JVM — то есть на воркер (форк surefire).
+ * Потоки JUnit внутри одного форка используют общие приложение и мок.
  */
 public final class TestConfig {
 
-    // Порт тестируемого приложения
-    public static final int APP_PORT = 8080;
+    // Номер воркера: surefire подставляет ${surefire.forkNumber}, вне surefire — 1
+    public static final int WORKER_ID = Integer.getInteger("test.worker.id", 1);
+
+    // Порт тестируемого приложения: 8080 + номер воркера − 1 (или -Dapp.port, или любой свободный)
+    public static final int APP_PORT = PortAllocator.allocate("app.port", 8080, WORKER_ID);
 
-    // Порт WireMock (внешний сервис)
-    public static final int MOCK_PORT = 8888;
+    // Порт мока внешнего сервиса: 8888 + номер воркера − 1 (или -Dmock.port, или любой свободный)
+    public static final int MOCK_PORT = PortAllocator.allocate("mock.port", 8888, WORKER_ID);
+
+    // Порт прокси сети между приложением и моком: 9888 + номер воркера − 1 (или -Dnet.proxy.port, или любой свободный)
+    public static final int NET_PROXY_PORT = PortAllocator.allocate("net.proxy.port", 9888, WORKER_ID);
 
     // API-ключ для доступа к эндпоинту (передаётся через -Dsecret)
     public static final String API_KEY = "qazWSXedc";
 
+    // Внешний сервис: "wiremock" (полный матчинг и журнал) или "light" — лёгкий мок на HttpServer JDK
+    // для нагрузочных прогонов, где WireMock ограничил бы RPS раньше приложения
+    public static final String MOCK_SERVER = System.getProperty("mock.server", "wiremock");
+
+    // Потоки Jetty у WireMock (и лёгкого мока на Java 17): каждый задержанный ответ занимает поток, и при стандартных 25
+    // пределом одновременных запросов оказался бы сам мок, а не приложение
+    public static final int MOCK_THREADS = Integer.getInteger("mock.threads", 200);
+
+    // Журнал запросов WireMock: "on", "off" или число — сколько последних запросов хранить.
+    // Под долгой нагрузкой журнал растёт без предела, поэтому профиль load его отключает
+    public static final String MOCK_JOURNAL = System.getProperty("mock.journal", "on");
+
+    // Проверки обращений к моку: "journal" (журнал WireMock) или "counters" (CallCounter).
+    // Без полного журнала — только счётчики
+    public static final String MOCK_VERIFY = System.getProperty("mock.verify",
+            "on".equals(MOCK_JOURNAL) ? "journal" : "counters");
+
+    // Счётчики запросов мока по токену (CallCounter): без них проверки по счётчикам невозможны, но они хранят
+    // запись на каждый токен — под нагрузкой с уникальными токенами растут без предела. По умолчанию включены,
+    // только если проверки идут по счётчикам (или мок лёгкий, без журнала); профиль load выключает их явно —
+    // остаются счётчики по путям
+    public static final boolean MOCK_TOKEN_COUNTS = tokenCounts(System.getProperty("mock.tokenCounts"));
+
     // Базовый URL приложения
     public static final String BASE_URL = "http://localhost:" + APP_PORT;
 
-    // URL внешнего сервиса (WireMock)
+    // URL внешнего сервиса (мок)
     public static final String MOCK_URL = "http://localhost:" + MOCK_PORT + "/";
 
+    // Прокси сети (NetworkProxy) между приложением и моком: задержки, ограничение скорости, зависания
+    // и обрывы на уровне TCP. Отключить: -Dnet.proxy=false (так в профиле load — лишний узел на пути запроса)
+    public static final boolean NET_PROXY = Boolean.parseBoolean(System.getProperty("net.proxy", "true"));
+
+    // URL внешнего сервиса для приложения (-Dmock): через прокси сети, если он включён
+    public static final String DOWNSTREAM_URL = NET_PROXY ? "http://localhost:" + NET_PROXY_PORT + "/" : MOCK_URL;
+
     // Путь к эндпоинту
     public static final String ENDPOINT_PATH = "/endpoint";
 
+    // HTTP-транспорт EndpointClient: "restassured" (по умолчанию, с вложениями Allure)
+    // или "http-client" (java.net.http, keep-alive, без накладных расходов REST Assured)
+    public static final String ENDPOINT_TRANSPORT = System.getProperty("endpoint.transport", "restassured");
+
+    // Таймаут запроса транспорта "http-client" (HttpClientTransport), с: приложение с переполненной кучей
+    // чаще перестаёт отвечать, чем отвечает ошибкой, — без таймаута массовые запросы ждали бы вечно
+    public static final int HTTP_TIMEOUT_SEC = Integer.getInteger("http.timeoutSec", 30);
+
+    // Бюджеты времени ответа для шагов ApiSteps.assert*Within по действию, мс (см. latencyBudgetMs).
+    // Рассчитаны на прогретое приложение: после прогрева p50 LOGIN ≈ 40 мс, максимум за прогон ≈ 80 мс —
+    // десятикратное замедление выходит за бюджет, а шум параллельных тестов на одном ядре — нет
+    private static final Map<String, Long> LATENCY_BUDGETS_MS = Map.of("LOGIN", 300L, "ACTION", 300L, "LOGOUT", 200L);
+
+    // Один бюджет на все действия, например прежний запас для медленного стенда: -Dlatency.budgetMs=3000
+    private static final Long LATENCY_BUDGET_OVERRIDE_MS = Long.getLong("latency.budgetMs");
+
+    // Циклов LOGIN → ACTION → LOGOUT для прогрева приложения и клиента до первого теста (0 — без прогрева)
+    public static final int LATENCY_WARMUP_CYCLES = Integer.getInteger("latency.warmup", 20);
+
+    // Вложения Allure для запросов REST Assured: "full" — все, "sampled" — выборка (см. AllureCapture)
+    public static final String ALLURE_CAPTURE = System.getProperty("allure.capture", "full");
+
+    // Java Flight Recorder в приложении: -Dapp.jfr=true. Записи — в JFR_DIR, сводка по каждому
+    // тестовому классу — в отчёт Allure (см. JfrRecordingExtension)
+    public static final boolean APP_JFR = Boolean.getBoolean("app.jfr");
+
+    public static final String JFR_DIR = "target/jfr";
+
+    // Архив AppCDS для jar приложения (см. AppCds): первый запуск создаёт, следующие используют.
+    // Отключить: -Dapp.cds=false
+    public static final boolean APP_CDS = Boolean.parseBoolean(System.getProperty("app.cds", "true"));
+
+    public static final String APPCDS_DIR = "target/appcds";
+
+    // Экземпляров приложения: больше одного — кластер за прокси на APP_PORT, который направляет
+    // каждый токен всегда на один и тот же экземпляр (см. AppCluster)
+    public static final int APP_INSTANCES = Integer.getInteger("app.instances", 1);
+
     // Таймаут ожидания запуска приложения (секунды)
     public static final int STARTUP_TIMEOUT_SEC = 30;
 
-    // Интервал проверки готовности (миллисекунды)
-    public static final int POLL_INTERVAL_MS = 500;
+    // Интервал проверки готовности (миллисекунды): ожидание строки "Started" в логе
+    // и таймаут TCP-подключения в запасной проверке
+    public static final int PROBE_INTERVAL_MS = 50;
+
+    // Сколько ждать строку "Started" после первого ответа, если готовность поймана по TCP
+    public static final int LOG_GRACE_MS = 500;
+
+    /**
+     * Бюджет времени ответа действия, мс: -Dlatency.budget.ДЕЙСТВИЕ, иначе -Dlatency.budgetMs,
+     * иначе бюджет по умолчанию для прогретого приложения
+     */
+    public static long latencyBudgetMs(String action) {
+        Long perAction = Long.getLong("latency.budget." + action);
+        if (perAction != null) {
+            return perAction;
+        }
+        if (LATENCY_BUDGET_OVERRIDE_MS != null) {
+            return LATENCY_BUDGET_OVERRIDE_MS;
+        }
+        Long budget = LATENCY_BUDGETS_MS.get(action);
+        if (budget == null) {
+            throw new IllegalArgumentException("Нет бюджета времени ответа для действия " + action);
+        }
+        return budget;
+    }
+
+    /** Любой свободный порт, ещё не выданный в этой JVM — для узлов кластера и прокси экспериментов */
+    public static int freePort() {
+        return PortAllocator.any();
+    }
+
+    private static boolean tokenCounts(String value) {
+        if (value == null || value.isBlank()) {
+            return "counters".equals(MOCK_VERIFY) || "light".equals(MOCK_SERVER);
+        }
+        return Boolean.parseBoolean(value);
+    }
 
     private TestConfig() {
     }
@@ -1,28 +1,57 @@
 package ru.testassignment.helper;
 
-import java.util.Random;
+import java.security.SecureRandom;
+import java.util.concurrent.atomic.AtomicLong;
 
 /**
  * Генератор токенов для тестов.
  * Валидный токен: 32 HEX-символа [0-9A-F] (регулярка приложения: ^[0-9A-F]{32}$).
+ *
+ * Валидные токены уникальны в пределах запуска и воспроизводимы: каждый поток берёт их
+ * из своего {@link TokenStream}, а все потоки выводятся из одного seed. Seed печатается
+ * при старте; повторить последовательность — -Dtoken.seed=ЗНАЧЕНИЕ.
+ * Номера потоков раздаются в порядке первого обращения, так что точный повтор для
+ * многопоточного кода — через явные потоки {@link #stream(long)}.
  */
 public final class TokenGenerator {
 
-    // Приложение валидирует: ^[0-9A-F]{32}$ — только HEX-символы
-    private static final String VALID_CHARS = "0123456789ABCDEF";
-    private static final int VALID_LENGTH = 32;
-    private static final Random RANDOM = new Random();
+    private static final long SEED = initSeed();
+    private static final AtomicLong NEXT_STREAM_ID = new AtomicLong();
+    private static final ThreadLocal<TokenStream> THREAD_STREAM =
+            // Потоки по умолчанию — чётные номера, явные (stream(id)) — нечётные: не пересекаются
+            ThreadLocal.withInitial(() -> new TokenStream(SEED, 2 * NEXT_STREAM_ID.getAndIncrement()));
 
     private TokenGenerator() {
     }
 
-    /** Валидный токен: 32 HEX-символа [0-9A-F] */
+    /** Валидный токен: 32 HEX-символа [0-9A-F], уникальный в пределах запуска */
     public static String validToken() {
-        StringBuilder sb = new StringBuilder(VALID_LENGTH);
-        for (int i = 0; i < VALID_LENGTH; i++) {
-            sb.append(VALID_CHARS.charAt(RANDOM.nextInt(VALID_CHARS.length())));
-        }
-        return sb.toString();
+        return THREAD_STREAM.get().next();
+    }
+
+    /** Поток токенов текущего потока — для массовой генерации (fill, formBodies) */
+    public static TokenStream currentStream() {
+        return THREAD_STREAM.get();
+    }
+
+    /**
+     * Отдельный поток токенов с явным номером: тот же seed и номер — та же последовательность.
+     * Токены не пересекаются ни с другими явными потоками, ни с потоками по умолчанию.
+     */
+    public static TokenStream stream(long streamId) {
+        return new TokenStream(SEED, 2 * streamId + 1);
+    }
+
+    /** Seed запуска */
+    public static long seed() {
+        return SEED;
+    }
+
+    private static long initSeed() {
+        String configured = System.getProperty("token.seed");
+        long seed = configured != null ? Long.decode(configured) : new SecureRandom().nextLong();
+        System.out.println("TokenGenerator: seed=" + seed + " (повторить: -Dtoken.seed=" + seed + ")");
+        return seed;
     }
 
     /** Слишком короткий токен (16 символов) */
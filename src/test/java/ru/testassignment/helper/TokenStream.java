@@ -0,0 +1,111 @@
+package ru.testassignment.helper;
+
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Детерминированный поток уникальных валидных токенов (32 HEX-символа = 128 бит).
+ *
+ * Токен — это пара (ключ потока, номер токена), пропущенная через биективное
+ * перемешивание splitmix64:
+ * - старшие 64 бита: mix(seed + streamId × φ) — разные потоки дают разные значения;
+ * - младшие 64 бита: mix(counter + соль потока) — разные номера внутри потока дают разные значения.
+ * Поэтому токены не повторяются ни внутри потока, ни между потоками одного seed,
+ * а выглядят случайными. Тот же (seed, streamId) всегда даёт ту же последовательность.
+ *
+ * Экземпляр не потокобезопасен: каждому потоку — свой TokenStream.
+ */
+public final class TokenStream {
+
+    public static final int TOKEN_LENGTH = 32;
+
+    // Нечётная константа золотого сечения — умножение на неё биективно по модулю 2^64
+    private static final long GOLDEN_GAMMA = 0x9E3779B97F4A7C15L;
+    private static final byte[] HEX = "0123456789ABCDEF".getBytes(StandardCharsets.US_ASCII);
+    private static final byte[] TOKEN_PREFIX = "token=".getBytes(StandardCharsets.US_ASCII);
+    private static final byte[] ACTION_PREFIX = "&action=".getBytes(StandardCharsets.US_ASCII);
+
+    private final long seed;
+    private final long streamId;
+    private final long high;
+    private final long salt;
+    private long counter;
+
+    TokenStream(long seed, long streamId) {
+        this.seed = seed;
+        this.streamId = streamId;
+        this.high = mix(seed + streamId * GOLDEN_GAMMA);
+        this.salt = mix(high);
+    }
+
+    public long seed() {
+        return seed;
+    }
+
+    public long streamId() {
+        return streamId;
+    }
+
+    /** Сколько токенов уже выдано этим потоком */
+    public long position() {
+        return counter;
+    }
+
+    /** Следующий токен */
+    public String next() {
+        byte[] token = new byte[TOKEN_LENGTH];
+        writeNext(token, 0);
+        return new String(token, StandardCharsets.US_ASCII);
+    }
+
+    /** Заполнить массив следующими токенами */
+    public String[] fill(String[] out) {
+        byte[] token = new byte[TOKEN_LENGTH];
+        for (int i = 0; i < out.length; i++) {
+            writeNext(token, 0);
+            out[i] = new String(token, StandardCharsets.US_ASCII);
+        }
+        return out;
+    }
+
+    /** Тело формы "token=...&action=..." со следующим токеном — готово для отправки как есть */
+    public byte[] nextFormBody(String action) {
+        byte[] actionBytes = action.getBytes(StandardCharsets.US_ASCII);
+        byte[] body = new byte[TOKEN_PREFIX.length + TOKEN_LENGTH + ACTION_PREFIX.length + actionBytes.length];
+        System.arraycopy(TOKEN_PREFIX, 0, body, 0, TOKEN_PREFIX.length);
+        writeNext(body, TOKEN_PREFIX.length);
+        int pos = TOKEN_PREFIX.length + TOKEN_LENGTH;
+        System.arraycopy(ACTION_PREFIX, 0, body, pos, ACTION_PREFIX.length);
+        System.arraycopy(actionBytes, 0, body, pos + ACTION_PREFIX.length, actionBytes.length);
+        return body;
+    }
+
+    /** count тел формы подряд — для массовой отправки без генерации на горячем пути */
+    public byte[][] formBodies(String action, int count) {
+        byte[][] bodies = new byte[count][];
+        for (int i = 0; i < count; i++) {
+            bodies[i] = nextFormBody(action);
+        }
+        return bodies;
+    }
+
+    /** Пишет 32 HEX-символа следующего токена в buffer начиная с offset */
+    private void writeNext(byte[] buffer, int offset) {
+        long low = mix(counter++ + salt);
+        writeHex(high, buffer, offset);
+        writeHex(low, buffer, offset + 16);
+    }
+
+    private static void writeHex(long value, byte[] buffer, int offset) {
+        for (int i = 15; i >= 0; i--) {
+            buffer[offset + i] = HEX[(int) (value & 0xF)];
+            value >>>= 4;
+        }
+    }
+
+    /** Финализатор splitmix64 — биекция на 64-битных числах */
+    static long mix(long z) {
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+}
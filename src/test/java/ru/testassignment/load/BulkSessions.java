@@ -0,0 +1,61 @@
+package ru.testassignment.load;
+
+import ru.testassignment.client.EndpointResponse;
+import ru.testassignment.client.HttpClientTransport;
+import ru.testassignment.helper.TokenStream;
+
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Массовые LOGIN/LOGOUT для наполнения хранилища сессий приложения — миллионы токенов.
+ *
+ * Запросы асинхронные ({@link HttpClientTransport#sendAsync}), одновременно — не больше maxInFlight.
+ * Токены не хранятся: они берутся из {@link TokenStream}, и второй поток с тем же номером
+ * повторяет ту же последовательность — так LOGOUT получает те же токены, что и LOGIN.
+ * Запрос без ответа за -Dhttp.timeoutSec считается {@link #NO_RESPONSE}, поэтому зависшее приложение
+ * не останавливает отправку навсегда.
+ */
+public final class BulkSessions {
+
+    // Статус вместо ответа при сетевой ошибке или таймауте
+    public static final int NO_RESPONSE = -1;
+
+    private final HttpClientTransport transport;
+    private final int maxInFlight;
+
+    public BulkSessions(HttpClientTransport transport, int maxInFlight) {
+        this.transport = transport;
+        this.maxInFlight = maxInFlight;
+    }
+
+    /** -Dbulk.inflight (64) одновременных запросов через общий транспорт */
+    public static BulkSessions fromSystemProperties() {
+        return new BulkSessions(HttpClientTransport.shared(), Integer.getInteger("bulk.inflight", 64));
+    }
+
+    /** count запросов action со следующими токенами потока; возвращает статус → число ответов */
+    public Map<Integer, Long> send(TokenStream tokens, String action, long count) throws InterruptedException {
+        Semaphore inFlight = new Semaphore(maxInFlight);
+        Map<Integer, LongAdder> statuses = new ConcurrentHashMap<>();
+        for (long i = 0; i < count; i++) {
+            inFlight.acquire();
+            CompletableFuture<EndpointResponse> response = transport.sendAsync(tokens.next(), action);
+            response.whenComplete((result, error) -> {
+                int status = error == null ? result.statusCode() : NO_RESPONSE;
+                statuses.computeIfAbsent(status, k -> new LongAdder()).increment();
+                inFlight.release();
+            });
+        }
+        // Все разрешения вернулись — все ответы получены
+        inFlight.acquire(maxInFlight);
+
+        Map<Integer, Long> result = new TreeMap<>();
+        statuses.forEach((status, counter) -> result.put(status, counter.sum()));
+        return result;
+    }
+}
@@ -0,0 +1,64 @@
+package ru.testassignment.load;
+
+import io.qameta.allure.Allure;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Сравнение задержек приложения и внешнего сервиса по профилям мока:
+ * насколько p99 LOGIN следует за p99 /auth, а p99 ACTION — за p99 /doAction.
+ *
+ * «Наценка» — сколько приложение добавляет к задержке внешнего сервиса на том же перцентиле.
+ */
+public final class DownstreamComparison {
+
+    private record Row(String profile, LoadReport app, LoadReport downstream) {
+    }
+
+    private final List<Row> rows = new ArrayList<>();
+
+    /** Результат прогона с одним профилем мока */
+    public void add(String profile, LoadReport app, LoadReport downstream) {
+        rows.add(new Row(profile, app, downstream));
+    }
+
+    /** Наименьшее число запросов к приложению среди прогонов; 0 — какой-то прогон не состоялся */
+    public long minRequestsPerRun() {
+        return rows.stream().mapToLong(row -> row.app().totalRequests()).min().orElse(0);
+    }
+
+    public void attachToAllure() {
+        Allure.addAttachment("Задержки приложения и внешнего сервиса", "text/plain", toString(), ".txt");
+    }
+
+    @Override
+    public String toString() {
+        List<String> lines = new ArrayList<>();
+        lines.add("Задержки p99, мс: внешний сервис → приложение (наценка приложения)");
+        lines.add(String.format("%-36s %26s %26s %9s %9s",
+                "Профиль мока", "/auth → LOGIN", "/doAction → ACTION", "RPS", "Ошибок"));
+        for (Row row : rows) {
+            lines.add(String.format("%-36s %26s %26s %9.1f %9d",
+                    row.profile(),
+                    pair(row.downstream().action("/auth"), row.app().action("LOGIN")),
+                    pair(row.downstream().action("/doAction"), row.app().action("ACTION")),
+                    row.app().throughput(), row.app().totalErrors()));
+        }
+        lines.add("");
+        for (Row row : rows) {
+            lines.add(row.app().toString());
+            lines.add("");
+            lines.add(row.downstream().toString());
+            lines.add("");
+        }
+        return String.join(System.lineSeparator(), lines);
+    }
+
+    private static String pair(LoadReport.ActionStats downstream, LoadReport.ActionStats app) {
+        if (downstream == null || app == null) {
+            return "—";
+        }
+        return String.format("%.1f → %.1f (%+.1f)", downstream.p99(), app.p99(), app.p99() - downstream.p99());
+    }
+}
@@ -0,0 +1,68 @@
+package ru.testassignment.load;
+
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Сбор метрик нагрузки: гистограмма задержек и счётчики ошибок на каждый тип запроса.
+ * Потокобезопасен — пишут все виртуальные пользователи одновременно.
+ */
+public final class LoadMetrics {
+
+    // Три значащих цифры — точность 0,1% на всём диапазоне задержек
+    private static final int SIGNIFICANT_DIGITS = 3;
+
+    private final Map<String, Histogram> latencies = new ConcurrentHashMap<>();
+    private final Map<String, LongAdder> counts = new ConcurrentHashMap<>();
+    private final Map<String, LongAdder> errors = new ConcurrentHashMap<>();
+    // Причины ошибок: "LOGIN → 500", "ACTION → SocketTimeoutException"
+    private final Map<String, LongAdder> errorCauses = new ConcurrentHashMap<>();
+
+    /** Успешный (ожидаемый) ответ */
+    public void recordSuccess(String label, long latencyNanos) {
+        histogram(label).recordValue(TimeUnit.NANOSECONDS.toMicros(latencyNanos));
+        counter(counts, label).increment();
+    }
+
+    /** Неожиданный ответ или сетевая ошибка; задержка учитывается, если ответ был */
+    public void recordError(String label, long latencyNanos, String cause) {
+        if (latencyNanos >= 0) {
+            histogram(label).recordValue(TimeUnit.NANOSECONDS.toMicros(latencyNanos));
+        }
+        counter(counts, label).increment();
+        counter(errors, label).increment();
+        counter(errorCauses, label + " → " + cause).increment();
+    }
+
+    /** Снимок метрик за прогон длительностью elapsed */
+    public LoadReport report(String title, Duration elapsed) {
+        Map<String, LoadReport.ActionStats> rows = new TreeMap<>();
+        counts.forEach((label, count) -> {
+            Histogram histogram = latencies.get(label);
+            LongAdder errorCount = errors.get(label);
+            // Гистограммы может не быть, если на все запросы были только сетевые ошибки
+            rows.put(label, LoadReport.ActionStats.of(label,
+                    histogram != null ? histogram.copy() : new Histogram(SIGNIFICANT_DIGITS),
+                    count.sum(), errorCount == null ? 0 : errorCount.sum()));
+        });
+
+        Map<String, Long> causes = new TreeMap<>();
+        errorCauses.forEach((cause, count) -> causes.put(cause, count.sum()));
+        return new LoadReport(title, elapsed, rows.values(), causes);
+    }
+
+    private static LongAdder counter(Map<String, LongAdder> counters, String key) {
+        return counters.computeIfAbsent(key, k -> new LongAdder());
+    }
+
+    private Histogram histogram(String label) {
+        return latencies.computeIfAbsent(label, key -> new ConcurrentHistogram(SIGNIFICANT_DIGITS));
+    }
+}
@@ -0,0 +1,180 @@
+package ru.testassignment.load;
+
+import java.time.Duration;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Параметры нагрузки: сколько виртуальных пользователей, с какой частотой,
+ * в каком соотношении сценариев и как долго.
+ *
+ * Ограничения по времени и по числу сессий действуют вместе: прогон
+ * останавливается по первому сработавшему.
+ */
+public final class LoadProfile {
+
+    private final int virtualUsers;
+    private final int targetRps;
+    private final Duration duration;
+    private final long iterations;
+    private final int actionsPerSession;
+    private final Map<Scenario, Integer> mix;
+    private final int totalWeight;
+
+    private LoadProfile(Builder builder) {
+        if (builder.mix.isEmpty()) {
+            throw new IllegalArgumentException("Не задан ни один сценарий нагрузки");
+        }
+        if (builder.duration == null && builder.iterations <= 0) {
+            throw new IllegalArgumentException("Нужно ограничение по времени или по числу сессий");
+        }
+        this.virtualUsers = builder.virtualUsers;
+        this.targetRps = builder.targetRps;
+        this.duration = builder.duration;
+        this.iterations = builder.iterations;
+        this.actionsPerSession = builder.actionsPerSession;
+        this.mix = Collections.unmodifiableMap(new EnumMap<>(builder.mix));
+        this.totalWeight = builder.mix.values().stream().mapToInt(Integer::intValue).sum();
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    /**
+     * Профиль из системных свойств, чтобы менять нагрузку без правки кода:
+     * -Dload.users, -Dload.rps (0 — без ограничения), -Dload.duration (секунды),
+     * -Dload.iterations, -Dload.actions, -Dload.mix=FULL_SESSION:8,ABANDONED_SESSION:1,INVALID_TOKEN:1
+     */
+    public static LoadProfile fromSystemProperties() {
+        long iterations = Long.getLong("load.iterations", 0);
+        // По умолчанию — 10 секунд, но если задано число сессий, то время не ограничиваем
+        long seconds = Long.getLong("load.duration", iterations > 0 ? 0 : 10);
+        Builder builder = builder()
+                .virtualUsers(Integer.getInteger("load.users", 8))
+                .targetRps(Integer.getInteger("load.rps", 0))
+                .duration(seconds > 0 ? Duration.ofSeconds(seconds) : null)
+                .iterations(iterations)
+                .actionsPerSession(Integer.getInteger("load.actions", 3));
+        String mix = System.getProperty("load.mix", "FULL_SESSION:8,ABANDONED_SESSION:1,INVALID_TOKEN:1");
+        for (String entry : mix.split(",")) {
+            String[] parts = entry.trim().split(":");
+            builder.scenario(Scenario.valueOf(parts[0].trim()),
+                    parts.length > 1 ? Integer.parseInt(parts[1].trim()) : 1);
+        }
+        return builder.build();
+    }
+
+    /** Случайный сценарий с учётом весов */
+    Scenario pickScenario() {
+        int roll = ThreadLocalRandom.current().nextInt(totalWeight);
+        for (Map.Entry<Scenario, Integer> entry : mix.entrySet()) {
+            roll -= entry.getValue();
+            if (roll < 0) {
+                return entry.getKey();
+            }
+        }
+        throw new IllegalStateException("Недостижимо: веса сценариев " + mix);
+    }
+
+    public int virtualUsers() {
+        return virtualUsers;
+    }
+
+    /** Целевая частота запросов в секунду на весь прогон; 0 — без ограничения */
+    public int targetRps() {
+        return targetRps;
+    }
+
+    /** Длительность прогона; null — без ограничения по времени */
+    public Duration duration() {
+        return duration;
+    }
+
+    /** Число сессий (итераций сценария) на весь прогон; 0 — без ограничения */
+    public long iterations() {
+        return iterations;
+    }
+
+    public int actionsPerSession() {
+        return actionsPerSession;
+    }
+
+    public Map<Scenario, Integer> mix() {
+        return mix;
+    }
+
+    /** Тот же профиль с другой длительностью — например, короткий прогрев перед замером */
+    public LoadProfile withDuration(Duration duration) {
+        Builder builder = builder()
+                .virtualUsers(virtualUsers)
+                .targetRps(targetRps)
+                .duration(duration)
+                .iterations(iterations)
+                .actionsPerSession(actionsPerSession);
+        mix.forEach(builder::scenario);
+        return builder.build();
+    }
+
+    @Override
+    public String toString() {
+        return "пользователей: " + virtualUsers
+                + ", RPS: " + (targetRps > 0 ? targetRps : "без ограничения")
+                + ", длительность: " + (duration != null ? duration.toSeconds() + " с" : "—")
+                + ", сессий: " + (iterations > 0 ? iterations : "—")
+                + ", ACTION на сессию: " + actionsPerSession
+                + ", сценарии: " + mix;
+    }
+
+    public static final class Builder {
+
+        private int virtualUsers = 1;
+        private int targetRps;
+        private Duration duration;
+        private long iterations;
+        private int actionsPerSession = 1;
+        private final Map<Scenario, Integer> mix = new EnumMap<>(Scenario.class);
+
+        private Builder() {
+        }
+
+        public Builder virtualUsers(int virtualUsers) {
+            this.virtualUsers = virtualUsers;
+            return this;
+        }
+
+        public Builder targetRps(int targetRps) {
+            this.targetRps = targetRps;
+            return this;
+        }
+
+        public Builder duration(Duration duration) {
+            this.duration = duration;
+            return this;
+        }
+
+        public Builder iterations(long iterations) {
+            this.iterations = iterations;
+            return this;
+        }
+
+        public Builder actionsPerSession(int actionsPerSession) {
+            this.actionsPerSession = actionsPerSession;
+            return this;
+        }
+
+        /** Добавить сценарий с весом (доля = вес / сумма весов) */
+        public Builder scenario(Scenario scenario, int weight) {
+            if (weight > 0) {
+                mix.put(scenario, weight);
+            }
+            return this;
+        }
+
+        public LoadProfile build() {
+            return new LoadProfile(this);
+        }
+    }
+}
@@ -0,0 +1,100 @@
+package ru.testassignment.load;
+
+import io.qameta.allure.Allure;
+import org.HdrHistogram.Histogram;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Итог нагрузочного прогона: задержки (мс) и ошибки по типам запросов.
+ */
+public final class LoadReport {
+
+    private final String title;
+    private final Duration elapsed;
+    private final List<ActionStats> actions;
+    private final Map<String, Long> errorCauses;
+
+    LoadReport(String title, Duration elapsed, Collection<ActionStats> actions, Map<String, Long> errorCauses) {
+        this.title = title;
+        this.elapsed = elapsed;
+        this.actions = List.copyOf(actions);
+        this.errorCauses = Map.copyOf(errorCauses);
+    }
+
+    public List<ActionStats> actions() {
+        return actions;
+    }
+
+    /** Статистика по типу запроса; null, если таких запросов не было */
+    public ActionStats action(String label) {
+        return actions.stream().filter(a -> a.label().equals(label)).findFirst().orElse(null);
+    }
+
+    public long totalRequests() {
+        return actions.stream().mapToLong(ActionStats::count).sum();
+    }
+
+    public long totalErrors() {
+        return actions.stream().mapToLong(ActionStats::errors).sum();
+    }
+
+    /** Запросов в секунду за весь прогон */
+    public double throughput() {
+        return totalRequests() / Math.max(elapsed.toNanos() / 1e9, 1e-9);
+    }
+
+    public Duration elapsed() {
+        return elapsed;
+    }
+
+    /** Прикрепить отчёт к текущему тесту в Allure */
+    public void attachToAllure() {
+        Allure.addAttachment(title, "text/plain", toString(), ".txt");
+    }
+
+    @Override
+    public String toString() {
+        List<String> lines = new ArrayList<>();
+        lines.add(title);
+        lines.add(String.format("Длительность: %.1f с, запросов: %d, ошибок: %d, пропускная способность: %.1f RPS",
+                elapsed.toMillis() / 1000.0, totalRequests(), totalErrors(), throughput()));
+        lines.add("");
+        lines.add(String.format("%-20s %9s %7s %9s %9s %9s %9s %9s",
+                "Запрос", "Кол-во", "Ошибок", "p50, мс", "p90, мс", "p99, мс", "p99.9, мс", "max, мс"));
+        for (ActionStats a : actions) {
+            lines.add(String.format("%-20s %9d %7d %9.2f %9.2f %9.2f %9.2f %9.2f",
+                    a.label(), a.count(), a.errors(), a.p50(), a.p90(), a.p99(), a.p999(), a.max()));
+        }
+        if (!errorCauses.isEmpty()) {
+            lines.add("");
+            lines.add("Причины ошибок:");
+            errorCauses.forEach((cause, count) -> lines.add("  " + cause + ": " + count));
+        }
+        return String.join(System.lineSeparator(), lines);
+    }
+
+    /**
+     * Статистика одного типа запроса. Задержки — в миллисекундах.
+     */
+    public record ActionStats(String label, long count, long errors,
+                              double p50, double p90, double p99, double p999, double max) {
+
+        static ActionStats of(String label, Histogram micros, long count, long errors) {
+            return new ActionStats(label, count, errors,
+                    ms(micros.getValueAtPercentile(50)),
+                    ms(micros.getValueAtPercentile(90)),
+                    ms(micros.getValueAtPercentile(99)),
+                    ms(micros.getValueAtPercentile(99.9)),
+                    ms(micros.getMaxValue()));
+        }
+
+        private static double ms(long micros) {
+            return micros / 1000.0;
+        }
+    }
+}
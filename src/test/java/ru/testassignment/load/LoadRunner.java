@@ -0,0 +1,110 @@
+package ru.testassignment.load;
+
+import ru.testassignment.helper.TokenGenerator;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Нагрузочный движок (закрытая модель): N виртуальных пользователей в своих потоках
+ * крутят сценарии из {@link LoadProfile}, пока не кончится время или число сессий.
+ *
+ * Ожидаемые ответы: 200 для шагов сессии, 400 для невалидного токена.
+ * Всё остальное (и сетевые ошибки) считается ошибкой с указанием причины.
+ */
+public final class LoadRunner {
+
+    private final LoadProfile profile;
+    private final RequestSender sender;
+    private final LoadMetrics metrics = new LoadMetrics();
+    private final RatePacer pacer;
+    private final AtomicLong sessionsStarted = new AtomicLong();
+    private long deadlineNanos;
+
+    public LoadRunner(LoadProfile profile, RequestSender sender) {
+        this.profile = profile;
+        this.sender = sender;
+        this.pacer = profile.targetRps() > 0 ? new RatePacer(profile.targetRps()) : null;
+    }
+
+    /** Запускает прогон и ждёт его окончания */
+    public LoadReport run() throws InterruptedException {
+        long startNanos = System.nanoTime();
+        deadlineNanos = profile.duration() != null
+                ? startNanos + profile.duration().toNanos()
+                : Long.MAX_VALUE;
+
+        AtomicInteger threadNumber = new AtomicInteger();
+        ExecutorService pool = Executors.newFixedThreadPool(profile.virtualUsers(),
+                task -> new Thread(task, "load-vu-" + threadNumber.incrementAndGet()));
+        try {
+            List<Future<?>> users = new ArrayList<>();
+            for (int i = 0; i < profile.virtualUsers(); i++) {
+                users.add(pool.submit(this::virtualUser));
+            }
+            for (Future<?> user : users) {
+                user.get();
+            }
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Виртуальный пользователь упал", e.getCause());
+        } finally {
+            pool.shutdownNow();
+        }
+
+        return metrics.report("Нагрузка: " + profile, Duration.ofNanos(System.nanoTime() - startNanos));
+    }
+
+    private void virtualUser() {
+        while (!Thread.currentThread().isInterrupted() && System.nanoTime() < deadlineNanos) {
+            if (profile.iterations() > 0 && sessionsStarted.incrementAndGet() > profile.iterations()) {
+                return;
+            }
+            switch (profile.pickScenario()) {
+                case FULL_SESSION -> session(true);
+                case ABANDONED_SESSION -> session(false);
+                case INVALID_TOKEN -> call("INVALID_TOKEN", TokenGenerator.nonHexLettersToken(), "ACTION", 400);
+            }
+        }
+    }
+
+    /** LOGIN → N × ACTION → (LOGOUT); без успешного LOGIN дальше не идём */
+    private void session(boolean logout) {
+        String token = TokenGenerator.validToken();
+        if (!call("LOGIN", token, "LOGIN", 200)) {
+            return;
+        }
+        for (int i = 0; i < profile.actionsPerSession(); i++) {
+            call("ACTION", token, "ACTION", 200);
+        }
+        if (logout) {
+            call("LOGOUT", token, "LOGOUT", 200);
+        }
+    }
+
+    /** Один запрос с учётом задержки и результата; true — получен ожидаемый статус */
+    private boolean call(String label, String token, String action, int expectedStatus) {
+        if (pacer != null) {
+            pacer.acquire();
+        }
+        long start = System.nanoTime();
+        try {
+            int status = sender.send(token, action);
+            long latency = System.nanoTime() - start;
+            if (status == expectedStatus) {
+                metrics.recordSuccess(label, latency);
+                return true;
+            }
+            metrics.recordError(label, latency, String.valueOf(status));
+        } catch (RuntimeException e) {
+            metrics.recordError(label, -1, e.getClass().getSimpleName());
+        }
+        return false;
+    }
+}
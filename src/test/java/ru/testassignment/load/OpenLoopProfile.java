@@ -0,0 +1,96 @@
+package ru.testassignment.load;
+
+import java.time.Duration;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Параметры открытой модели нагрузки: запросы идут по расписанию с постоянной частотой,
+ * независимо от того, как быстро отвечает приложение.
+ *
+ * Доли действий задаются весами LOGIN/ACTION/LOGOUT. ACTION и LOGOUT берут токен из пула
+ * уже залогиненных; если пул пуст — вместо них уходит LOGIN (замены считаются в отчёте).
+ */
+public final class OpenLoopProfile {
+
+    private static final Set<String> ACTIONS = Set.of("LOGIN", "ACTION", "LOGOUT");
+
+    private final int ratePerSecond;
+    private final Duration duration;
+    private final int maxConcurrency;
+    private final Map<String, Integer> actionMix;
+    private final int totalWeight;
+
+    public OpenLoopProfile(int ratePerSecond, Duration duration, int maxConcurrency, Map<String, Integer> actionMix) {
+        if (ratePerSecond <= 0) {
+            throw new IllegalArgumentException("Частота должна быть положительной: " + ratePerSecond);
+        }
+        actionMix.forEach((action, weight) -> {
+            if (!ACTIONS.contains(action)) {
+                throw new IllegalArgumentException("Неизвестное действие в смеси: " + action + ", допустимы " + ACTIONS);
+            }
+            if (weight < 0) {
+                throw new IllegalArgumentException("Отрицательный вес действия " + action + ": " + weight);
+            }
+        });
+        if (actionMix.values().stream().mapToInt(Integer::intValue).sum() <= 0) {
+            throw new IllegalArgumentException("Сумма весов действий должна быть положительной: " + actionMix);
+        }
+        this.ratePerSecond = ratePerSecond;
+        this.duration = duration;
+        this.maxConcurrency = maxConcurrency;
+        this.actionMix = Collections.unmodifiableMap(new LinkedHashMap<>(actionMix));
+        this.totalWeight = actionMix.values().stream().mapToInt(Integer::intValue).sum();
+    }
+
+    /**
+     * Профиль из системных свойств: -Dopen.rate (запросов/с), -Dopen.duration (секунды),
+     * -Dopen.concurrency (максимум одновременных запросов), -Dopen.mix=LOGIN:1,ACTION:3,LOGOUT:1
+     */
+    public static OpenLoopProfile fromSystemProperties() {
+        Map<String, Integer> mix = new LinkedHashMap<>();
+        for (String entry : System.getProperty("open.mix", "LOGIN:1,ACTION:3,LOGOUT:1").split(",")) {
+            String[] parts = entry.trim().split(":");
+            mix.put(parts[0].trim(), parts.length > 1 ? Integer.parseInt(parts[1].trim()) : 1);
+        }
+        return new OpenLoopProfile(
+                Integer.getInteger("open.rate", 200),
+                Duration.ofSeconds(Long.getLong("open.duration", 10)),
+                Integer.getInteger("open.concurrency", 256),
+                mix);
+    }
+
+    /** Случайное действие с учётом весов */
+    String pickAction() {
+        int roll = ThreadLocalRandom.current().nextInt(totalWeight);
+        for (Map.Entry<String, Integer> entry : actionMix.entrySet()) {
+            roll -= entry.getValue();
+            if (roll < 0) {
+                return entry.getKey();
+            }
+        }
+        throw new IllegalStateException("Недостижимо: веса действий " + actionMix);
+    }
+
+    public int ratePerSecond() {
+        return ratePerSecond;
+    }
+
+    public Duration duration() {
+        return duration;
+    }
+
+    /** Потоков отправки; если все заняты, запросы ждут в очереди — и это попадает в задержку */
+    public int maxConcurrency() {
+        return maxConcurrency;
+    }
+
+    @Override
+    public String toString() {
+        return ratePerSecond + " запросов/с, " + duration.toSeconds() + " с, до " + maxConcurrency
+                + " одновременных запросов, действия: " + actionMix;
+    }
+}
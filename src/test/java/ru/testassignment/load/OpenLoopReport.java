@@ -0,0 +1,91 @@
+package ru.testassignment.load;
+
+import io.qameta.allure.Allure;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Итог открытой модели: задержки в двух вариантах.
+ *
+ * Скорректированные считаются от планового времени отправки — включают ожидание,
+ * вызванное медленными предыдущими ответами (coordinated omission).
+ * Нескорректированные — от фактической отправки, как их видит обычный клиент.
+ */
+public final class OpenLoopReport {
+
+    private final String title;
+    private final LoadReport corrected;
+    private final LoadReport uncorrected;
+    private final long missedSlots;
+    private final long abandonedSlots;
+    private final Map<String, Long> substitutions;
+
+    OpenLoopReport(String title, LoadReport corrected, LoadReport uncorrected, long missedSlots,
+                   long abandonedSlots, Map<String, Long> substitutions) {
+        this.title = title;
+        this.corrected = corrected;
+        this.uncorrected = uncorrected;
+        this.missedSlots = missedSlots;
+        this.abandonedSlots = abandonedSlots;
+        this.substitutions = Map.copyOf(substitutions);
+    }
+
+    /** Задержки от планового времени отправки */
+    public LoadReport corrected() {
+        return corrected;
+    }
+
+    /** Задержки от фактической отправки */
+    public LoadReport uncorrected() {
+        return uncorrected;
+    }
+
+    /** Сколько запросов ушло позже своего слота больше чем на 1 мс (перегружен сам генератор) */
+    public long missedSlots() {
+        return missedSlots;
+    }
+
+    /** Сколько запланированных запросов так и не отправлено до конца ожидания хвоста (учтены ошибками) */
+    public long abandonedSlots() {
+        return abandonedSlots;
+    }
+
+    /** Запланированное действие → сколько раз вместо него ушёл LOGIN, потому что пул токенов был пуст */
+    public Map<String, Long> substitutions() {
+        return substitutions;
+    }
+
+    public void attachToAllure() {
+        Allure.addAttachment(title, "text/plain", toString(), ".txt");
+    }
+
+    @Override
+    public String toString() {
+        List<String> lines = new ArrayList<>();
+        lines.add(title);
+        lines.add(String.format("Длительность: %.1f с, запросов: %d, ошибок: %d, фактически: %.1f RPS, "
+                        + "опозданий генератора: %d",
+                corrected.elapsed().toMillis() / 1000.0, corrected.totalRequests(), corrected.totalErrors(),
+                corrected.throughput(), missedSlots));
+        if (abandonedSlots > 0) {
+            lines.add("Не отправлено до конца ожидания (в ошибках, задержка — до отмены): " + abandonedSlots);
+        }
+        if (!substitutions.isEmpty()) {
+            lines.add("Заменено на LOGIN при пустом пуле токенов: " + substitutions);
+        }
+        lines.add("Задержки, мс: скорр. — от планового времени, нескорр. — от фактической отправки");
+        lines.add("");
+        lines.add(String.format("%-8s %8s %6s | %9s %9s | %9s %9s | %9s %9s | %9s %9s",
+                "Запрос", "Кол-во", "Ошиб.",
+                "p50 скорр", "нескорр", "p99 скорр", "нескорр", "p99.9 ск", "нескорр", "max скорр", "нескорр"));
+        for (LoadReport.ActionStats c : corrected.actions()) {
+            LoadReport.ActionStats u = uncorrected.action(c.label());
+            lines.add(String.format("%-8s %8d %6d | %9.2f %9.2f | %9.2f %9.2f | %9.2f %9.2f | %9.2f %9.2f",
+                    c.label(), c.count(), c.errors(),
+                    c.p50(), u.p50(), c.p99(), u.p99(), c.p999(), u.p999(), c.max(), u.max()));
+        }
+        return String.join(System.lineSeparator(), lines);
+    }
+}
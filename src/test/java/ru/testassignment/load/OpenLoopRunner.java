@@ -0,0 +1,163 @@
+package ru.testassignment.load;
+
+import ru.testassignment.helper.TokenGenerator;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Открытая модель нагрузки: запрос №i планируется на момент start + i / RPS.
+ * Медленный ответ не сдвигает следующие отправки, а задержка считается от планового
+ * момента — так всплески не прячутся за замедлившимся клиентом (coordinated omission).
+ *
+ * Пул токенов: LOGIN кладёт токен в пул, ACTION берёт его на время запроса и возвращает,
+ * LOGOUT забирает насовсем — один токен никогда не участвует в двух запросах сразу.
+ * ACTION или LOGOUT при пустом пуле уходит как LOGIN и считается заменой — фактическая смесь
+ * действий видна в отчёте рядом с заданной.
+ *
+ * Слоты, которые так и не начали выполняться до конца ожидания хвоста, не теряются:
+ * они записываются ошибками с задержкой от планового момента до отмены — это худшие задержки прогона.
+ * Так же и запросы, оборванные исключением (сброс соединения, прерывание при отмене): задержка —
+ * до момента исключения, а не пропуск.
+ */
+public final class OpenLoopRunner {
+
+    private static final long LATE_THRESHOLD_NANOS = TimeUnit.MILLISECONDS.toNanos(1);
+    private static final String ABANDONED = "не отправлен до конца прогона";
+    // Сколько ждать прерванные shutdownNow запросы, чтобы они попали в отчёт
+    private static final long INTERRUPTED_WAIT_SECONDS = 10;
+
+    private final OpenLoopProfile profile;
+    private final RequestSender sender;
+    private final LoadMetrics corrected = new LoadMetrics();
+    private final LoadMetrics uncorrected = new LoadMetrics();
+    private final Queue<String> liveTokens = new ConcurrentLinkedQueue<>();
+    private final LongAdder missedSlots = new LongAdder();
+    private final LongAdder abandonedSlots = new LongAdder();
+    // Запланированное действие → сколько раз вместо него ушёл LOGIN (пул токенов был пуст)
+    private final Map<String, LongAdder> substitutions = new ConcurrentHashMap<>();
+
+    public OpenLoopRunner(OpenLoopProfile profile, RequestSender sender) {
+        this.profile = profile;
+        this.sender = sender;
+    }
+
+    /** Запускает расписание и ждёт ответов на все отправленные запросы */
+    public OpenLoopReport run() throws InterruptedException {
+        AtomicInteger threadNumber = new AtomicInteger();
+        ExecutorService pool = Executors.newFixedThreadPool(profile.maxConcurrency(),
+                task -> new Thread(task, "open-loop-" + threadNumber.incrementAndGet()));
+
+        long intervalNanos = TimeUnit.SECONDS.toNanos(1) / profile.ratePerSecond();
+        long startNanos = System.nanoTime();
+        long endNanos = startNanos + profile.duration().toNanos();
+        try {
+            for (long slot = 0; ; slot++) {
+                long intendedNanos = startNanos + slot * intervalNanos;
+                if (intendedNanos >= endNanos) {
+                    break;
+                }
+                long now;
+                while ((now = System.nanoTime()) < intendedNanos) {
+                    LockSupport.parkNanos(intendedNanos - now);
+                }
+                if (now - intendedNanos > LATE_THRESHOLD_NANOS) {
+                    missedSlots.increment();
+                }
+                pool.execute(new Slot(profile.pickAction(), intendedNanos));
+            }
+        } finally {
+            pool.shutdown();
+            // Ждём хвост: запросы, отправленные в конце расписания
+            if (!pool.awaitTermination(1, TimeUnit.MINUTES)) {
+                abandon(pool.shutdownNow());
+                // Прерванные запросы записывают ошибку сами — дожидаемся их до снимка метрик
+                pool.awaitTermination(INTERRUPTED_WAIT_SECONDS, TimeUnit.SECONDS);
+            }
+        }
+
+        Duration elapsed = Duration.ofNanos(System.nanoTime() - startNanos);
+        String title = "Открытая модель: " + profile;
+        return new OpenLoopReport(title,
+                corrected.report(title + " — от планового времени", elapsed),
+                uncorrected.report(title + " — от фактической отправки", elapsed),
+                missedSlots.sum(), abandonedSlots.sum(), substitutionCounts());
+    }
+
+    /** Слоты из очереди пула, отменённые shutdownNow: в корректированных задержках — время ожидания до отмены */
+    private void abandon(List<Runnable> queued) {
+        long now = System.nanoTime();
+        for (Runnable task : queued) {
+            Slot slot = (Slot) task;
+            corrected.recordError(slot.action, now - slot.intendedNanos, ABANDONED);
+            uncorrected.recordError(slot.action, -1, ABANDONED);
+        }
+        abandonedSlots.add(queued.size());
+    }
+
+    private Map<String, Long> substitutionCounts() {
+        Map<String, Long> counts = new TreeMap<>();
+        substitutions.forEach((action, count) -> counts.put(action, count.sum()));
+        return counts;
+    }
+
+    private void execute(String action, long intendedNanos) {
+        String token = "LOGIN".equals(action) ? null : liveTokens.poll();
+        if (token == null) {
+            if (!"LOGIN".equals(action)) {
+                substitutions.computeIfAbsent(action, key -> new LongAdder()).increment();
+            }
+            action = "LOGIN";
+            token = TokenGenerator.validToken();
+        }
+
+        long sentNanos = System.nanoTime();
+        try {
+            int status = sender.send(token, action);
+            long doneNanos = System.nanoTime();
+            if (status == 200) {
+                corrected.recordSuccess(action, doneNanos - intendedNanos);
+                uncorrected.recordSuccess(action, doneNanos - sentNanos);
+            } else {
+                corrected.recordError(action, doneNanos - intendedNanos, String.valueOf(status));
+                uncorrected.recordError(action, doneNanos - sentNanos, String.valueOf(status));
+            }
+            // Токен остаётся в сессии после успешного LOGIN и после любого ACTION
+            if ("ACTION".equals(action) || ("LOGIN".equals(action) && status == 200)) {
+                liveTokens.offer(token);
+            }
+        } catch (RuntimeException e) {
+            long failedNanos = System.nanoTime();
+            corrected.recordError(action, failedNanos - intendedNanos, e.getClass().getSimpleName());
+            uncorrected.recordError(action, failedNanos - sentNanos, e.getClass().getSimpleName());
+        }
+    }
+
+    /** Запланированный запрос: задача пула, которую можно опознать среди отменённых */
+    private final class Slot implements Runnable {
+
+        private final String action;
+        private final long intendedNanos;
+
+        Slot(String action, long intendedNanos) {
+            this.action = action;
+            this.intendedNanos = intendedNanos;
+        }
+
+        @Override
+        public void run() {
+            execute(action, intendedNanos);
+        }
+    }
+}
@@ -0,0 +1,31 @@
+package ru.testassignment.load;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Ограничитель частоты для закрытой модели нагрузки: общий на всех виртуальных
+ * пользователей, выдаёт слоты с шагом 1/RPS. Если пользователи не успевают,
+ * слоты не копятся — частота просто не достигается.
+ */
+final class RatePacer {
+
+    private final long intervalNanos;
+    private final AtomicLong nextSlot;
+
+    RatePacer(int ratePerSecond) {
+        this.intervalNanos = TimeUnit.SECONDS.toNanos(1) / ratePerSecond;
+        this.nextSlot = new AtomicLong(System.nanoTime());
+    }
+
+    /** Ждёт своего слота */
+    void acquire() {
+        long now = System.nanoTime();
+        long slot = nextSlot.getAndUpdate(next -> Math.max(next, now) + intervalNanos);
+        long start = Math.max(slot, now);
+        while (System.nanoTime() < start) {
+            LockSupport.parkNanos(start - System.nanoTime());
+        }
+    }
+}
@@ -0,0 +1,32 @@
+package ru.testassignment.load;
+
+import ru.testassignment.client.EndpointClient;
+import ru.testassignment.client.HttpClientTransport;
+import ru.testassignment.config.TestConfig;
+
+/**
+ * Отправка одного запроса на /endpoint для нагрузочного движка.
+ * Возвращает HTTP-статус ответа; сетевые ошибки — исключением.
+ */
+@FunctionalInterface
+public interface RequestSender {
+
+    int send(String token, String action);
+
+    /** Через {@link EndpointClient} — те же запросы, что и в функциональных тестах */
+    static RequestSender restAssured() {
+        return (token, action) -> EndpointClient.send(token, action).extract().statusCode();
+    }
+
+    /** Через {@link HttpClientTransport}: keep-alive и без накладных расходов REST Assured */
+    static RequestSender httpClient(HttpClientTransport transport) {
+        return (token, action) -> transport.send(token, action).statusCode();
+    }
+
+    /** Транспорт, выбранный через -Dendpoint.transport (как у EndpointClient) */
+    static RequestSender configured() {
+        return "http-client".equals(TestConfig.ENDPOINT_TRANSPORT)
+                ? httpClient(HttpClientTransport.shared())
+                : restAssured();
+    }
+}
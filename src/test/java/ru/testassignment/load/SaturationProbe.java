@@ -0,0 +1,247 @@
+package ru.testassignment.load;
+
+import ru.testassignment.client.EndpointClient;
+import ru.testassignment.client.EndpointResponse;
+import ru.testassignment.helper.TokenGenerator;
+import ru.testassignment.mock.DownstreamLatency;
+import ru.testassignment.mock.DownstreamProfile;
+import ru.testassignment.mock.MockBackend;
+import ru.testassignment.steps.ApiSteps;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Эксперимент: сколько одновременных запросов к внешнему сервису держит приложение.
+ *
+ * Мок отвечает на целевой путь (/doAction для ACTION, /auth для LOGIN) с долгой задержкой,
+ * а в приложение отправляются пачки по 1, 2, 4, … одновременных запросов через
+ * {@link EndpointClient#sendAsync}. Пока приложение пропускает все запросы к моку сразу,
+ * каждый отвечает примерно за задержку мока. Когда пул исходящих соединений (или потоков)
+ * исчерпан, запросы ждут в очереди — p99 растёт кратно задержке, либо появляются ошибки.
+ * Предел — максимум одновременных запросов, который увидел мок на первой такой пачке.
+ *
+ * Мок не должен стать пределом сам: у WireMock (и лёгкого мока на Java 17) -Dmock.threads потоков (TestConfig.MOCK_THREADS),
+ * найденный предел около этого числа означает, что упёрлись в мок.
+ *
+ * После предела — восстановление: пачка вдвое больше предела, затем мок снова отвечает сразу,
+ * и замеряется, через сколько новые запросы вернутся к исходной задержке.
+ */
+public final class SaturationProbe {
+
+    /** Запрос приложения и путь мока, который он вызывает */
+    public enum Target {
+        ACTION("/doAction"),
+        LOGIN("/auth");
+
+        private final String downstreamPath;
+
+        Target(String downstreamPath) {
+            this.downstreamPath = downstreamPath;
+        }
+
+        public String downstreamPath() {
+            return downstreamPath;
+        }
+    }
+
+    // Базовая задержка — по стольким последовательным запросам
+    private static final int BASELINE_REQUESTS = 20;
+    // Сколько уровней пройти после предела, чтобы увидеть поведение очереди
+    private static final int LEVELS_PAST_LIMIT = 2;
+    // Восстановлено, когда столько проб подряд укладываются в порог
+    private static final int RECOVERED_PROBES = 5;
+    private static final long PROBE_INTERVAL_MS = 20;
+
+    private final MockBackend mock;
+    private final DownstreamLatency downstream;
+    private final Target target;
+    private final int delayMillis;
+    private final int maxConcurrency;
+    private final double tolerance;
+    private final Duration recoveryTimeout;
+
+    public SaturationProbe(MockBackend mock, Target target,
+                           int delayMillis, int maxConcurrency, double tolerance, Duration recoveryTimeout) {
+        this.mock = mock;
+        this.downstream = mock.downstreamLatency();
+        this.target = target;
+        this.delayMillis = delayMillis;
+        this.maxConcurrency = maxConcurrency;
+        this.tolerance = tolerance;
+        this.recoveryTimeout = recoveryTimeout;
+    }
+
+    /**
+     * Параметры из системных свойств: -Dsaturation.delayMs (1000), -Dsaturation.max (256),
+     * -Dsaturation.tolerance (0.5 — p99 выше задержки мока больше чем на 50% значит очередь),
+     * -Dsaturation.recoverySec (60).
+     */
+    public static SaturationProbe fromSystemProperties(MockBackend mock, Target target) {
+        return new SaturationProbe(mock, target,
+                Integer.getInteger("saturation.delayMs", 1000),
+                Integer.getInteger("saturation.max", 256),
+                Double.parseDouble(System.getProperty("saturation.tolerance", "0.5")),
+                Duration.ofSeconds(Long.getLong("saturation.recoverySec", 60)));
+    }
+
+    public SaturationReport run() throws InterruptedException {
+        // Базовая задержка при быстром моке
+        holdDownstream(false);
+        LoadMetrics baselineMetrics = new LoadMetrics();
+        for (String token : tokens(BASELINE_REQUESTS)) {
+            await(List.of(send(token, baselineMetrics)), Duration.ofSeconds(30));
+        }
+        LoadReport.ActionStats baseline = baselineMetrics.report("", Duration.ZERO).action(target.name());
+
+        // Подъём одновременности до предела и немного дальше
+        holdDownstream(true);
+        List<SaturationReport.Level> levels = new ArrayList<>();
+        int limit = -1;
+        int pastLimit = 0;
+        for (int concurrency = 1; concurrency <= maxConcurrency && pastLimit < LEVELS_PAST_LIMIT; concurrency *= 2) {
+            SaturationReport.Level level = burst(concurrency);
+            levels.add(level);
+            if (level.saturated()) {
+                if (limit < 0) {
+                    limit = level.peakDownstream();
+                }
+                pastLimit++;
+            }
+        }
+
+        Recovery recovery = measureRecovery(limit > 0 ? limit : maxConcurrency, baseline);
+        return new SaturationReport(target, delayMillis, baseline, levels, limit,
+                recovery.recovered(), recovery.time());
+    }
+
+    /** Пачка из concurrency одновременных запросов при задержанном моке */
+    private SaturationReport.Level burst(int concurrency) throws InterruptedException {
+        List<String> tokens = tokens(concurrency);
+        LoadMetrics metrics = new LoadMetrics();
+        downstream.reset();
+
+        List<CompletableFuture<?>> requests = new ArrayList<>(concurrency);
+        for (String token : tokens) {
+            requests.add(send(token, metrics));
+        }
+        await(requests, burstTimeout(concurrency));
+
+        LoadReport.ActionStats stats = metrics.report("", Duration.ZERO).action(target.name());
+        boolean saturated = stats.errors() > 0 || stats.p99() > delayMillis * (1 + tolerance);
+        return new SaturationReport.Level(concurrency, downstream.peakInFlight(target.downstreamPath()),
+                stats, saturated);
+    }
+
+    /**
+     * Пачка вдвое больше предела, через полпаузы мок снова отвечает сразу.
+     * Время восстановления — от этого момента до первой из RECOVERED_PROBES подряд
+     * проб, уложившихся в базовую задержку с запасом.
+     */
+    private Recovery measureRecovery(int limit, LoadReport.ActionStats baseline) throws InterruptedException {
+        int concurrency = 2 * Math.max(limit, 1);
+        List<String> backlogTokens = tokens(concurrency);
+        // ACTION можно повторять с одним токеном, LOGIN — только с новым
+        List<String> actionTokens = target == Target.ACTION ? tokens(RECOVERED_PROBES) : List.of();
+        LoadMetrics backlogMetrics = new LoadMetrics();
+        List<CompletableFuture<?>> backlog = new ArrayList<>(concurrency);
+        for (String token : backlogTokens) {
+            backlog.add(send(token, backlogMetrics));
+        }
+        TimeUnit.MILLISECONDS.sleep(delayMillis / 2);
+        holdDownstream(false);
+
+        double thresholdMillis = Math.max(baseline.p99() * 2, baseline.p99() + 20);
+        long clearedAt = System.nanoTime();
+        long deadline = clearedAt + recoveryTimeout.toNanos();
+        long firstGoodAt = -1;
+        int goodInRow = 0;
+        int probe = 0;
+        while (goodInRow < RECOVERED_PROBES && System.nanoTime() < deadline) {
+            String token = target == Target.ACTION
+                    ? actionTokens.get(probe++ % actionTokens.size())
+                    : TokenGenerator.validToken();
+            long start = System.nanoTime();
+            boolean ok;
+            try {
+                EndpointResponse response = EndpointClient.sendAsync(token, target.name())
+                        .get(recoveryTimeout.toMillis(), TimeUnit.MILLISECONDS);
+                ok = response.statusCode() == 200
+                        && (System.nanoTime() - start) / 1e6 <= thresholdMillis;
+            } catch (ExecutionException | TimeoutException e) {
+                ok = false;
+            }
+            if (ok) {
+                if (goodInRow++ == 0) {
+                    firstGoodAt = start;
+                }
+            } else {
+                goodInRow = 0;
+            }
+            TimeUnit.MILLISECONDS.sleep(PROBE_INTERVAL_MS);
+        }
+        await(backlog, burstTimeout(concurrency));
+
+        boolean recovered = goodInRow >= RECOVERED_PROBES;
+        return new Recovery(recovered, recovered ? Duration.ofNanos(firstGoodAt - clearedAt) : recoveryTimeout);
+    }
+
+    private record Recovery(boolean recovered, Duration time) {
+    }
+
+    /** Мок целевого пути отвечает с задержкой (held) или сразу; второй путь — всегда сразу */
+    private void holdDownstream(boolean held) {
+        DownstreamProfile profile = held ? DownstreamProfile.fixed(delayMillis) : DownstreamProfile.NONE;
+        ApiSteps.stubAuth(mock, 200, target == Target.LOGIN ? profile : DownstreamProfile.NONE);
+        ApiSteps.stubDoAction(mock, 200, target == Target.ACTION ? profile : DownstreamProfile.NONE);
+    }
+
+    /** Токены для count запросов: для ACTION — уже залогиненные */
+    private List<String> tokens(int count) throws InterruptedException {
+        List<String> tokens = List.of(TokenGenerator.currentStream().fill(new String[count]));
+        if (target == Target.ACTION) {
+            List<CompletableFuture<?>> logins = new ArrayList<>(count);
+            for (String token : tokens) {
+                logins.add(EndpointClient.sendAsync(token, "LOGIN"));
+            }
+            await(logins, Duration.ofSeconds(30 + count / 10));
+        }
+        return tokens;
+    }
+
+    private CompletableFuture<?> send(String token, LoadMetrics metrics) {
+        long start = System.nanoTime();
+        return EndpointClient.sendAsync(token, target.name()).whenComplete((response, error) -> {
+            long latency = System.nanoTime() - start;
+            if (error != null) {
+                Throwable cause = error.getCause() != null ? error.getCause() : error;
+                metrics.recordError(target.name(), -1, cause.getClass().getSimpleName());
+            } else if (response.statusCode() != 200) {
+                metrics.recordError(target.name(), latency, String.valueOf(response.statusCode()));
+            } else {
+                metrics.recordSuccess(target.name(), latency);
+            }
+        });
+    }
+
+    /** Худший случай: все запросы пачки проходят мок по одному */
+    private Duration burstTimeout(int concurrency) {
+        return Duration.ofMillis((long) delayMillis * (concurrency + 2)).plusSeconds(30);
+    }
+
+    private static void await(List<CompletableFuture<?>> requests, Duration timeout) throws InterruptedException {
+        try {
+            CompletableFuture.allOf(requests.toArray(CompletableFuture[]::new))
+                    .get(timeout.toMillis(), TimeUnit.MILLISECONDS);
+        } catch (ExecutionException e) {
+            // Ошибки отдельных запросов уже учтены в метриках
+        } catch (TimeoutException e) {
+            requests.forEach(request -> request.cancel(true));
+        }
+    }
+}
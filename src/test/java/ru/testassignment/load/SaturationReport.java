@@ -0,0 +1,62 @@
+package ru.testassignment.load;
+
+import io.qameta.allure.Allure;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Итог {@link SaturationProbe}: уровни одновременности, найденный предел и время восстановления.
+ *
+ * @param target      запрос приложения и путь мока
+ * @param delayMillis задержка мока на уровнях
+ * @param baseline    задержка при быстром моке
+ * @param levels      пачки по возрастанию одновременности
+ * @param limit       одновременных запросов к моку на первой насыщенной пачке; -1 — предел не достигнут
+ * @param recovered   вернулась ли задержка к исходной за отведённое время
+ * @param recovery    время восстановления (или таймаут, если не восстановилась)
+ */
+public record SaturationReport(SaturationProbe.Target target, int delayMillis, LoadReport.ActionStats baseline,
+                               List<Level> levels, int limit, boolean recovered, Duration recovery) {
+
+    /**
+     * Одна пачка запросов.
+     *
+     * @param concurrency    одновременных запросов к приложению
+     * @param peakDownstream максимум одновременных запросов, дошедших до мока
+     * @param stats          задержки ответов приложения
+     * @param saturated      p99 вышел за допуск или были ошибки — запросы ждут в очереди
+     */
+    public record Level(int concurrency, int peakDownstream, LoadReport.ActionStats stats, boolean saturated) {
+    }
+
+    public void attachToAllure() {
+        Allure.addAttachment("Насыщение пула: " + target + " → " + target.downstreamPath(),
+                "text/plain", toString(), ".txt");
+    }
+
+    @Override
+    public String toString() {
+        List<String> lines = new ArrayList<>();
+        lines.add(String.format("%s → %s, задержка мока %d мс, базовая задержка p99 %.1f мс",
+                target, target.downstreamPath(), delayMillis, baseline.p99()));
+        lines.add("");
+        lines.add(String.format("%12s %12s %9s %9s %9s %7s %7s  %s",
+                "Параллельно", "У мока", "p50, мс", "p99, мс", "max, мс", "×мок", "Ошибок", ""));
+        for (Level level : levels) {
+            LoadReport.ActionStats s = level.stats();
+            lines.add(String.format("%12d %12d %9.1f %9.1f %9.1f %7.2f %7d  %s",
+                    level.concurrency(), level.peakDownstream(), s.p50(), s.p99(), s.max(),
+                    s.p99() / delayMillis, s.errors(), level.saturated() ? "очередь" : ""));
+        }
+        lines.add("");
+        lines.add(limit > 0
+                ? "Предел одновременных запросов к внешнему сервису: " + limit
+                : "Предел не достигнут до " + levels.get(levels.size() - 1).concurrency() + " одновременных запросов");
+        lines.add(recovered
+                ? String.format("Восстановление после снятия задержки: %.2f с", recovery.toMillis() / 1000.0)
+                : String.format("Не восстановилось за %.0f с", recovery.toMillis() / 1000.0));
+        return String.join(System.lineSeparator(), lines);
+    }
+}
@@ -0,0 +1,16 @@
+package ru.testassignment.load;
+
+/**
+ * Сценарии виртуального пользователя.
+ */
+public enum Scenario {
+
+    /** LOGIN → N × ACTION → LOGOUT */
+    FULL_SESSION,
+
+    /** LOGIN → N × ACTION, без LOGOUT — токен остаётся в хранилище приложения */
+    ABANDONED_SESSION,
+
+    /** ACTION с невалидным токеном — приложение отклоняет его валидацией (400) */
+    INVALID_TOKEN
+}
@@ -0,0 +1,140 @@
+package ru.testassignment.load;
+
+import ru.testassignment.helper.TokenGenerator;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Рой сессий: каждый пользователь — отдельный (виртуальный) поток со своим жизненным циклом
+ * LOGIN → N × ACTION → LOGOUT → контрольный ACTION.
+ *
+ * Контрольный ACTION после LOGOUT обязан вернуть 403. Успех означает утечку между сессиями:
+ * токен остался действующим, хотя пользователь вышел.
+ *
+ * Живых сессий может быть сколько угодно, а вот одновременных HTTP-запросов — не больше
+ * maxInFlight: иначе клиент упрётся в лимит сокетов раньше, чем приложение в нагрузку.
+ */
+public final class SessionSwarm {
+
+    // Образцы токенов с утечкой — в отчёт, не больше этого числа
+    private static final int LEAK_SAMPLES = 20;
+
+    private final int sessions;
+    private final int actionsPerSession;
+    private final int maxInFlight;
+    private final RequestSender sender;
+    private final LoadMetrics metrics = new LoadMetrics();
+    private final Semaphore inFlight;
+    private final LongAdder leaks = new LongAdder();
+    private final Queue<String> leakSamples = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger liveSessions = new AtomicInteger();
+    private final AtomicInteger peakLiveSessions = new AtomicInteger();
+
+    public SessionSwarm(int sessions, int actionsPerSession, int maxInFlight, RequestSender sender) {
+        this.sessions = sessions;
+        this.actionsPerSession = actionsPerSession;
+        this.maxInFlight = maxInFlight;
+        this.sender = sender;
+        this.inFlight = new Semaphore(maxInFlight);
+    }
+
+    /** Рой из системных свойств: -Dswarm.sessions, -Dswarm.actions, -Dswarm.inflight */
+    public static SessionSwarm fromSystemProperties(RequestSender sender) {
+        return new SessionSwarm(
+                Integer.getInteger("swarm.sessions", 10_000),
+                Integer.getInteger("swarm.actions", 2),
+                Integer.getInteger("swarm.inflight", 512),
+                sender);
+    }
+
+    /** Запускает все сессии разом и ждёт их завершения */
+    public SwarmReport run(Duration timeout) throws InterruptedException {
+        CountDownLatch startGate = new CountDownLatch(1);
+        CountDownLatch finished = new CountDownLatch(sessions);
+        // На 17-й Java одновременно живёт не больше maxInFlight сессий — по потоку на каждую
+        ExecutorService executor = VirtualThreads.perTaskExecutor("swarm", maxInFlight);
+        try {
+            for (int i = 0; i < sessions; i++) {
+                executor.execute(() -> {
+                    try {
+                        startGate.await();
+                        lifecycle(TokenGenerator.validToken());
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    } finally {
+                        finished.countDown();
+                    }
+                });
+            }
+
+            long startNanos = System.nanoTime();
+            startGate.countDown();
+            boolean completed = finished.await(timeout.toMillis(), TimeUnit.MILLISECONDS);
+            Duration elapsed = Duration.ofNanos(System.nanoTime() - startNanos);
+
+            String mode = VirtualThreads.available() ? "виртуальные потоки" : "платформенные потоки";
+            LoadReport report = metrics.report("Рой сессий: " + sessions + " сессий, " + mode
+                    + ", до " + maxInFlight + " запросов одновременно", elapsed);
+            return new SwarmReport(report, sessions, sessions - (int) finished.getCount(), completed,
+                    peakLiveSessions.get(), leaks.sum(), List.copyOf(leakSamples));
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private void lifecycle(String token) throws InterruptedException {
+        if (call("LOGIN", token, "LOGIN", 200) != 200) {
+            return;
+        }
+        peakLiveSessions.accumulateAndGet(liveSessions.incrementAndGet(), Math::max);
+        try {
+            for (int i = 0; i < actionsPerSession; i++) {
+                call("ACTION", token, "ACTION", 200);
+            }
+            if (call("LOGOUT", token, "LOGOUT", 200) != 200) {
+                return;
+            }
+        } finally {
+            liveSessions.decrementAndGet();
+        }
+
+        // Контроль: токен вышедшего пользователя не должен работать
+        if (call("ACTION_AFTER_LOGOUT", token, "ACTION", 403) == 200) {
+            leaks.increment();
+            if (leakSamples.size() < LEAK_SAMPLES) {
+                leakSamples.offer(token);
+            }
+        }
+    }
+
+    /** Один запрос с учётом задержки; возвращает статус ответа или -1 при сетевой ошибке */
+    private int call(String label, String token, String action, int expectedStatus)
+            throws InterruptedException {
+        inFlight.acquire();
+        long start = System.nanoTime();
+        try {
+            int status = sender.send(token, action);
+            long latency = System.nanoTime() - start;
+            if (status == expectedStatus) {
+                metrics.recordSuccess(label, latency);
+            } else {
+                metrics.recordError(label, latency, String.valueOf(status));
+            }
+            return status;
+        } catch (RuntimeException e) {
+            metrics.recordError(label, -1, e.getClass().getSimpleName());
+            return -1;
+        } finally {
+            inFlight.release();
+        }
+    }
+}
@@ -0,0 +1,136 @@
+package ru.testassignment.load;
+
+import ru.testassignment.base.AppManager;
+import ru.testassignment.client.EndpointResponse;
+import ru.testassignment.client.HttpClientTransport;
+import ru.testassignment.helper.TokenGenerator;
+import ru.testassignment.helper.TokenStream;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Эксперимент: зависит ли задержка ACTION от числа живых сессий в хранилище приложения.
+ *
+ * Хранилище наполняется ступенями до каждого размера из списка ({@link BulkSessions}, асинхронно).
+ * На каждом размере один клиент по очереди отправляет ACTION с токенами живых сессий (ответ 200)
+ * и с токенами, которые никогда не логинились (ответ 403 — только поиск в хранилище, без вызова
+ * внешнего сервиса). Токены живых сессий берутся равномерно по всему хранилищу, а не первые —
+ * иначе поиск шёл бы по горячим записям в кэше процессора.
+ *
+ * После эксперимента приложение перезапускается: миллионы сессий в нём не нужны остальным тестам.
+ */
+public final class StoreSizeLatency {
+
+    public static final String ACTION = "ACTION";
+    public static final String REJECTED = "ACTION без сессии";
+
+    // Номера потоков токенов эксперимента — вдали от SessionMemoryProbe (с 1 000 000)
+    private static final AtomicLong NEXT_STREAM = new AtomicLong(2_000_000);
+    private static final int OK = 200;
+    private static final int FORBIDDEN = 403;
+
+    private final AppManager app;
+    private final BulkSessions bulk;
+    private final HttpClientTransport transport;
+    private final long[] sizes;
+    private final int samples;
+
+    public StoreSizeLatency(AppManager app, BulkSessions bulk, HttpClientTransport transport,
+                            long[] sizes, int samples) {
+        this.app = app;
+        this.bulk = bulk;
+        this.transport = transport;
+        this.sizes = Arrays.stream(sizes).sorted().toArray();
+        this.samples = samples;
+    }
+
+    /**
+     * Параметры из системных свойств: -Dstore.sizes (1000,10000,100000 — размеры хранилища
+     * через запятую), -Dstore.samples (2000 запросов каждого вида на размер)
+     */
+    public static StoreSizeLatency fromSystemProperties(AppManager app) {
+        long[] sizes = Arrays.stream(System.getProperty("store.sizes", "1000,10000,100000").split(","))
+                .map(String::trim)
+                .mapToLong(Long::parseLong)
+                .toArray();
+        return new StoreSizeLatency(app, BulkSessions.fromSystemProperties(), HttpClientTransport.shared(),
+                sizes, Integer.getInteger("store.samples", 2000));
+    }
+
+    public StoreSizeReport run() throws IOException, InterruptedException {
+        long storeStream = NEXT_STREAM.getAndIncrement();
+        TokenStream logins = TokenGenerator.stream(storeStream);
+        TokenStream strangers = TokenGenerator.stream(NEXT_STREAM.getAndIncrement());
+        List<StoreSizeReport.Level> levels = new ArrayList<>();
+        long live = 0;
+        try {
+            for (long size : sizes) {
+                long start = System.nanoTime();
+                Map<Integer, Long> statuses = bulk.send(logins, "LOGIN", size - logins.position());
+                Duration fill = Duration.ofNanos(System.nanoTime() - start);
+                live += statuses.getOrDefault(OK, 0L);
+
+                String[] members = spread(storeStream, logins.position(), samples);
+                String[] outsiders = strangers.fill(new String[samples]);
+                LoadMetrics metrics = new LoadMetrics();
+                // Прогрев тем же набором: на первом размере JIT ещё не скомпилировал пути ACTION,
+                // на следующих — сразу после наполнения идут сборки мусора
+                for (int i = 0; i < samples; i++) {
+                    transport.send(members[i], "ACTION");
+                    transport.send(outsiders[i], "ACTION");
+                }
+                // Вперемешку, чтобы дрейф (GC, фон) одинаково влиял на оба вида
+                for (int i = 0; i < samples; i++) {
+                    measure(metrics, ACTION, members[i], OK);
+                    measure(metrics, REJECTED, outsiders[i], FORBIDDEN);
+                }
+                LoadReport report = metrics.report("Хранилище: " + live + " сессий", fill);
+                levels.add(new StoreSizeReport.Level(size, live, statuses, fill,
+                        report.action(ACTION), report.action(REJECTED)));
+            }
+        } finally {
+            app.stop();
+            app.start();
+        }
+        return new StoreSizeReport(samples, levels);
+    }
+
+    /** count токенов, равномерно взятых из первых total токенов потока; если total меньше — по кругу */
+    private static String[] spread(long streamId, long total, int count) {
+        TokenStream replay = TokenGenerator.stream(streamId);
+        int distinct = (int) Math.min(total, count);
+        long stride = total / distinct;
+        String[] tokens = new String[count];
+        for (int i = 0; i < distinct; i++) {
+            while (replay.position() < i * stride) {
+                replay.next();
+            }
+            tokens[i] = replay.next();
+        }
+        for (int i = distinct; i < count; i++) {
+            tokens[i] = tokens[i % distinct];
+        }
+        return tokens;
+    }
+
+    private void measure(LoadMetrics metrics, String label, String token, int expected) {
+        long start = System.nanoTime();
+        try {
+            EndpointResponse response = transport.send(token, "ACTION");
+            long latency = System.nanoTime() - start;
+            if (response.statusCode() == expected) {
+                metrics.recordSuccess(label, latency);
+            } else {
+                metrics.recordError(label, latency, String.valueOf(response.statusCode()));
+            }
+        } catch (RuntimeException e) {
+            metrics.recordError(label, -1, e.getClass().getSimpleName());
+        }
+    }
+}
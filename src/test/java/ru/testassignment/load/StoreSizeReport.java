@@ -0,0 +1,89 @@
+package ru.testassignment.load;
+
+import io.qameta.allure.Allure;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * Итог {@link StoreSizeLatency}: кривая «размер хранилища → задержка ACTION».
+ *
+ * @param samplesPerLevel запросов каждого вида на размер
+ * @param levels          размеры по возрастанию
+ */
+public record StoreSizeReport(int samplesPerLevel, List<Level> levels) {
+
+    /**
+     * Один размер хранилища.
+     *
+     * @param targetSessions сколько сессий должно было быть
+     * @param liveSessions   сколько LOGIN ответили 200 к этому размеру
+     * @param fillStatuses   статусы LOGIN при наполнении до этого размера
+     * @param fill           время наполнения от предыдущего размера
+     * @param action         ACTION живой сессии
+     * @param rejected       ACTION без сессии (403)
+     */
+    public record Level(long targetSessions, long liveSessions, Map<Integer, Long> fillStatuses, Duration fill,
+                        LoadReport.ActionStats action, LoadReport.ActionStats rejected) {
+
+        /** LOGIN в секунду при наполнении */
+        public double fillRate() {
+            return fillStatuses.values().stream().mapToLong(Long::longValue).sum()
+                    / Math.max(fill.toNanos() / 1e9, 1e-9);
+        }
+    }
+
+    /** Во сколько раз медиана выросла от наименьшего размера к наибольшему */
+    public double p50Growth(Function<Level, LoadReport.ActionStats> kind) {
+        double first = kind.apply(levels.get(0)).p50();
+        double last = kind.apply(levels.get(levels.size() - 1)).p50();
+        return first <= 0 ? Double.NaN : last / first;
+    }
+
+    /** Кривая для графика: одна строка на размер */
+    public void writeCsv(Path file) throws IOException {
+        List<String> lines = new ArrayList<>();
+        lines.add("sessions,action_p50_ms,action_p90_ms,action_p99_ms,rejected_p50_ms,rejected_p90_ms,rejected_p99_ms");
+        for (Level level : levels) {
+            lines.add(String.format(Locale.ROOT, "%d,%.3f,%.3f,%.3f,%.3f,%.3f,%.3f", level.liveSessions(),
+                    level.action().p50(), level.action().p90(), level.action().p99(),
+                    level.rejected().p50(), level.rejected().p90(), level.rejected().p99()));
+        }
+        Files.createDirectories(file.toAbsolutePath().getParent());
+        Files.write(file, lines, StandardCharsets.UTF_8);
+    }
+
+    public void attachToAllure() {
+        Allure.addAttachment("Задержка ACTION от размера хранилища", "text/plain", toString(), ".txt");
+    }
+
+    @Override
+    public String toString() {
+        List<String> lines = new ArrayList<>();
+        lines.add("Задержка ACTION от числа живых сессий, " + samplesPerLevel + " запросов каждого вида на размер");
+        lines.add(String.format("Рост медианы от %d до %d сессий: ACTION ×%.2f, без сессии ×%.2f",
+                levels.get(0).liveSessions(), levels.get(levels.size() - 1).liveSessions(),
+                p50Growth(Level::action), p50Growth(Level::rejected)));
+        lines.add("");
+        lines.add(String.format("%12s %10s | %9s %9s %9s %7s | %9s %9s %9s %7s",
+                "Сессий", "LOGIN/с", "p50, мс", "p90, мс", "p99, мс", "Ошибок",
+                "p50, мс", "p90, мс", "p99, мс", "Ошибок"));
+        lines.add(String.format("%23s | %-38s | %-38s", "", "ACTION", "ACTION без сессии (403)"));
+        for (Level level : levels) {
+            LoadReport.ActionStats a = level.action();
+            LoadReport.ActionStats r = level.rejected();
+            lines.add(String.format("%12d %10.0f | %9.2f %9.2f %9.2f %7d | %9.2f %9.2f %9.2f %7d",
+                    level.liveSessions(), level.fillRate(), a.p50(), a.p90(), a.p99(), a.errors(),
+                    r.p50(), r.p90(), r.p99(), r.errors()));
+        }
+        return String.join(System.lineSeparator(), lines);
+    }
+}
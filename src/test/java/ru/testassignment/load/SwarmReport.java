@@ -0,0 +1,39 @@
+package ru.testassignment.load;
+
+import io.qameta.allure.Allure;
+
+import java.util.List;
+
+/**
+ * Итог роя сессий: задержки по шагам, пропускная способность и утечки между сессиями.
+ *
+ * @param requests          задержки и ошибки по типам запросов
+ * @param sessions          сколько сессий запускалось
+ * @param finishedSessions  сколько успело завершиться до таймаута
+ * @param completed         все ли сессии завершились до таймаута
+ * @param peakLiveSessions  максимум одновременно залогиненных токенов
+ * @param leaks             ACTION после LOGOUT вернул 200
+ * @param leakSamples       примеры токенов с утечкой
+ */
+public record SwarmReport(LoadReport requests, int sessions, int finishedSessions, boolean completed,
+                          int peakLiveSessions, long leaks, List<String> leakSamples) {
+
+    /** Завершённых сессий в секунду */
+    public double sessionsPerSecond() {
+        return finishedSessions / Math.max(requests.elapsed().toNanos() / 1e9, 1e-9);
+    }
+
+    public void attachToAllure() {
+        Allure.addAttachment("Рой сессий", "text/plain", toString(), ".txt");
+    }
+
+    @Override
+    public String toString() {
+        return requests + System.lineSeparator() + System.lineSeparator()
+                + String.format("Сессий: %d, завершено: %d%s, %.1f сессий/с, пик одновременных сессий: %d",
+                sessions, finishedSessions, completed ? "" : " (таймаут!)", sessionsPerSecond(), peakLiveSessions)
+                + System.lineSeparator()
+                + "Утечек (ACTION после LOGOUT = 200): " + leaks
+                + (leakSamples.isEmpty() ? "" : ", например: " + leakSamples);
+    }
+}
@@ -0,0 +1,53 @@
+package ru.testassignment.load;
+
+import java.lang.reflect.Method;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Виртуальные потоки Java 21 без зависимости от версии компиляции.
+ *
+ * Проект собирается под Java 17, поэтому {@code Executors.newVirtualThreadPerTaskExecutor()}
+ * вызывается через reflection. На 17-й Java — пул платформенных потоков заданного размера.
+ */
+public final class VirtualThreads {
+
+    private static final Method VIRTUAL_EXECUTOR = findVirtualExecutorFactory();
+
+    private VirtualThreads() {
+    }
+
+    /** Доступны ли виртуальные потоки в текущей JVM */
+    public static boolean available() {
+        return VIRTUAL_EXECUTOR != null;
+    }
+
+    /**
+     * Поток на задачу: виртуальный, если JVM умеет, иначе — пул из platformThreads
+     * платформенных потоков (одновременно выполняется не больше platformThreads задач).
+     */
+    public static ExecutorService perTaskExecutor(String namePrefix, int platformThreads) {
+        if (VIRTUAL_EXECUTOR != null) {
+            try {
+                return (ExecutorService) VIRTUAL_EXECUTOR.invoke(null);
+            } catch (ReflectiveOperationException e) {
+                throw new IllegalStateException("Не удалось создать executor виртуальных потоков", e);
+            }
+        }
+        AtomicInteger threadNumber = new AtomicInteger();
+        return Executors.newFixedThreadPool(platformThreads, task -> {
+            Thread thread = new Thread(task, namePrefix + "-" + threadNumber.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    private static Method findVirtualExecutorFactory() {
+        try {
+            return Executors.class.getMethod("newVirtualThreadPerTaskExecutor");
+        } catch (NoSuchMethodException e) {
+            return null;
+        }
+    }
+}
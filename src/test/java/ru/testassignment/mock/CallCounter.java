@@ -0,0 +1,104 @@
+package ru.testassignment.mock;
+
+import com.github.tomakehurst.wiremock.extension.Parameters;
+import com.github.tomakehurst.wiremock.extension.ServeEventListener;
+import com.github.tomakehurst.wiremock.stubbing.ServeEvent;
+
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Счётчики запросов по пути и по паре (путь, токен).
+ *
+ * Замена журнала запросов для проверок: журнал хранит каждый запрос целиком и проверяется
+ * линейным перебором, а здесь — по счётчику на токен, без блокировок. Поэтому проверки
+ * работают и с отключённым или урезанным журналом (-Dmock.journal=off|N).
+ *
+ * Подключается к WireMock как расширение; {@link LightMockServer} вызывает {@link #record} сам.
+ * Считает до сопоставления со стабом — к моменту, когда приложение получит ответ мока,
+ * запрос уже учтён.
+ *
+ * Счётчик по токену — запись на каждый увиденный токен, и она не удаляется. Поэтому он включается
+ * только когда нужен проверкам ({@code TestConfig.MOCK_TOKEN_COUNTS}); в нагрузочных прогонах
+ * с уникальными токенами остаются только счётчики по путям.
+ */
+public final class CallCounter implements ServeEventListener {
+
+    public static final String NAME = "call-counter";
+
+    private static final String TOKEN_PARAM = "token=";
+
+    private final Map<String, LongAdder> byPath = new ConcurrentHashMap<>();
+    private final Map<PathToken, LongAdder> byToken = new ConcurrentHashMap<>();
+    private final boolean countTokens;
+
+    private record PathToken(String path, String token) {
+    }
+
+    /** countTokens — вести ли счётчики по токену (иначе только по путям) */
+    public CallCounter(boolean countTokens) {
+        this.countTokens = countTokens;
+    }
+
+    @Override
+    public void beforeMatch(ServeEvent serveEvent, Parameters parameters) {
+        record(serveEvent.getRequest().getUrl(), token(serveEvent.getRequest().getBodyAsString()));
+    }
+
+    /** Учесть запрос к path; token — null, если в запросе его нет */
+    public void record(String path, String token) {
+        counter(byPath, path).increment();
+        if (countTokens && token != null) {
+            counter(byToken, new PathToken(path, token)).increment();
+        }
+    }
+
+    /** Запросов к path за всё время */
+    public long count(String path) {
+        LongAdder counter = byPath.get(path);
+        return counter == null ? 0 : counter.sum();
+    }
+
+    /** Запросов к path с этим токеном; без счётчиков по токену — ошибка, а не ложный ноль */
+    public long count(String path, String token) {
+        if (!countTokens) {
+            throw new IllegalStateException("Счётчики запросов мока по токену отключены (-Dmock.tokenCounts=false): "
+                    + "проверить обращения к " + path + " с токеном нельзя");
+        }
+        LongAdder counter = byToken.get(new PathToken(path, token));
+        return counter == null ? 0 : counter.sum();
+    }
+
+    @Override
+    public String getName() {
+        return NAME;
+    }
+
+    /** Значение token из тела формы; без разбора всех параметров */
+    public static String token(String body) {
+        if (body == null) {
+            return null;
+        }
+        int start = 0;
+        if (!body.startsWith(TOKEN_PARAM)) {
+            int separator = body.indexOf("&" + TOKEN_PARAM);
+            if (separator < 0) {
+                return null;
+            }
+            start = separator + 1;
+        }
+        start += TOKEN_PARAM.length();
+        int end = body.indexOf('&', start);
+        String value = end < 0 ? body.substring(start) : body.substring(start, end);
+        return value.indexOf('%') < 0 && value.indexOf('+') < 0
+                ? value
+                : URLDecoder.decode(value, StandardCharsets.UTF_8);
+    }
+
+    private static <K> LongAdder counter(Map<K, LongAdder> counters, K key) {
+        return counters.computeIfAbsent(key, k -> new LongAdder());
+    }
+}
@@ -0,0 +1,55 @@
+package ru.testassignment.mock;
+
+import com.github.tomakehurst.wiremock.client.ResponseDefinitionBuilder;
+import com.github.tomakehurst.wiremock.extension.Parameters;
+import com.github.tomakehurst.wiremock.extension.ResponseDefinitionTransformerV2;
+import com.github.tomakehurst.wiremock.http.Fault;
+import com.github.tomakehurst.wiremock.http.ResponseDefinition;
+import com.github.tomakehurst.wiremock.stubbing.ServeEvent;
+
+/**
+ * Расширение WireMock: разыгрывает сбои для стабов с {@link DownstreamProfile#withErrors}
+ * и {@link DownstreamProfile#withResets}. На остальные стабы не влияет.
+ *
+ * Ответ 500 сохраняет задержку стаба, разрыв соединения происходит сразу.
+ */
+public final class DownstreamFaultTransformer implements ResponseDefinitionTransformerV2 {
+
+    public static final String NAME = "downstream-faults";
+    static final String ERROR_PERCENT = "errorPercent";
+    static final String RESET_PERCENT = "resetPercent";
+
+    @Override
+    public ResponseDefinition transform(ServeEvent serveEvent) {
+        ResponseDefinition response = serveEvent.getResponseDefinition();
+        Parameters parameters = serveEvent.getTransformerParameters();
+        DownstreamProfile.Outcome outcome = DownstreamProfile.rollOutcome(
+                percent(parameters, ERROR_PERCENT), percent(parameters, RESET_PERCENT));
+        if (outcome == DownstreamProfile.Outcome.RESET) {
+            return ResponseDefinitionBuilder.like(response)
+                    .withFault(Fault.CONNECTION_RESET_BY_PEER)
+                    .build();
+        }
+        if (outcome == DownstreamProfile.Outcome.ERROR) {
+            return ResponseDefinitionBuilder.like(response)
+                    .withStatus(500)
+                    .build();
+        }
+        return response;
+    }
+
+    @Override
+    public boolean applyGlobally() {
+        return false;
+    }
+
+    @Override
+    public String getName() {
+        return NAME;
+    }
+
+    private static double percent(Parameters parameters, String key) {
+        Object value = parameters == null ? null : parameters.get(key);
+        return value instanceof Number number ? number.doubleValue() : 0;
+    }
+}
@@ -0,0 +1,104 @@
+package ru.testassignment.mock;
+
+import com.github.tomakehurst.wiremock.extension.Parameters;
+import com.github.tomakehurst.wiremock.extension.ServeEventListener;
+import com.github.tomakehurst.wiremock.http.LoggedResponse;
+import com.github.tomakehurst.wiremock.stubbing.ServeEvent;
+import ru.testassignment.load.LoadMetrics;
+import ru.testassignment.load.LoadReport;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Задержка ответов мока по путям (/auth, /doAction) — от получения
+ * запроса до отправки последнего байта, с учётом задержек профиля.
+ *
+ * Это «задержка внешнего сервиса» глазами приложения: её сравнивают с задержкой
+ * ответа самого приложения. Ответы 5xx и разрывы соединения считаются ошибками.
+ *
+ * Подключается к WireMock как расширение; {@link LightMockServer} вызывает
+ * {@link #requestStarted}/{@link #requestCompleted} сам.
+ *
+ * Заодно считает запросы, которые приложение держит открытыми к моку прямо сейчас,
+ * и их максимум — по нему видно предел пула исходящих соединений приложения.
+ */
+public final class DownstreamLatency implements ServeEventListener {
+
+    public static final String NAME = "downstream-latency";
+
+    private final Map<UUID, Long> startedAt = new ConcurrentHashMap<>();
+    private final Map<String, AtomicInteger> inFlight = new ConcurrentHashMap<>();
+    private final Map<String, AtomicInteger> peakInFlight = new ConcurrentHashMap<>();
+    private volatile LoadMetrics metrics = new LoadMetrics();
+
+    @Override
+    public void beforeMatch(ServeEvent serveEvent, Parameters parameters) {
+        startedAt.put(serveEvent.getId(), requestStarted(serveEvent.getRequest().getUrl()));
+    }
+
+    @Override
+    public void afterComplete(ServeEvent serveEvent, Parameters parameters) {
+        Long start = startedAt.remove(serveEvent.getId());
+        if (start == null) {
+            return;
+        }
+        LoggedResponse response = serveEvent.getResponse();
+        requestCompleted(serveEvent.getRequest().getUrl(), start,
+                response == null ? 0 : response.getStatus(),
+                response == null || response.getFault() == null ? null : response.getFault().name());
+    }
+
+    /** Запрос к path получен; возвращает момент начала для {@link #requestCompleted} */
+    public long requestStarted(String path) {
+        int current = counter(inFlight, path).incrementAndGet();
+        counter(peakInFlight, path).accumulateAndGet(current, Math::max);
+        return System.nanoTime();
+    }
+
+    /** Ответ на запрос к path отправлен (fault — имя сбоя, если соединение разорвано) */
+    public void requestCompleted(String path, long startNanos, int status, String fault) {
+        long latency = System.nanoTime() - startNanos;
+        counter(inFlight, path).decrementAndGet();
+        if (fault != null) {
+            metrics.recordError(path, latency, fault);
+        } else if (status >= 500) {
+            metrics.recordError(path, latency, String.valueOf(status));
+        } else {
+            metrics.recordSuccess(path, latency);
+        }
+    }
+
+    /** Начать замер заново — перед очередным прогоном */
+    public void reset() {
+        metrics = new LoadMetrics();
+        peakInFlight.clear();
+    }
+
+    /** Сколько запросов к path мок обслуживает прямо сейчас */
+    public int inFlight(String path) {
+        return counter(inFlight, path).get();
+    }
+
+    /** Максимум одновременных запросов к path с последнего {@link #reset()} */
+    public int peakInFlight(String path) {
+        return counter(peakInFlight, path).get();
+    }
+
+    /** Задержки мока с последнего {@link #reset()} */
+    public LoadReport report(String title, Duration elapsed) {
+        return metrics.report(title, elapsed);
+    }
+
+    @Override
+    public String getName() {
+        return NAME;
+    }
+
+    private static AtomicInteger counter(Map<String, AtomicInteger> counters, String path) {
+        return counters.computeIfAbsent(path, k -> new AtomicInteger());
+    }
+}
@@ -0,0 +1,193 @@
+package ru.testassignment.mock;
+
+import com.github.tomakehurst.wiremock.client.ResponseDefinitionBuilder;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Поведение внешнего сервиса: задержка ответа и доля сбоев.
+ *
+ * Задержка — одна из: фиксированная, логнормальная, равномерная или «по капле»
+ * (ответ отдаётся кусками в течение заданного времени). Сбои — процент ответов 500
+ * и процент разорванных соединений. Профиль понимают оба мока: WireMock
+ * ({@link #applyTo}, сбои — {@link DownstreamFaultTransformer}) и {@link LightMockServer}.
+ *
+ * Профиль задаётся строкой (для -Dmock.profile), части соединяются через «+»:
+ * {@code none}, {@code fixed:200}, {@code lognormal:50:0.4}, {@code uniform:20:200},
+ * {@code dribble:5:500}, {@code errors:5}, {@code resets:1} — например,
+ * {@code lognormal:50:0.4+errors:5}.
+ */
+public final class DownstreamProfile {
+
+    /** Вид задержки; смысл параметров — в фабричных методах профиля */
+    enum Delay {
+        NONE, FIXED, LOG_NORMAL, UNIFORM, DRIBBLE
+    }
+
+    /** Чем закончится конкретный запрос */
+    public enum Outcome {
+        RESPOND, ERROR, RESET
+    }
+
+    public static final DownstreamProfile NONE = new DownstreamProfile(Delay.NONE, 0, 0, 0, 0);
+
+    private final Delay delay;
+    private final double first;
+    private final double second;
+    private final double errorPercent;
+    private final double resetPercent;
+
+    private DownstreamProfile(Delay delay, double first, double second, double errorPercent, double resetPercent) {
+        this.delay = delay;
+        this.first = first;
+        this.second = second;
+        this.errorPercent = errorPercent;
+        this.resetPercent = resetPercent;
+    }
+
+    /** Постоянная задержка */
+    public static DownstreamProfile fixed(int millis) {
+        return new DownstreamProfile(Delay.FIXED, millis, 0, 0, 0);
+    }
+
+    /** Логнормальная задержка: медиана и разброс (sigma 0.1 — узкий, 1 — длинный хвост) */
+    public static DownstreamProfile logNormal(double medianMillis, double sigma) {
+        return new DownstreamProfile(Delay.LOG_NORMAL, medianMillis, sigma, 0, 0);
+    }
+
+    /** Равномерная задержка в диапазоне [minMillis, maxMillis] */
+    public static DownstreamProfile uniform(int minMillis, int maxMillis) {
+        return new DownstreamProfile(Delay.UNIFORM, minMillis, maxMillis, 0, 0);
+    }
+
+    /** Ответ по капле: chunks кусков, растянутых на totalMillis */
+    public static DownstreamProfile dribble(int chunks, int totalMillis) {
+        return new DownstreamProfile(Delay.DRIBBLE, chunks, totalMillis, 0, 0);
+    }
+
+    /** Профиль из строки; формат — в описании класса */
+    public static DownstreamProfile parse(String spec) {
+        DownstreamProfile profile = NONE;
+        for (String part : spec.trim().split("\\+")) {
+            String[] args = part.trim().split(":");
+            profile = switch (args[0].toLowerCase()) {
+                case "none" -> profile;
+                case "fixed" -> profile.withDelayOf(fixed(intArg(args, 1, part)));
+                case "lognormal" -> profile.withDelayOf(logNormal(doubleArg(args, 1, part), doubleArg(args, 2, part)));
+                case "uniform" -> profile.withDelayOf(uniform(intArg(args, 1, part), intArg(args, 2, part)));
+                case "dribble" -> profile.withDelayOf(dribble(intArg(args, 1, part), intArg(args, 2, part)));
+                case "errors" -> profile.withErrors(doubleArg(args, 1, part));
+                case "resets" -> profile.withResets(doubleArg(args, 1, part));
+                default -> throw new IllegalArgumentException("Неизвестная часть профиля мока: " + part);
+            };
+        }
+        return profile;
+    }
+
+    /** Профиль из -Dmock.profile; без свойства — {@link #NONE} */
+    public static DownstreamProfile fromSystemProperty() {
+        String spec = System.getProperty("mock.profile");
+        return spec == null || spec.isBlank() ? NONE : parse(spec);
+    }
+
+    /** Тот же профиль, но percent% ответов — 500 */
+    public DownstreamProfile withErrors(double percent) {
+        return new DownstreamProfile(delay, first, second, percent, resetPercent);
+    }
+
+    /** Тот же профиль, но percent% соединений разрываются без ответа */
+    public DownstreamProfile withResets(double percent) {
+        return new DownstreamProfile(delay, first, second, errorPercent, percent);
+    }
+
+    /** Применить профиль к ответу стаба WireMock */
+    public ResponseDefinitionBuilder applyTo(ResponseDefinitionBuilder response) {
+        ResponseDefinitionBuilder result = switch (delay) {
+            case NONE -> response;
+            case FIXED -> response.withFixedDelay((int) first);
+            case LOG_NORMAL -> response.withLogNormalRandomDelay(first, second);
+            case UNIFORM -> response.withUniformRandomDelay((int) first, (int) second);
+            case DRIBBLE -> response.withChunkedDribbleDelay((int) first, (int) second);
+        };
+        if (errorPercent > 0 || resetPercent > 0) {
+            result = result.withTransformers(DownstreamFaultTransformer.NAME)
+                    .withTransformerParameter(DownstreamFaultTransformer.ERROR_PERCENT, errorPercent)
+                    .withTransformerParameter(DownstreamFaultTransformer.RESET_PERCENT, resetPercent);
+        }
+        return result;
+    }
+
+    /** Разыграть исход очередного запроса */
+    public Outcome rollOutcome() {
+        return rollOutcome(errorPercent, resetPercent);
+    }
+
+    static Outcome rollOutcome(double errorPercent, double resetPercent) {
+        if (errorPercent <= 0 && resetPercent <= 0) {
+            return Outcome.RESPOND;
+        }
+        double roll = ThreadLocalRandom.current().nextDouble(100);
+        if (roll < resetPercent) {
+            return Outcome.RESET;
+        }
+        return roll < resetPercent + errorPercent ? Outcome.ERROR : Outcome.RESPOND;
+    }
+
+    /** Задержка очередного ответа, мс; для «по капле» — общее время отдачи ответа */
+    public long sampleDelayMillis() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        return switch (delay) {
+            case NONE -> 0;
+            case FIXED -> (long) first;
+            case LOG_NORMAL -> Math.round(first * Math.exp(random.nextGaussian() * second));
+            case UNIFORM -> random.nextLong((long) first, (long) second + 1);
+            case DRIBBLE -> (long) second;
+        };
+    }
+
+    /** Сколькими кусками отдавать ответ: больше одного — только для «по капле» */
+    public int chunks() {
+        return delay == Delay.DRIBBLE ? Math.max((int) first, 1) : 1;
+    }
+
+    @Override
+    public String toString() {
+        List<String> parts = new ArrayList<>();
+        switch (delay) {
+            case NONE -> {
+            }
+            case FIXED -> parts.add("fixed:" + format(first));
+            case LOG_NORMAL -> parts.add("lognormal:" + format(first) + ":" + format(second));
+            case UNIFORM -> parts.add("uniform:" + format(first) + ":" + format(second));
+            case DRIBBLE -> parts.add("dribble:" + format(first) + ":" + format(second));
+        }
+        if (errorPercent > 0) {
+            parts.add("errors:" + format(errorPercent));
+        }
+        if (resetPercent > 0) {
+            parts.add("resets:" + format(resetPercent));
+        }
+        return parts.isEmpty() ? "none" : String.join("+", parts);
+    }
+
+    private DownstreamProfile withDelayOf(DownstreamProfile other) {
+        return new DownstreamProfile(other.delay, other.first, other.second, errorPercent, resetPercent);
+    }
+
+    private static String format(double value) {
+        return value == Math.rint(value) ? String.valueOf((long) value) : String.valueOf(value);
+    }
+
+    private static int intArg(String[] args, int index, String part) {
+        return (int) doubleArg(args, index, part);
+    }
+
+    private static double doubleArg(String[] args, int index, String part) {
+        if (args.length <= index) {
+            throw new IllegalArgumentException("Не хватает параметров в части профиля мока: " + part);
+        }
+        return Double.parseDouble(args[index]);
+    }
+}
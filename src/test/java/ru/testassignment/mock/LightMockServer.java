@@ -0,0 +1,194 @@
+package ru.testassignment.mock;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import ru.testassignment.config.TestConfig;
+import ru.testassignment.load.VirtualThreads;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Лёгкий внешний сервис на встроенном HTTP-сервере JDK — для нагрузочных прогонов.
+ *
+ * Умеет ровно то, что нужно приложению: ответить на путь статусом с пустым JSON,
+ * с задержкой и сбоями по {@link DownstreamProfile}, и посчитать запросы по токенам.
+ * Стаб ищется двумя обращениями к хеш-таблицам (токен, затем общий), журнала нет —
+ * поэтому мок не становится узким местом раньше приложения.
+ *
+ * Запросы обрабатываются в виртуальных потоках (Java 21+); на Java 17 — в пуле из
+ * threads платформенных потоков, и задержанные ответы занимают их, как у WireMock.
+ */
+public final class LightMockServer implements MockBackend {
+
+    private static final byte[] BODY = "{}".getBytes(StandardCharsets.UTF_8);
+    // Очередь входящих соединений: стандартных 50 мало при тысячах RPS
+    private static final int BACKLOG = 1024;
+
+    private record Stub(int statusCode, DownstreamProfile profile) {
+    }
+
+    /** Стабы одного пути: по токену и общий */
+    private static final class PathStubs {
+        private final Map<String, Stub> byToken = new ConcurrentHashMap<>();
+        private volatile Stub anyToken;
+    }
+
+    private final int port;
+    private final int threads;
+    private final Map<String, PathStubs> stubs = new ConcurrentHashMap<>();
+    private final DownstreamLatency downstreamLatency = new DownstreamLatency();
+    private final CallCounter callCounter = new CallCounter(TestConfig.MOCK_TOKEN_COUNTS);
+    private HttpServer server;
+    private ExecutorService executor;
+
+    /** port 0 — любой свободный */
+    public LightMockServer(int port, int threads) {
+        this.port = port;
+        this.threads = threads;
+    }
+
+    @Override
+    public synchronized void start() {
+        if (server != null) {
+            return;
+        }
+        try {
+            server = HttpServer.create(new InetSocketAddress(port), BACKLOG);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Не удалось запустить лёгкий мок на порту " + port, e);
+        }
+        executor = VirtualThreads.perTaskExecutor("light-mock", threads);
+        server.setExecutor(executor);
+        server.createContext("/", this::handle);
+        server.start();
+    }
+
+    @Override
+    public synchronized void stop() {
+        if (server == null) {
+            return;
+        }
+        server.stop(0);
+        executor.shutdownNow();
+        server = null;
+    }
+
+    @Override
+    public synchronized boolean isRunning() {
+        return server != null;
+    }
+
+    @Override
+    public synchronized int port() {
+        return server != null ? server.getAddress().getPort() : port;
+    }
+
+    @Override
+    public void stub(String path, String token, int statusCode, DownstreamProfile profile) {
+        pathStubs(path).byToken.put(token, new Stub(statusCode, profile));
+    }
+
+    @Override
+    public void stubAnyToken(String path, int statusCode, DownstreamProfile profile) {
+        pathStubs(path).anyToken = new Stub(statusCode, profile);
+    }
+
+    @Override
+    public long count(String path, String token) {
+        return callCounter.count(path, token);
+    }
+
+    @Override
+    public DownstreamLatency downstreamLatency() {
+        return downstreamLatency;
+    }
+
+    private PathStubs pathStubs(String path) {
+        return stubs.computeIfAbsent(path, k -> new PathStubs());
+    }
+
+    private void handle(HttpExchange exchange) throws IOException {
+        String path = exchange.getRequestURI().getPath();
+        byte[] body;
+        try (InputStream in = exchange.getRequestBody()) {
+            body = in.readAllBytes();
+        }
+        String token = CallCounter.token(new String(body, StandardCharsets.UTF_8));
+        long start = downstreamLatency.requestStarted(path);
+        callCounter.record(path, token);
+
+        int status = 0;
+        String fault = null;
+        try {
+            Stub stub = find(path, token);
+            if (stub == null) {
+                // Как у WireMock: на запрос без стаба — 404
+                status = 404;
+                respond(exchange, status, DownstreamProfile.NONE);
+                return;
+            }
+            switch (stub.profile().rollOutcome()) {
+                case RESET -> {
+                    // Без заголовков ответа HttpServer закрывает соединение — клиент не получает ничего
+                    fault = "CONNECTION_CLOSED";
+                    return;
+                }
+                case ERROR -> status = 500;
+                case RESPOND -> status = stub.statusCode();
+            }
+            respond(exchange, status, stub.profile());
+        } catch (IOException e) {
+            fault = e.getClass().getSimpleName();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            fault = "INTERRUPTED";
+        } finally {
+            exchange.close();
+            downstreamLatency.requestCompleted(path, start, status, fault);
+        }
+    }
+
+    private Stub find(String path, String token) {
+        PathStubs pathStubs = stubs.get(path);
+        if (pathStubs == null) {
+            return null;
+        }
+        Stub stub = token == null ? null : pathStubs.byToken.get(token);
+        return stub != null ? stub : pathStubs.anyToken;
+    }
+
+    private static void respond(HttpExchange exchange, int status, DownstreamProfile profile)
+            throws IOException, InterruptedException {
+        exchange.getResponseHeaders().set("Content-Type", "application/json");
+        long delayMillis = profile.sampleDelayMillis();
+        int chunks = profile.chunks();
+        if (chunks == 1) {
+            TimeUnit.MILLISECONDS.sleep(delayMillis);
+            exchange.sendResponseHeaders(status, BODY.length);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(BODY);
+            }
+            return;
+        }
+        // По капле: заголовки сразу, тело — кусками через равные паузы
+        exchange.sendResponseHeaders(status, 0);
+        try (OutputStream out = exchange.getResponseBody()) {
+            for (int i = 0; i < chunks; i++) {
+                TimeUnit.MILLISECONDS.sleep(delayMillis / chunks);
+                int from = i * BODY.length / chunks;
+                int to = (i + 1) * BODY.length / chunks;
+                out.write(BODY, from, to - from);
+                out.flush();
+            }
+        }
+    }
+}
@@ -0,0 +1,47 @@
+package ru.testassignment.mock;
+
+/**
+ * Внешний сервис (/auth, /doAction), к которому обращается приложение.
+ *
+ * Реализации — {@link WireMockBackend} (по умолчанию: полноценный матчинг и журнал запросов)
+ * и {@link LightMockServer} (только статус, задержка и счётчики — для нагрузочных прогонов,
+ * где WireMock стал бы узким местом раньше приложения). Выбор — -Dmock.server=wiremock|light.
+ */
+public interface MockBackend {
+
+    void start();
+
+    void stop();
+
+    boolean isRunning();
+
+    int port();
+
+    /** Стаб для запросов с этим токеном; важнее общего стаба того же пути */
+    void stub(String path, String token, int statusCode, DownstreamProfile profile);
+
+    /** Общий стаб пути для любого токена */
+    void stubAnyToken(String path, int statusCode, DownstreamProfile profile);
+
+    /** Сколько запросов к path с этим токеном получил мок */
+    long count(String path, String token);
+
+    /** Задержки ответов мока и запросы в обработке */
+    DownstreamLatency downstreamLatency();
+
+    /** Проверить, что запросов к path с токеном ровно count */
+    default void verifyCalled(String path, String token, int count) {
+        long actual = count(path, token);
+        if (actual != count) {
+            throw new AssertionError("Мок " + path + ": ожидалось запросов с токеном " + token
+                    + " — " + count + ", получено — " + actual);
+        }
+    }
+
+    /** Проверить, что был хотя бы один запрос к path с токеном */
+    default void verifyCalledWithToken(String path, String token) {
+        if (count(path, token) == 0) {
+            throw new AssertionError("Мок " + path + " не получил ни одного запроса с токеном " + token);
+        }
+    }
+}
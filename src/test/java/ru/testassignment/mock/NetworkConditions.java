@@ -0,0 +1,141 @@
+package ru.testassignment.mock;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Состояние сети между приложением и внешним сервисом — для {@link NetworkProxy}.
+ *
+ * В отличие от {@link DownstreamProfile} (мок отвечает медленно или с ошибкой уже после разбора запроса),
+ * условия действуют на уровне TCP и не зависят от содержимого:
+ * - connect — задержка установки соединения, мс: трафик нового соединения ждёт её целиком;
+ * - latency:мс:разброс — задержка каждого куска данных в обе стороны, равномерно в [мс − разброс, мс + разброс];
+ * - bandwidth:байт/с — пропускная способность каждого направления соединения;
+ * - stall:байт:мс — ответ зависает после стольких байт соединения на столько мс (0 — навсегда):
+ *   соединение остаётся открытым, но данные не идут — полуоткрытое соединение;
+ * - resets:процент — доля кусков запроса, на которых соединение обрывается RST.
+ *
+ * Строка (для -Dnet.conditions) — части через «+», например {@code latency:50:20+bandwidth:20000}.
+ */
+public record NetworkConditions(long connectMillis, long latencyMillis, long jitterMillis, long bytesPerSecond,
+                                long stallAfterBytes, long stallMillis, double resetPercent) {
+
+    /** Без искажений: прокси просто пересылает байты */
+    public static final NetworkConditions NONE = new NetworkConditions(0, 0, 0, 0, -1, 0, 0);
+
+    public NetworkConditions {
+        if (connectMillis < 0 || latencyMillis < 0 || jitterMillis < 0 || bytesPerSecond < 0 || stallMillis < 0
+                || resetPercent < 0 || resetPercent > 100) {
+            throw new IllegalArgumentException("Недопустимые условия сети: connect=" + connectMillis
+                    + ", latency=" + latencyMillis + ":" + jitterMillis + ", bandwidth=" + bytesPerSecond
+                    + ", stall=" + stallAfterBytes + ":" + stallMillis + ", resets=" + resetPercent);
+        }
+    }
+
+    /** Условия из строки; формат — в описании класса */
+    public static NetworkConditions parse(String spec) {
+        NetworkConditions conditions = NONE;
+        for (String part : spec.trim().split("\\+")) {
+            String[] args = part.trim().split(":");
+            conditions = switch (args[0]) {
+                case "none" -> conditions;
+                case "connect" -> conditions.withConnectDelay(longArg(args, 1, part));
+                case "latency" -> conditions.withLatency(longArg(args, 1, part),
+                        args.length > 2 ? longArg(args, 2, part) : 0);
+                case "bandwidth" -> conditions.withBandwidth(longArg(args, 1, part));
+                case "stall" -> conditions.withStall(longArg(args, 1, part), longArg(args, 2, part));
+                case "resets" -> conditions.withResets(Double.parseDouble(arg(args, 1, part)));
+                default -> throw new IllegalArgumentException("Неизвестная часть условий сети: " + part);
+            };
+        }
+        return conditions;
+    }
+
+    /** Условия из -Dnet.conditions; без свойства — {@link #NONE} */
+    public static NetworkConditions fromSystemProperty() {
+        String spec = System.getProperty("net.conditions");
+        return spec == null || spec.isBlank() ? NONE : parse(spec);
+    }
+
+    /** Те же условия, но соединение устанавливается millis мс */
+    public NetworkConditions withConnectDelay(long millis) {
+        return new NetworkConditions(millis, latencyMillis, jitterMillis, bytesPerSecond,
+                stallAfterBytes, stallMillis, resetPercent);
+    }
+
+    /** Те же условия, но каждый кусок данных задерживается на millis ± jitter мс */
+    public NetworkConditions withLatency(long millis, long jitter) {
+        return new NetworkConditions(connectMillis, millis, jitter, bytesPerSecond,
+                stallAfterBytes, stallMillis, resetPercent);
+    }
+
+    /** Те же условия, но не быстрее bytesPerSecond в каждую сторону (0 — без ограничения) */
+    public NetworkConditions withBandwidth(long bytesPerSecond) {
+        return new NetworkConditions(connectMillis, latencyMillis, jitterMillis, bytesPerSecond,
+                stallAfterBytes, stallMillis, resetPercent);
+    }
+
+    /** Те же условия, но ответ зависает после afterBytes байт на millis мс (0 — до закрытия соединения) */
+    public NetworkConditions withStall(long afterBytes, long millis) {
+        return new NetworkConditions(connectMillis, latencyMillis, jitterMillis, bytesPerSecond,
+                afterBytes, millis, resetPercent);
+    }
+
+    /** Те же условия, но percent% кусков запроса обрывают соединение */
+    public NetworkConditions withResets(double percent) {
+        return new NetworkConditions(connectMillis, latencyMillis, jitterMillis, bytesPerSecond,
+                stallAfterBytes, stallMillis, percent);
+    }
+
+    /** Задержка очередного куска данных, мс */
+    long sampleLatencyMillis() {
+        if (jitterMillis == 0) {
+            return latencyMillis;
+        }
+        long min = Math.max(latencyMillis - jitterMillis, 0);
+        return ThreadLocalRandom.current().nextLong(min, latencyMillis + jitterMillis + 1);
+    }
+
+    /** Оборвать ли соединение на очередном куске запроса */
+    boolean rollReset() {
+        return resetPercent > 0 && ThreadLocalRandom.current().nextDouble(100) < resetPercent;
+    }
+
+    boolean stalls() {
+        return stallAfterBytes >= 0;
+    }
+
+    @Override
+    public String toString() {
+        List<String> parts = new ArrayList<>();
+        if (connectMillis > 0) {
+            parts.add("connect:" + connectMillis);
+        }
+        if (latencyMillis > 0 || jitterMillis > 0) {
+            parts.add("latency:" + latencyMillis + ":" + jitterMillis);
+        }
+        if (bytesPerSecond > 0) {
+            parts.add("bandwidth:" + bytesPerSecond);
+        }
+        if (stalls()) {
+            parts.add("stall:" + stallAfterBytes + ":" + stallMillis);
+        }
+        if (resetPercent > 0) {
+            parts.add("resets:" + (resetPercent == Math.rint(resetPercent)
+                    ? String.valueOf((long) resetPercent) : String.valueOf(resetPercent)));
+        }
+        return parts.isEmpty() ? "none" : String.join("+", parts);
+    }
+
+    private static long longArg(String[] args, int index, String part) {
+        return Long.parseLong(arg(args, index, part));
+    }
+
+    private static String arg(String[] args, int index, String part) {
+        if (args.length <= index) {
+            throw new IllegalArgumentException("Не хватает параметров в части условий сети: " + part);
+        }
+        return args[index];
+    }
+}
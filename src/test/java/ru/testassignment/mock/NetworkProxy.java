@@ -0,0 +1,454 @@
+package ru.testassignment.mock;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.StandardSocketOptions;
+import java.nio.ByteBuffer;
+import java.nio.channels.CancelledKeyException;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.PriorityQueue;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * TCP-прокси между приложением и моком внешнего сервиса, искажающий сеть по {@link NetworkConditions}.
+ *
+ * Приложение ходит во внешний сервис через прокси (-Dmock указывает на его порт), а прокси пересылает байты
+ * моку — с задержкой установки соединения, задержкой и разбросом каждого куска, ограничением пропускной
+ * способности, зависанием ответа и обрывами RST. Содержимое не разбирается: искажения одинаковы
+ * для любого протокола поверх TCP и срабатывают до того, как мок увидит запрос.
+ *
+ * Один поток с селектором NIO обслуживает все соединения; отложенные куски ждут в очереди таймеров.
+ * Ядро завершает рукопожатие TCP само, поэтому задержка установки соединения эмулируется так:
+ * соединение с моком открывается только через connect мс, а до этого запрос приложения не читается.
+ *
+ * Условия действуют на новые соединения: {@link #setConditions} закрывает открытые, чтобы пул
+ * keep-alive приложения переподключился уже по новым правилам.
+ */
+public final class NetworkProxy {
+
+    private static final int CHUNK_BYTES = 16 * 1024;
+    // Ограничение скорости: кусок ≈ 1/50 секунды трафика — поток идёт ровно, а не рывками раз в секунду
+    private static final int PACING_SLICES = 50;
+    // Сколько байт одного направления может ждать отправки, прежде чем прокси перестанет читать источник
+    private static final int MAX_QUEUED_BYTES = 256 * 1024;
+
+    private final int port;
+    private final InetSocketAddress upstream;
+    private final NetworkConditions baseline;
+    private final Queue<Runnable> commands = new ConcurrentLinkedQueue<>();
+    // Ниже — только поток селектора
+    private final PriorityQueue<Timer> timers = new PriorityQueue<>(Comparator.comparingLong(Timer::due));
+    private final Set<Link> links = new HashSet<>();
+    private final LongAdder connections = new LongAdder();
+    private final LongAdder resets = new LongAdder();
+    private volatile NetworkConditions conditions;
+    private volatile boolean running;
+    private Selector selector;
+    private ServerSocketChannel server;
+    private Thread loop;
+
+    /** Прокси на port к моку на upstreamPort; baseline — условия по умолчанию (см. {@link #reset}) */
+    public NetworkProxy(int port, int upstreamPort, NetworkConditions baseline) {
+        this.port = port;
+        this.upstream = new InetSocketAddress("localhost", upstreamPort);
+        this.baseline = baseline;
+        this.conditions = baseline;
+    }
+
+    public synchronized void start() throws IOException {
+        if (running) {
+            return;
+        }
+        selector = Selector.open();
+        server = ServerSocketChannel.open();
+        server.setOption(StandardSocketOptions.SO_REUSEADDR, true);
+        server.bind(new InetSocketAddress(port), 1024);
+        server.configureBlocking(false);
+        server.register(selector, SelectionKey.OP_ACCEPT);
+        running = true;
+        loop = new Thread(this::loop, "network-proxy-" + port);
+        loop.setDaemon(true);
+        loop.start();
+    }
+
+    public synchronized void stop() throws InterruptedException {
+        if (!running) {
+            return;
+        }
+        running = false;
+        selector.wakeup();
+        loop.join(TimeUnit.SECONDS.toMillis(5));
+    }
+
+    public boolean isRunning() {
+        return running;
+    }
+
+    public int port() {
+        return port;
+    }
+
+    /** URL для -Dmock приложения */
+    public String url() {
+        return "http://localhost:" + port + "/";
+    }
+
+    public NetworkConditions conditions() {
+        return conditions;
+    }
+
+    /** Новые условия; открытые соединения закрываются — к моменту возврата их уже нет */
+    public void setConditions(NetworkConditions conditions) {
+        this.conditions = conditions;
+        if (!running) {
+            return;
+        }
+        CompletableFuture<Void> closed = new CompletableFuture<>();
+        commands.add(() -> {
+            closeAll();
+            closed.complete(null);
+        });
+        selector.wakeup();
+        closed.orTimeout(5, TimeUnit.SECONDS).join();
+    }
+
+    /** Вернуть условия по умолчанию (-Dnet.conditions или без искажений) */
+    public void reset() {
+        setConditions(baseline);
+    }
+
+    /** Сколько соединений приложения принято за всё время */
+    public long connections() {
+        return connections.sum();
+    }
+
+    /** Сколько соединений оборвано RST по условиям */
+    public long resets() {
+        return resets.sum();
+    }
+
+    private void loop() {
+        try {
+            while (running) {
+                Runnable command;
+                while ((command = commands.poll()) != null) {
+                    command.run();
+                }
+                selector.select(runDueTimers());
+                Iterator<SelectionKey> keys = selector.selectedKeys().iterator();
+                while (keys.hasNext()) {
+                    SelectionKey key = keys.next();
+                    keys.remove();
+                    if (!key.isValid()) {
+                        continue;
+                    }
+                    if (key.isAcceptable()) {
+                        accept();
+                    } else {
+                        Link link = (Link) key.attachment();
+                        link.run(() -> link.handle(key));
+                    }
+                }
+            }
+        } catch (IOException e) {
+            System.err.println("Прокси сети на порту " + port + " остановлен: " + e);
+        } finally {
+            closeAll();
+            closeQuietly(server);
+            closeQuietly(selector);
+            running = false;
+        }
+    }
+
+    /** Выполнить наступившие таймеры; вернуть, сколько мс ждать следующего (0 — таймеров нет) */
+    private long runDueTimers() {
+        long now = System.nanoTime();
+        while (!timers.isEmpty() && timers.peek().due() <= now) {
+            timers.poll().action().run();
+        }
+        if (timers.isEmpty()) {
+            return 0;
+        }
+        return Math.max(1, TimeUnit.NANOSECONDS.toMillis(timers.peek().due() - now + 999_999));
+    }
+
+    private void schedule(long dueNanos, Runnable action) {
+        timers.add(new Timer(dueNanos, action));
+    }
+
+    private void accept() throws IOException {
+        SocketChannel channel = server.accept();
+        if (channel == null) {
+            return;
+        }
+        connections.increment();
+        Link link;
+        try {
+            link = new Link(channel, conditions);
+        } catch (IOException e) {
+            closeQuietly(channel);
+            return;
+        }
+        links.add(link);
+        long delay = link.conditions.connectMillis();
+        if (delay == 0) {
+            link.run(link::connect);
+        } else {
+            schedule(System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(delay), () -> link.run(link::connect));
+        }
+    }
+
+    private void closeAll() {
+        for (Link link : new ArrayList<>(links)) {
+            link.close();
+        }
+    }
+
+    private static void closeQuietly(AutoCloseable closeable) {
+        try {
+            if (closeable != null) {
+                closeable.close();
+            }
+        } catch (Exception ignored) {
+            // Закрываем на выходе — ошибка уже ничего не меняет
+        }
+    }
+
+    private interface IoAction {
+        void run() throws IOException;
+    }
+
+    private record Timer(long due, Runnable action) {
+    }
+
+    private record Chunk(long due, ByteBuffer data) {
+    }
+
+    /** Пара соединений: приложение ↔ прокси и прокси ↔ мок */
+    private final class Link {
+
+        final NetworkConditions conditions;
+        final SocketChannel app;
+        final SocketChannel service;
+        final SelectionKey appKey;
+        final SelectionKey serviceKey;
+        final Flow request;
+        final Flow response;
+        boolean connecting;
+        boolean connected;
+        boolean closed;
+
+        Link(SocketChannel app, NetworkConditions conditions) throws IOException {
+            this.conditions = conditions;
+            this.app = app;
+            app.configureBlocking(false);
+            app.setOption(StandardSocketOptions.TCP_NODELAY, true);
+            service = SocketChannel.open();
+            service.configureBlocking(false);
+            service.setOption(StandardSocketOptions.TCP_NODELAY, true);
+            appKey = app.register(selector, 0, this);
+            serviceKey = service.register(selector, 0, this);
+            request = new Flow(this, app, service, false);
+            response = new Flow(this, service, app, true);
+        }
+
+        void connect() throws IOException {
+            connecting = true;
+            connected = service.connect(upstream);
+        }
+
+        void handle(SelectionKey key) throws IOException {
+            if (key.isConnectable()) {
+                connected = service.finishConnect();
+            }
+            if (key.isValid() && key.isReadable()) {
+                (key == appKey ? request : response).read();
+            }
+            if (key.isValid() && key.isWritable()) {
+                (key == appKey ? response : request).flush();
+            }
+        }
+
+        /** Действие над соединением: ошибка ввода-вывода закрывает пару, после — пересчёт интересов селектора */
+        void run(IoAction action) {
+            if (closed) {
+                return;
+            }
+            try {
+                action.run();
+                if (request.eof && response.eof) {
+                    // Обе стороны закончили: недоставленный остаток (например, зависший ответ) уже никому не нужен
+                    close();
+                }
+                if (!closed) {
+                    appKey.interestOps((request.wantsRead() ? SelectionKey.OP_READ : 0)
+                            | (response.blocked ? SelectionKey.OP_WRITE : 0));
+                    serviceKey.interestOps(!connected
+                            ? (connecting ? SelectionKey.OP_CONNECT : 0)
+                            : (response.wantsRead() ? SelectionKey.OP_READ : 0)
+                                    | (request.blocked ? SelectionKey.OP_WRITE : 0));
+                }
+            } catch (IOException | CancelledKeyException e) {
+                close();
+            }
+        }
+
+        /** Оборвать соединение приложения RST: SO_LINGER 0 — закрытие без FIN */
+        void reset() {
+            resets.increment();
+            try {
+                app.setOption(StandardSocketOptions.SO_LINGER, 0);
+            } catch (IOException ignored) {
+                // Соединение уже закрыто — приложение получит ошибку и так
+            }
+            close();
+        }
+
+        void close() {
+            if (closed) {
+                return;
+            }
+            closed = true;
+            links.remove(this);
+            closeQuietly(app);
+            closeQuietly(service);
+        }
+    }
+
+    /** Одно направление пары: куски из from ждут своего времени и уходят в to */
+    private final class Flow {
+
+        final Link link;
+        final SocketChannel from;
+        final SocketChannel to;
+        final boolean response;
+        final ArrayDeque<Chunk> queue = new ArrayDeque<>();
+        long queuedBytes;
+        long lastDue;
+        long lineFreeAt;
+        // Для ответа: байт с последнего куска запроса и конец зависания (-1 — в этом ответе ещё не было)
+        long sinceRequest;
+        long stallUntil = -1;
+        boolean eof;
+        boolean blocked;
+
+        Flow(Link link, SocketChannel from, SocketChannel to, boolean response) {
+            this.link = link;
+            this.from = from;
+            this.to = to;
+            this.response = response;
+        }
+
+        boolean wantsRead() {
+            return link.connected && !eof && queuedBytes < MAX_QUEUED_BYTES;
+        }
+
+        void read() throws IOException {
+            NetworkConditions c = link.conditions;
+            int size = c.bytesPerSecond() > 0
+                    ? (int) Math.max(1, Math.min(CHUNK_BYTES, c.bytesPerSecond() / PACING_SLICES))
+                    : CHUNK_BYTES;
+            ByteBuffer buffer = ByteBuffer.allocate(size);
+            int n = from.read(buffer);
+            if (n < 0) {
+                eof = true;
+                flush();
+                return;
+            }
+            if (n == 0) {
+                return;
+            }
+            if (!response && c.rollReset()) {
+                link.reset();
+                return;
+            }
+            buffer.flip();
+            long now = System.nanoTime();
+            long sent = now;
+            if (c.bytesPerSecond() > 0) {
+                // Линия занята предыдущими кусками; этот уходит за n / bandwidth секунд после них
+                lineFreeAt = Math.max(lineFreeAt, now) + n * TimeUnit.SECONDS.toNanos(1) / c.bytesPerSecond();
+                sent = lineFreeAt;
+            }
+            // Разброс не должен переставлять куски местами — TCP доставляет по порядку
+            long due = Math.max(sent + TimeUnit.MILLISECONDS.toNanos(c.sampleLatencyMillis()), lastDue);
+            lastDue = due;
+            queue.add(new Chunk(due, buffer));
+            queuedBytes += n;
+            if (due <= now) {
+                flush();
+            } else {
+                schedule(due, () -> link.run(this::flush));
+            }
+        }
+
+        void flush() throws IOException {
+            blocked = false;
+            long now = System.nanoTime();
+            while (!queue.isEmpty() && queue.peek().due() <= now && !stalled(now)) {
+                ByteBuffer data = queue.peek().data();
+                int limit = data.remaining();
+                if (stallPending()) {
+                    long allowed = link.conditions.stallAfterBytes() - sinceRequest;
+                    if (allowed <= 0) {
+                        startStall(now);
+                        break;
+                    }
+                    limit = (int) Math.min(limit, allowed);
+                }
+                ByteBuffer slice = data.duplicate();
+                slice.limit(slice.position() + limit);
+                int written = to.write(slice);
+                data.position(data.position() + written);
+                queuedBytes -= written;
+                sinceRequest += written;
+                if (!response && written > 0) {
+                    // Запрос ушёл — следующий ответ может зависнуть заново
+                    link.response.sinceRequest = 0;
+                    link.response.stallUntil = -1;
+                }
+                if (written < limit) {
+                    blocked = true;
+                    return;
+                }
+                if (!data.hasRemaining()) {
+                    queue.poll();
+                }
+            }
+            if (queue.isEmpty() && eof) {
+                to.shutdownOutput();
+            }
+        }
+
+        private boolean stallPending() {
+            return response && link.conditions.stalls() && stallUntil < 0;
+        }
+
+        private boolean stalled(long now) {
+            return stallUntil > now;
+        }
+
+        private void startStall(long now) {
+            long millis = link.conditions.stallMillis();
+            if (millis == 0) {
+                stallUntil = Long.MAX_VALUE;
+                return;
+            }
+            stallUntil = now + TimeUnit.MILLISECONDS.toNanos(millis);
+            schedule(stallUntil, () -> link.run(this::flush));
+        }
+    }
+}
@@ -0,0 +1,112 @@
+package ru.testassignment.mock;
+
+import com.github.tomakehurst.wiremock.WireMockServer;
+import com.github.tomakehurst.wiremock.client.ResponseDefinitionBuilder;
+import com.github.tomakehurst.wiremock.client.WireMock;
+import com.github.tomakehurst.wiremock.core.WireMockConfiguration;
+import ru.testassignment.config.TestConfig;
+
+import static com.github.tomakehurst.wiremock.client.WireMock.*;
+
+/**
+ * Внешний сервис на WireMock. Подключает расширения: сбои по профилю
+ * ({@link DownstreamFaultTransformer}), замер задержек и счётчики запросов.
+ *
+ * Проверки обращений — по журналу WireMock или по счётчикам {@link CallCounter}
+ * (-Dmock.verify, см. TestConfig); без полного журнала — только по счётчикам.
+ */
+public final class WireMockBackend implements MockBackend {
+
+    // Стабы конкретного токена важнее общих: приоритет 1 против стандартного 5
+    private static final int TOKEN_STUB_PRIORITY = 1;
+
+    private final DownstreamLatency downstreamLatency = new DownstreamLatency();
+    private final CallCounter callCounter = new CallCounter(TestConfig.MOCK_TOKEN_COUNTS);
+    private final WireMockServer server;
+
+    public WireMockBackend(WireMockConfiguration config) {
+        server = new WireMockServer(config.extensions(
+                new DownstreamFaultTransformer(), downstreamLatency, callCounter));
+    }
+
+    /** Сам WireMock — для того, что есть только у него */
+    public WireMockServer server() {
+        return server;
+    }
+
+    @Override
+    public void start() {
+        server.start();
+    }
+
+    @Override
+    public void stop() {
+        server.stop();
+    }
+
+    @Override
+    public boolean isRunning() {
+        return server.isRunning();
+    }
+
+    @Override
+    public int port() {
+        return server.port();
+    }
+
+    @Override
+    public void stub(String path, String token, int statusCode, DownstreamProfile profile) {
+        server.stubFor(post(urlEqualTo(path))
+                .withFormParam("token", WireMock.equalTo(token))
+                .atPriority(TOKEN_STUB_PRIORITY)
+                .willReturn(profile.applyTo(emptyJsonResponse(statusCode))));
+    }
+
+    @Override
+    public void stubAnyToken(String path, int statusCode, DownstreamProfile profile) {
+        server.stubFor(post(urlEqualTo(path))
+                .willReturn(profile.applyTo(emptyJsonResponse(statusCode))));
+    }
+
+    @Override
+    public long count(String path, String token) {
+        return callCounter.count(path, token);
+    }
+
+    @Override
+    public DownstreamLatency downstreamLatency() {
+        return downstreamLatency;
+    }
+
+    @Override
+    public void verifyCalled(String path, String token, int count) {
+        if (useCounters()) {
+            MockBackend.super.verifyCalled(path, token, count);
+            return;
+        }
+        server.verify(count, postRequestedFor(urlEqualTo(path))
+                .withFormParam("token", WireMock.equalTo(token)));
+    }
+
+    @Override
+    public void verifyCalledWithToken(String path, String token) {
+        if (useCounters()) {
+            MockBackend.super.verifyCalledWithToken(path, token);
+            return;
+        }
+        server.verify(postRequestedFor(urlEqualTo(path))
+                .withRequestBody(containing("token=" + token)));
+    }
+
+    /** Счётчики — по настройке или если журнал отключён и проверить по нему нельзя */
+    private boolean useCounters() {
+        return "counters".equals(TestConfig.MOCK_VERIFY) || server.getOptions().requestJournalDisabled();
+    }
+
+    private static ResponseDefinitionBuilder emptyJsonResponse(int statusCode) {
+        return aResponse()
+                .withStatus(statusCode)
+                .withHeader("Content-Type", "application/json")
+                .withBody("{}");
+    }
+}
@@ -0,0 +1,173 @@
+package ru.testassignment.profiling;
+
+import io.restassured.response.ValidatableResponse;
+import ru.testassignment.base.AppManager;
+import ru.testassignment.client.EndpointClient;
+import ru.testassignment.config.TestConfig;
+import ru.testassignment.helper.TokenGenerator;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * Эксперимент: сколько CPU и памяти приложения стоит один запрос каждого вида.
+ *
+ * Каждый вид запроса ({@link Probe}) отправляется через {@link EndpointClient} подряд в своём окне
+ * времени, между окнами — пауза. Подготовка (LOGIN перед ACTION/LOGOUT) и прогрев JIT — вне окон.
+ * CPU процесса за окно — по /proc/[pid]/stat (иначе — по событиям JFR jdk.CPULoad), память —
+ * по выборке аллокаций JFR: запись запускается в приложении на время эксперимента (jcmd JFR.start).
+ * Фон — окно простоя той же длины: его CPU и аллокации вычитаются из окон запросов.
+ */
+public final class ActionCostProfiler {
+
+    /** Вид запроса: как получить токен, нужна ли сессия, сам запрос и ожидаемые статусы */
+    public enum Probe {
+        LOGIN(TokenGenerator::validToken, false, EndpointClient::login, Set.of(200)),
+        ACTION(TokenGenerator::validToken, true, EndpointClient::action, Set.of(200)),
+        LOGOUT(TokenGenerator::validToken, true, EndpointClient::logout, Set.of(200)),
+        // Отказы валидации — те же, что в ValidationTest
+        INVALID_API_KEY(TokenGenerator::validToken, false,
+                token -> EndpointClient.sendWithInvalidApiKey(token, "LOGIN"), Set.of(401, 403)),
+        INVALID_TOKEN(TokenGenerator::shortToken, false, EndpointClient::login, Set.of(400)),
+        INVALID_ACTION(TokenGenerator::validToken, false,
+                token -> EndpointClient.send(token, "INVALID"), Set.of(200, 400));
+
+        private final Supplier<String> token;
+        private final boolean needsSession;
+        private final Function<String, ValidatableResponse> request;
+        private final Set<Integer> expectedStatuses;
+
+        Probe(Supplier<String> token, boolean needsSession, Function<String, ValidatableResponse> request,
+              Set<Integer> expectedStatuses) {
+            this.token = token;
+            this.needsSession = needsSession;
+            this.request = request;
+            this.expectedStatuses = expectedStatuses;
+        }
+
+        public Set<Integer> expectedStatuses() {
+            return expectedStatuses;
+        }
+    }
+
+    private static final String RECORDING = "action-cost";
+    // Пауза между окнами: хвост предыдущего окна (GC, периодические события) не попадает в следующее
+    private static final long GAP_MS = 1000;
+    // Фону хватает нескольких секунд: его скорость потом умножается на длину каждого окна
+    private static final long MAX_IDLE_MS = 10_000;
+
+    private final AppManager app;
+    private final int requests;
+    private final int warmup;
+
+    public ActionCostProfiler(AppManager app, int requests, int warmup) {
+        this.app = app;
+        this.requests = requests;
+        this.warmup = warmup;
+    }
+
+    /** Параметры из системных свойств: -Dcost.requests (2000 на вид запроса), -Dcost.warmup (500) */
+    public static ActionCostProfiler fromSystemProperties(AppManager app) {
+        return new ActionCostProfiler(app, Integer.getInteger("cost.requests", 2000),
+                Integer.getInteger("cost.warmup", 500));
+    }
+
+    public ActionCostReport run() throws IOException, InterruptedException {
+        Path file = Files.createDirectories(Path.of(TestConfig.JFR_DIR))
+                .resolve(RECORDING + "-" + TestConfig.WORKER_ID + ".jfr").toAbsolutePath();
+        boolean procCpu = ProcFs.available(app.pid());
+        List<Window> windows = new ArrayList<>();
+        Window idle;
+        app.jcmd("JFR.start", "name=" + RECORDING, "settings=profile");
+        try {
+            // Прогрев всех видов до замеров: JIT компилирует общие пути один раз
+            for (Probe probe : Probe.values()) {
+                send(probe, prepare(probe, warmup));
+            }
+            for (Probe probe : Probe.values()) {
+                String[] tokens = prepare(probe, requests);
+                Thread.sleep(GAP_MS);
+                windows.add(measure(probe.name(), tokens.length, procCpu, () -> send(probe, tokens)));
+            }
+            // Простой — как самое долгое окно, но не дольше MAX_IDLE_MS
+            long idleMillis = Math.min(MAX_IDLE_MS,
+                    windows.stream().mapToLong(w -> w.elapsed.toMillis()).max().orElse(GAP_MS));
+            Thread.sleep(GAP_MS);
+            idle = measure("(простой)", 0, procCpu, () -> {
+                Thread.sleep(idleMillis);
+                return Map.of();
+            });
+        } finally {
+            app.jcmd("JFR.stop", "name=" + RECORDING, "filename=" + file);
+        }
+
+        int cores = Runtime.getRuntime().availableProcessors();
+        ActionCostReport.Row idleRow = idle.toRow(file, cores);
+        List<ActionCostReport.Row> rows = new ArrayList<>();
+        for (Window window : windows) {
+            rows.add(window.toRow(file, cores));
+        }
+        return new ActionCostReport(requests, procCpu ? "/proc/" + app.pid() + "/stat" : "JFR jdk.CPULoad",
+                idleRow, rows, file);
+    }
+
+    private String[] prepare(Probe probe, int count) {
+        String[] tokens = new String[count];
+        for (int i = 0; i < count; i++) {
+            tokens[i] = probe.token.get();
+            if (probe.needsSession) {
+                EndpointClient.login(tokens[i]);
+            }
+        }
+        return tokens;
+    }
+
+    private static Map<Integer, Long> send(Probe probe, String[] tokens) {
+        Map<Integer, Long> statuses = new TreeMap<>();
+        for (String token : tokens) {
+            statuses.merge(probe.request.apply(token).extract().statusCode(), 1L, Long::sum);
+        }
+        return statuses;
+    }
+
+    private Window measure(String name, int count, boolean procCpu, WindowBody body)
+            throws IOException, InterruptedException {
+        Instant from = Instant.now();
+        long cpuFrom = procCpu ? ProcFs.cpuNanos(app.pid()) : 0;
+        long start = System.nanoTime();
+        Map<Integer, Long> statuses = body.run();
+        long elapsedNanos = System.nanoTime() - start;
+        long cpuNanos = procCpu ? ProcFs.cpuNanos(app.pid()) - cpuFrom : -1;
+        return new Window(name, count, statuses, from, Instant.now(), Duration.ofNanos(elapsedNanos), cpuNanos);
+    }
+
+    @FunctionalInterface
+    private interface WindowBody {
+        Map<Integer, Long> run() throws InterruptedException;
+    }
+
+    private record Window(String name, int requests, Map<Integer, Long> statuses, Instant from, Instant to,
+                          Duration elapsed, long cpuNanos) {
+
+        ActionCostReport.Row toRow(Path recording, int cores) throws IOException {
+            JfrSummary jfr = JfrSummary.read(name, recording, from, to);
+            long cpu = cpuNanos;
+            if (cpu < 0) {
+                // Без /proc: средняя загрузка процесса × ядра × длительность окна
+                double load = jfr.meanCpuLoad();
+                cpu = load < 0 ? -1 : (long) (load * cores * elapsed.toNanos());
+            }
+            return new ActionCostReport.Row(name, requests, statuses, elapsed, cpu, jfr.allocatedBytes());
+        }
+    }
+}
@@ -0,0 +1,84 @@
+package ru.testassignment.profiling;
+
+import io.qameta.allure.Allure;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Итог {@link ActionCostProfiler}: CPU и аллокации приложения на один запрос каждого вида
+ * за вычетом фона (окна простоя).
+ *
+ * @param requestsPerProbe сколько запросов каждого вида в окне
+ * @param cpuSource        откуда CPU: /proc или JFR
+ * @param idle             окно простоя — фон
+ * @param rows             окна запросов
+ * @param recording        файл записи JFR
+ */
+public record ActionCostReport(int requestsPerProbe, String cpuSource, Row idle, List<Row> rows, Path recording) {
+
+    /**
+     * Одно окно.
+     *
+     * @param name           вид запроса
+     * @param requests       запросов в окне
+     * @param statuses       статус ответа → число
+     * @param elapsed        длительность окна
+     * @param cpuNanos       CPU процесса за окно, нс; -1 — не замерено
+     * @param allocatedBytes аллокации за окно по выборке JFR
+     */
+    public record Row(String name, int requests, Map<Integer, Long> statuses, Duration elapsed,
+                      long cpuNanos, long allocatedBytes) {
+    }
+
+    /** Строка вида запроса; null, если такого окна не было */
+    public Row row(String name) {
+        return rows.stream().filter(r -> r.name().equals(name)).findFirst().orElse(null);
+    }
+
+    /** CPU на запрос за вычетом фона, мкс; NaN — не замерено */
+    public double cpuMicrosPerRequest(Row row) {
+        if (row.cpuNanos() < 0 || idle.cpuNanos() < 0) {
+            return Double.NaN;
+        }
+        double background = (double) idle.cpuNanos() / idle.elapsed().toNanos() * row.elapsed().toNanos();
+        return Math.max(row.cpuNanos() - background, 0) / 1000.0 / row.requests();
+    }
+
+    /** Аллокации на запрос за вычетом фона, байт */
+    public double bytesPerRequest(Row row) {
+        double background = (double) idle.allocatedBytes() / idle.elapsed().toNanos() * row.elapsed().toNanos();
+        return Math.max(row.allocatedBytes() - background, 0) / row.requests();
+    }
+
+    public void attachToAllure() {
+        Allure.addAttachment("Стоимость запросов по видам", "text/plain", toString(), ".txt");
+    }
+
+    @Override
+    public String toString() {
+        double idleSeconds = idle.elapsed().toNanos() / 1e9;
+        List<String> lines = new ArrayList<>();
+        lines.add(String.format("Стоимость запроса в приложении: %d запросов каждого вида, CPU — %s",
+                requestsPerProbe, cpuSource));
+        lines.add(String.format("Фон (простой %.1f с): CPU %s мс/с, аллокации %.2f МБ/с — вычтен из окон",
+                idleSeconds, idle.cpuNanos() < 0 ? "?" : String.format("%.1f", idle.cpuNanos() / 1e6 / idleSeconds),
+                idle.allocatedBytes() / 1e6 / idleSeconds));
+        lines.add("");
+        lines.add(String.format("%-16s %9s %9s %14s %14s  %s",
+                "Запрос", "Окно, с", "Ср., мс", "CPU, мкс/запр", "Память, КБ/запр", "Статусы"));
+        for (Row row : rows) {
+            StringBuilder statuses = new StringBuilder();
+            row.statuses().forEach((status, count) -> statuses.append(status).append(" × ").append(count).append("  "));
+            lines.add(String.format("%-16s %9.1f %9.2f %14.1f %14.2f   %s",
+                    row.name(), row.elapsed().toNanos() / 1e9, row.elapsed().toNanos() / 1e6 / row.requests(),
+                    cpuMicrosPerRequest(row), bytesPerRequest(row) / 1024, statuses.toString().strip()));
+        }
+        lines.add("");
+        lines.add("CPU — всего процесса приложения, память — оценка по выборке аллокаций JFR. Запись: " + recording);
+        return String.join(System.lineSeparator(), lines);
+    }
+}
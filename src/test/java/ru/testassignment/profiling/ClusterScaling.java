@@ -0,0 +1,88 @@
+package ru.testassignment.profiling;
+
+import ru.testassignment.base.AppCluster;
+import ru.testassignment.base.AppOptions;
+import ru.testassignment.client.HttpClientTransport;
+import ru.testassignment.config.TestConfig;
+import ru.testassignment.load.LoadProfile;
+import ru.testassignment.load.LoadReport;
+import ru.testassignment.load.LoadRunner;
+import ru.testassignment.load.RequestSender;
+import ru.testassignment.load.Scenario;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Эксперимент: как растёт суммарная пропускная способность с числом экземпляров приложения.
+ *
+ * На каждом шаге поднимается свой {@link AppCluster} из k экземпляров с прокси на свободном порту
+ * (общее приложение тестов не затрагивается), и закрытая нагрузка из полных сессий
+ * LOGIN → ACTION × N → LOGOUT доводит его до насыщения. Если прокси отправит запрос токена
+ * не на тот экземпляр, ACTION или LOGOUT получат 403 — это ошибка прогона.
+ */
+public final class ClusterScaling {
+
+    private final int[] steps;
+    private final LoadProfile workload;
+    private final Duration warmup;
+
+    public ClusterScaling(int[] steps, LoadProfile workload, Duration warmup) {
+        this.steps = Arrays.stream(steps).sorted().distinct().toArray();
+        this.workload = workload;
+        this.warmup = warmup;
+    }
+
+    /**
+     * Параметры из системных свойств: -Dcluster.steps (1,2,3 — экземпляров на шаг),
+     * -Dcluster.users (64), -Dcluster.duration (20 с), -Dcluster.warmup (10 с)
+     */
+    public static ClusterScaling fromSystemProperties() {
+        LoadProfile workload = LoadProfile.builder()
+                .virtualUsers(Integer.getInteger("cluster.users", 64))
+                .duration(Duration.ofSeconds(Long.getLong("cluster.duration", 20)))
+                .actionsPerSession(3)
+                .scenario(Scenario.FULL_SESSION, 1)
+                .build();
+        return new ClusterScaling(
+                Arrays.stream(System.getProperty("cluster.steps", "1,2,3").split(","))
+                        .map(String::trim).mapToInt(Integer::parseInt).toArray(),
+                workload,
+                Duration.ofSeconds(Long.getLong("cluster.warmup", 10)));
+    }
+
+    public ClusterScalingReport run() throws InterruptedException {
+        List<ClusterScalingReport.Row> rows = new ArrayList<>();
+        for (int instances : steps) {
+            rows.add(measure(instances));
+        }
+        return new ClusterScalingReport(workload.toString(), rows);
+    }
+
+    private ClusterScalingReport.Row measure(int instances) throws InterruptedException {
+        AppCluster cluster = new AppCluster(instances, TestConfig.freePort(), AppOptions.DEFAULT);
+        try {
+            cluster.start();
+        } catch (IOException | RuntimeException e) {
+            return ClusterScalingReport.Row.failed(instances, e.getMessage());
+        }
+        try {
+            RequestSender sender = RequestSender.httpClient(new HttpClientTransport(cluster.baseUrl()));
+            new LoadRunner(workload.withDuration(warmup), sender).run();
+            long[] before = cluster.proxy().routedCounts();
+            LoadReport report = new LoadRunner(workload, sender).run();
+            long[] routed = cluster.proxy().routedCounts();
+            for (int i = 0; i < routed.length; i++) {
+                routed[i] -= before[i];
+            }
+            double p99 = report.actions().stream().mapToDouble(LoadReport.ActionStats::p99).max().orElse(Double.NaN);
+            return new ClusterScalingReport.Row(instances, report.throughput(), p99, report.totalRequests(),
+                    report.totalErrors(), routed, null);
+        } finally {
+            cluster.stop();
+        }
+    }
+}
@@ -0,0 +1,68 @@
+package ru.testassignment.profiling;
+
+import io.qameta.allure.Allure;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * Итог {@link ClusterScaling}: пропускная способность и распределение запросов по числу экземпляров.
+ *
+ * @param workload описание нагрузки
+ * @param rows     шаги по возрастанию числа экземпляров
+ */
+public record ClusterScalingReport(String workload, List<Row> rows) {
+
+    /**
+     * @param instances  экземпляров приложения
+     * @param throughput запросов в секунду через прокси
+     * @param p99        p99 самого медленного типа запроса, мс
+     * @param requests   запросов за замер
+     * @param errors     неожиданных ответов (в том числе 403 от «чужого» экземпляра) и сетевых ошибок
+     * @param routed     запросов на каждый экземпляр за замер
+     * @param failure    почему кластер не запустился; null — запустился
+     */
+    public record Row(int instances, double throughput, double p99, long requests, long errors, long[] routed,
+                      String failure) {
+
+        static Row failed(int instances, String failure) {
+            return new Row(instances, 0, Double.NaN, 0, 0, new long[0], failure);
+        }
+    }
+
+    /** Пропускная способность шага относительно одного экземпляра; NaN — шага с одним нет */
+    public double speedup(Row row) {
+        return rows.stream()
+                .filter(r -> r.instances() == 1 && r.failure() == null)
+                .findFirst()
+                .map(single -> row.throughput() / single.throughput())
+                .orElse(Double.NaN);
+    }
+
+    public void attachToAllure() {
+        Allure.addAttachment("Масштабирование по экземплярам", "text/plain", toString(), ".txt");
+    }
+
+    @Override
+    public String toString() {
+        List<String> lines = new ArrayList<>();
+        lines.add("Масштабирование по экземплярам приложения за прокси с привязкой токена");
+        lines.add("Нагрузка: " + workload);
+        lines.add("");
+        lines.add(String.format("%11s %10s %9s %10s %8s  %s", "Экземпляров", "RPS", "Ускорение", "p99, мс",
+                "Ошибок", "Запросов по экземплярам"));
+        for (Row row : rows) {
+            if (row.failure() != null) {
+                lines.add(String.format("%11d не запустился: %s", row.instances(), row.failure()));
+                continue;
+            }
+            lines.add(String.format("%11d %10.1f %9s %10.2f %8d  %s", row.instances(), row.throughput(),
+                    Double.isNaN(speedup(row)) ? "—" : String.format("×%.2f", speedup(row)), row.p99(),
+                    row.errors(), Arrays.stream(row.routed()).mapToObj(String::valueOf)
+                            .collect(Collectors.joining(" / "))));
+        }
+        return String.join(System.lineSeparator(), lines);
+    }
+}
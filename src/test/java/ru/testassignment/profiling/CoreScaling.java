@@ -0,0 +1,119 @@
+package ru.testassignment.profiling;
+
+import ru.testassignment.base.AppManager;
+import ru.testassignment.base.AppOptions;
+import ru.testassignment.load.LoadProfile;
+import ru.testassignment.load.LoadReport;
+import ru.testassignment.load.LoadRunner;
+import ru.testassignment.load.RequestSender;
+import ru.testassignment.load.Scenario;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Эксперимент: как пропускная способность приложения растёт с числом ядер.
+ *
+ * На каждом шаге (1, 2, 4, … N ядер) приложение перезапускается привязанным к первым k ядрам
+ * (taskset -c 0-(k−1)) и с -XX:ActiveProcessorCount=k — JVM сама выбирает по нему число потоков
+ * GC и компилятора. Затем закрытая нагрузка с заведомо избыточным числом пользователей доводит его
+ * до насыщения. По пропускной способности шагов подбирается {@link UslFit}.
+ *
+ * Генератор нагрузки и мок работают в JVM тестов на тех же ядрах и отнимают у приложения часть
+ * процессора: абсолютные RPS занижены, а форма кривой видна. Для точных цифр приложению нужны
+ * ядра, которых не касаются тесты (-Dcores.taskset=false и своя привязка).
+ */
+public final class CoreScaling {
+
+    private final AppManager app;
+    private final int[] steps;
+    private final boolean taskset;
+    private final LoadProfile workload;
+    private final Duration warmup;
+    private final RequestSender sender;
+
+    public CoreScaling(AppManager app, int[] steps, boolean taskset, LoadProfile workload, Duration warmup,
+                       RequestSender sender) {
+        this.app = app;
+        this.steps = Arrays.stream(steps).sorted().distinct().toArray();
+        this.taskset = taskset;
+        this.workload = workload;
+        this.warmup = warmup;
+        this.sender = sender;
+    }
+
+    /**
+     * Параметры из системных свойств: -Dcores.steps (1, 2, 4, … до числа ядер машины, через запятую),
+     * -Dcores.taskset (true), -Dcores.users (64 пользователя — насыщение), -Dcores.duration (20 с),
+     * -Dcores.warmup (10 с)
+     */
+    public static CoreScaling fromSystemProperties(AppManager app, RequestSender sender) {
+        String steps = System.getProperty("cores.steps");
+        LoadProfile workload = LoadProfile.builder()
+                .virtualUsers(Integer.getInteger("cores.users", 64))
+                .duration(Duration.ofSeconds(Long.getLong("cores.duration", 20)))
+                .actionsPerSession(3)
+                .scenario(Scenario.FULL_SESSION, 1)
+                .build();
+        return new CoreScaling(app,
+                steps != null
+                        ? Arrays.stream(steps.split(",")).map(String::trim).mapToInt(Integer::parseInt).toArray()
+                        : defaultSteps(Runtime.getRuntime().availableProcessors()),
+                Boolean.parseBoolean(System.getProperty("cores.taskset", "true")),
+                workload,
+                Duration.ofSeconds(Long.getLong("cores.warmup", 10)),
+                sender);
+    }
+
+    /** Степени двойки до cores и само cores */
+    static int[] defaultSteps(int cores) {
+        List<Integer> steps = new ArrayList<>();
+        for (int k = 1; k < cores; k *= 2) {
+            steps.add(k);
+        }
+        steps.add(cores);
+        return steps.stream().mapToInt(Integer::intValue).toArray();
+    }
+
+    public CoreScalingReport run() throws IOException, InterruptedException {
+        AppOptions original = app.options();
+        List<CoreScalingReport.Row> rows = new ArrayList<>();
+        try {
+            for (int cores : steps) {
+                rows.add(measure(cores));
+            }
+        } finally {
+            app.restart(original);
+        }
+
+        Map<Integer, Double> throughput = new TreeMap<>();
+        rows.stream()
+                .filter(row -> row.failure() == null)
+                .forEach(row -> throughput.put(row.cores(), row.throughput()));
+        UslFit fit = throughput.size() >= UslFit.MIN_POINTS && throughput.containsKey(1)
+                ? UslFit.fit(throughput)
+                : null;
+        return new CoreScalingReport(workload.toString(), taskset, rows, fit);
+    }
+
+    private CoreScalingReport.Row measure(int cores) throws InterruptedException {
+        AppOptions pinned = new AppOptions("cores-" + cores,
+                List.of("-XX:ActiveProcessorCount=" + cores), false, taskset ? "0-" + (cores - 1) : null);
+        try {
+            app.restart(pinned);
+        } catch (IOException | RuntimeException e) {
+            return CoreScalingReport.Row.failed(cores, pinned, e.getMessage());
+        }
+        // Прогрев: JIT и пулы потоков приложения; ошибки старых keep-alive соединений не в счёт
+        new LoadRunner(workload.withDuration(warmup), sender).run();
+        LoadReport report = new LoadRunner(workload, sender).run();
+        double p99 = report.actions().stream().mapToDouble(LoadReport.ActionStats::p99).max().orElse(Double.NaN);
+        return new CoreScalingReport.Row(cores, pinned.toString(), report.throughput(), p99,
+                report.totalErrors(), null);
+    }
+}
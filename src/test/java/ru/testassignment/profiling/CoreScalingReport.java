@@ -0,0 +1,75 @@
+package ru.testassignment.profiling;
+
+import io.qameta.allure.Allure;
+import ru.testassignment.base.AppOptions;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Итог {@link CoreScaling}: пропускная способность по числу ядер и подогнанная модель USL.
+ *
+ * @param workload описание нагрузки
+ * @param taskset  привязывалось ли приложение к ядрам (иначе — только -XX:ActiveProcessorCount)
+ * @param rows     шаги по возрастанию числа ядер
+ * @param fit      модель USL; null — точек для подгонки не хватило
+ */
+public record CoreScalingReport(String workload, boolean taskset, List<Row> rows, UslFit fit) {
+
+    // Ядро «окупается», пока добавляет хотя бы половину пропускной способности одного ядра
+    public static final double PAYOFF_SHARE = 0.5;
+
+    /**
+     * @param cores      ядер у приложения
+     * @param launch     как запущено
+     * @param throughput запросов в секунду в насыщении
+     * @param p99        p99 самого медленного типа запроса, мс
+     * @param errors     неожиданных ответов и сетевых ошибок
+     * @param failure    почему приложение не запустилось; null — запустилось
+     */
+    public record Row(int cores, String launch, double throughput, double p99, long errors, String failure) {
+
+        static Row failed(int cores, AppOptions options, String failure) {
+            return new Row(cores, options.toString(), 0, Double.NaN, 0, failure);
+        }
+    }
+
+    public void attachToAllure() {
+        Allure.addAttachment("Масштабирование по ядрам", "text/plain", toString(), ".txt");
+    }
+
+    @Override
+    public String toString() {
+        List<String> lines = new ArrayList<>();
+        lines.add("Масштабирование по ядрам" + (taskset ? " (taskset + ActiveProcessorCount)" : " (только ActiveProcessorCount)"));
+        lines.add("Нагрузка: " + workload);
+        lines.add("");
+        lines.add(String.format("%6s %10s %10s %10s %8s  %s", "Ядер", "RPS", "USL, RPS", "p99, мс", "Ошибок", "Запуск"));
+        for (Row row : rows) {
+            if (row.failure() != null) {
+                lines.add(String.format("%6d не запустилось: %s  %s", row.cores(), row.failure(), row.launch()));
+                continue;
+            }
+            lines.add(String.format("%6d %10.1f %10s %10.2f %8d  %s", row.cores(), row.throughput(),
+                    fit == null ? "—" : String.format("%.1f", fit.throughput(row.cores())),
+                    row.p99(), row.errors(), row.launch()));
+        }
+        lines.add("");
+        if (fit == null) {
+            lines.add("USL: нужно не меньше " + UslFit.MIN_POINTS + " успешных шагов, включая 1 ядро");
+        } else {
+            lines.add(String.format("USL: λ = %.1f RPS на ядро, σ (конкуренция) = %.4f, κ (согласованность) = %.6f, R² = %.3f",
+                    fit.lambda(), fit.sigma(), fit.kappa(), fit.rSquared()));
+            lines.add(Double.isInfinite(fit.peakCores())
+                    ? String.format("Пика нет (κ = 0), предел — %.1f RPS", fit.maxThroughput())
+                    : String.format("Пик: %.1f ядра, %.1f RPS; дальше пропускная способность падает",
+                    fit.peakCores(), fit.maxThroughput()));
+            int payoff = fit.diminishingReturnsCores(PAYOFF_SHARE);
+            lines.add(payoff == Integer.MAX_VALUE
+                    ? "Каждое следующее ядро добавляет больше половины λ"
+                    : String.format("Ядра окупаются до %d-го: следующее добавляет меньше %.0f%% λ",
+                    payoff, 100 * PAYOFF_SHARE));
+        }
+        return String.join(System.lineSeparator(), lines);
+    }
+}
@@ -0,0 +1,44 @@
+package ru.testassignment.profiling;
+
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Разбор вывода jcmd о куче приложения.
+ *
+ * GC.heap_info печатает строку на поколение (Serial, Parallel: "def new generation total 28864K,
+ * used 14891K", "tenured generation ...") или одну на всю кучу (G1: "garbage-first heap total ...").
+ * Строки пространств (eden, from, to) и Metaspace формата "total …, used …" не имеют.
+ */
+public final class HeapInfo {
+
+    private static final Pattern USED = Pattern.compile("total \\d+K, used (\\d+)K");
+    private static final Pattern MAX_HEAP = Pattern.compile("MaxHeapSize=(\\d+)");
+
+    private HeapInfo() {
+    }
+
+    /** Занятая куча, байт — из вывода jcmd GC.heap_info */
+    public static long usedBytes(String heapInfo) {
+        Matcher used = USED.matcher(heapInfo);
+        long total = 0;
+        boolean found = false;
+        while (used.find()) {
+            total += Long.parseLong(used.group(1)) * 1024;
+            found = true;
+        }
+        if (!found) {
+            throw new IllegalArgumentException("Не удалось разобрать GC.heap_info:" + System.lineSeparator() + heapInfo);
+        }
+        return total;
+    }
+
+    /** Предел кучи (-Xmx или выбранный JVM), байт — из вывода jcmd VM.flags */
+    public static long maxHeapBytes(String vmFlags) {
+        Matcher max = MAX_HEAP.matcher(vmFlags);
+        if (!max.find()) {
+            throw new IllegalArgumentException("В VM.flags нет MaxHeapSize:" + System.lineSeparator() + vmFlags);
+        }
+        return Long.parseLong(max.group(1));
+    }
+}
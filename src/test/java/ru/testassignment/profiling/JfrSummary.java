@@ -0,0 +1,175 @@
+package ru.testassignment.profiling;
+
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordedFrame;
+import jdk.jfr.consumer.RecordedStackTrace;
+import jdk.jfr.consumer.RecordingFile;
+import org.HdrHistogram.Histogram;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Сводка записи JFR приложения за окно времени: паузы GC, скорость аллокаций,
+ * число потоков и места, где выделяется больше всего памяти.
+ *
+ * Аллокации — по событиям jdk.ObjectAllocationSample: JFR записывает выборку, а вес
+ * каждого события — сколько байт она представляет, поэтому суммы весов оценивают
+ * полный объём. Место аллокации — первый кадр стека вне JDK (java.*, jdk.*, sun.*),
+ * иначе все аллокации достались бы Arrays.copyOf и StringBuilder.
+ */
+public final class JfrSummary {
+
+    private static final int TOP_SITES = 10;
+    private static final List<String> JDK_PACKAGES = List.of("java.", "javax.", "jdk.", "sun.", "com.sun.");
+
+    private final String title;
+    private final Duration window;
+    // Суммарная пауза каждой сборки, мкс
+    private final Histogram gcPauses = new Histogram(3);
+    private final Map<String, Integer> collections = new TreeMap<>();
+    private long totalPauseMicros;
+    private long allocatedBytes;
+    private final Map<String, Long> allocationSites = new HashMap<>();
+    // Сумма долей CPU процесса (jvmUser + jvmSystem) по событиям jdk.CPULoad — для среднего
+    private double cpuLoadSum;
+    private int cpuLoadSamples;
+    private long maxActiveThreads = -1;
+    private long peakThreads = -1;
+
+    private JfrSummary(String title, Duration window) {
+        this.title = title;
+        this.window = window;
+    }
+
+    /** Сводка событий файла записи, закончившихся в окне [from, to] */
+    public static JfrSummary read(String title, Path recording, Instant from, Instant to) throws IOException {
+        JfrSummary summary = new JfrSummary(title, Duration.between(from, to));
+        try (RecordingFile file = new RecordingFile(recording)) {
+            while (file.hasMoreEvents()) {
+                RecordedEvent event = file.readEvent();
+                Instant end = event.getEndTime();
+                if (!end.isBefore(from) && !end.isAfter(to)) {
+                    summary.add(event);
+                }
+            }
+        }
+        return summary;
+    }
+
+    private void add(RecordedEvent event) {
+        switch (event.getEventType().getName()) {
+            case "jdk.GarbageCollection" -> {
+                long pauseMicros = Math.max(event.getDuration("sumOfPauses").toNanos() / 1000, 0);
+                gcPauses.recordValue(pauseMicros);
+                totalPauseMicros += pauseMicros;
+                collections.merge(event.getString("name"), 1, Integer::sum);
+            }
+            case "jdk.ObjectAllocationSample" -> {
+                long weight = event.getLong("weight");
+                allocatedBytes += weight;
+                allocationSites.merge(site(event.getStackTrace()), weight, Long::sum);
+            }
+            case "jdk.CPULoad" -> {
+                cpuLoadSum += event.getFloat("jvmUser") + event.getFloat("jvmSystem");
+                cpuLoadSamples++;
+            }
+            case "jdk.JavaThreadStatistics" -> {
+                maxActiveThreads = Math.max(maxActiveThreads, event.getLong("activeCount"));
+                peakThreads = Math.max(peakThreads, event.getLong("peakCount"));
+            }
+            default -> {
+            }
+        }
+    }
+
+    private static String site(RecordedStackTrace stackTrace) {
+        if (stackTrace == null || stackTrace.getFrames().isEmpty()) {
+            return "(стек не записан)";
+        }
+        List<RecordedFrame> frames = stackTrace.getFrames();
+        RecordedFrame site = frames.stream()
+                .filter(frame -> frame.isJavaFrame() && !isJdk(frame.getMethod().getType().getName()))
+                .findFirst()
+                .orElse(frames.get(0));
+        return site.getMethod().getType().getName() + "." + site.getMethod().getName()
+                + (site.getLineNumber() > 0 ? ":" + site.getLineNumber() : "");
+    }
+
+    private static boolean isJdk(String className) {
+        return JDK_PACKAGES.stream().anyMatch(className::startsWith);
+    }
+
+    public long gcCount() {
+        return gcPauses.getTotalCount();
+    }
+
+    public long allocatedBytes() {
+        return allocatedBytes;
+    }
+
+    /** Байт в секунду за окно */
+    public double allocationRate() {
+        return allocatedBytes / Math.max(window.toNanos() / 1e9, 1e-9);
+    }
+
+    /**
+     * Средняя загрузка CPU процессом за окно: доля всех ядер машины (0..1), по событиям
+     * jdk.CPULoad раз в секунду; -1, если событий не было
+     */
+    public double meanCpuLoad() {
+        return cpuLoadSamples == 0 ? -1 : cpuLoadSum / cpuLoadSamples;
+    }
+
+    /** Места аллокаций по убыванию объёма: место → байт */
+    public Map<String, Long> topAllocationSites(int limit) {
+        Map<String, Long> top = new LinkedHashMap<>();
+        allocationSites.entrySet().stream()
+                .sorted(Map.Entry.<String, Long>comparingByValue(Comparator.reverseOrder()))
+                .limit(limit)
+                .forEach(entry -> top.put(entry.getKey(), entry.getValue()));
+        return top;
+    }
+
+    @Override
+    public String toString() {
+        List<String> lines = new ArrayList<>();
+        lines.add(title);
+        lines.add(String.format("Окно: %.1f с", window.toMillis() / 1000.0));
+        lines.add("");
+        if (gcCount() == 0) {
+            lines.add("Сборок мусора: 0");
+        } else {
+            StringBuilder byName = new StringBuilder();
+            collections.forEach((name, count) -> byName.append(byName.length() == 0 ? "" : ", ")
+                    .append(name).append(" × ").append(count));
+            lines.add(String.format("Сборок мусора: %d (%s), паузы всего %.1f мс",
+                    gcCount(), byName, totalPauseMicros / 1000.0));
+            lines.add(String.format("Паузы GC, мс: p50 %.2f, p90 %.2f, p99 %.2f, max %.2f",
+                    gcPauses.getValueAtPercentile(50) / 1000.0,
+                    gcPauses.getValueAtPercentile(90) / 1000.0,
+                    gcPauses.getValueAtPercentile(99) / 1000.0,
+                    gcPauses.getMaxValue() / 1000.0));
+        }
+        lines.add(String.format("Аллокации: %.1f МБ, %.1f МБ/с", allocatedBytes / 1e6, allocationRate() / 1e6));
+        lines.add(maxActiveThreads < 0
+                ? "Потоки: нет событий jdk.JavaThreadStatistics"
+                : String.format("Потоки: активных до %d, пик с запуска процесса %d", maxActiveThreads, peakThreads));
+        if (allocatedBytes > 0) {
+            lines.add("");
+            lines.add("Где выделяется память:");
+            topAllocationSites(TOP_SITES).forEach((site, bytes) -> lines.add(String.format("  %5.1f%%  %9.1f МБ  %s",
+                    100.0 * bytes / allocatedBytes, bytes / 1e6, site)));
+        }
+        return String.join(System.lineSeparator(), lines);
+    }
+}
@@ -0,0 +1,102 @@
+package ru.testassignment.profiling;
+
+import ru.testassignment.base.AppManager;
+import ru.testassignment.base.AppOptions;
+import ru.testassignment.load.LoadProfile;
+import ru.testassignment.load.LoadReport;
+import ru.testassignment.load.LoadRunner;
+import ru.testassignment.load.RequestSender;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Матрица опций JVM приложения: одна и та же нагрузка против каждого профиля ({@link AppOptions}).
+ *
+ * На каждый профиль приложение перезапускается с его опциями, затем — прогрев (JIT, рост кучи)
+ * и замер {@link LoadRunner}. Из запуска — время до первого ответа, из замера — пропускная
+ * способность и p99, из /proc/[pid]/status после замера — пик RSS процесса (VmHWM) за всю его жизнь.
+ * Профиль, с которым приложение не запустилось, попадает в отчёт с причиной.
+ * В конце приложение возвращается к опциям, с которыми было запущено.
+ */
+public final class JvmMatrix {
+
+    // GC по очереди, затем куча и JIT на фоне G1 — сборщика по умолчанию на серверных машинах
+    private static final String DEFAULT_PROFILES = "serial=-XX:+UseSerialGC"
+            + ";parallel=-XX:+UseParallelGC"
+            + ";g1=-XX:+UseG1GC"
+            + ";zgc=-XX:+UseZGC"
+            + ";g1-heap256m=-XX:+UseG1GC -Xms256m -Xmx256m"
+            + ";g1-c1=-XX:+UseG1GC -XX:TieredStopAtLevel=1";
+
+    private final AppManager app;
+    private final List<AppOptions> profiles;
+    private final LoadProfile workload;
+    private final Duration warmup;
+    private final RequestSender sender;
+
+    public JvmMatrix(AppManager app, List<AppOptions> profiles, LoadProfile workload, Duration warmup,
+                     RequestSender sender) {
+        this.app = app;
+        this.profiles = List.copyOf(profiles);
+        this.workload = workload;
+        this.warmup = warmup;
+        this.sender = sender;
+    }
+
+    /**
+     * Профили из -Dmatrix.profiles ("имя=опции;имя=опции", по умолчанию — Serial, Parallel, G1, ZGC,
+     * G1 с кучей 256 МБ и G1 только с C1). Нагрузка — профиль -Dload.* длительностью
+     * -Dmatrix.duration (20 с) после прогрева -Dmatrix.warmup (10 с)
+     */
+    public static JvmMatrix fromSystemProperties(AppManager app, RequestSender sender) {
+        return new JvmMatrix(app,
+                AppOptions.parse(System.getProperty("matrix.profiles", DEFAULT_PROFILES)),
+                LoadProfile.fromSystemProperties().withDuration(Duration.ofSeconds(Long.getLong("matrix.duration", 20))),
+                Duration.ofSeconds(Long.getLong("matrix.warmup", 10)),
+                sender);
+    }
+
+    public JvmMatrixReport run() throws IOException, InterruptedException {
+        AppOptions original = app.options();
+        List<JvmMatrixReport.Row> rows = new ArrayList<>();
+        try {
+            for (AppOptions profile : profiles) {
+                rows.add(measure(profile));
+            }
+        } finally {
+            app.restart(original);
+        }
+        return new JvmMatrixReport(workload.toString(), warmup, rows);
+    }
+
+    private JvmMatrixReport.Row measure(AppOptions profile) throws InterruptedException {
+        try {
+            app.restart(profile);
+        } catch (IOException | RuntimeException e) {
+            return JvmMatrixReport.Row.failed(profile, e.getMessage());
+        }
+        long firstResponseMs = app.lastStartup().firstResponseMs();
+        // Прогрев: ошибки здесь не в счёт — первые запросы могут попасть в старые keep-alive соединения
+        new LoadRunner(workload.withDuration(warmup), sender).run();
+        LoadReport report = new LoadRunner(workload, sender).run();
+
+        LoadReport.ActionStats worst = report.actions().stream()
+                .max(Comparator.comparingDouble(LoadReport.ActionStats::p99))
+                .orElse(null);
+        long peakRss = -1;
+        try {
+            if (ProcFs.available(app.pid())) {
+                peakRss = ProcFs.statusBytes(app.pid(), "VmHWM");
+            }
+        } catch (IOException e) {
+            // Процесс мог завершиться — пик RSS неизвестен
+        }
+        return new JvmMatrixReport.Row(profile.name(), String.join(" ", profile.jvmOptions()), firstResponseMs,
+                report.throughput(), worst == null ? Double.NaN : worst.p99(), worst == null ? "—" : worst.label(),
+                peakRss, report.totalRequests(), report.totalErrors(), null);
+    }
+}
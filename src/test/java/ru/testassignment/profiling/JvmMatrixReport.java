@@ -0,0 +1,69 @@
+package ru.testassignment.profiling;
+
+import io.qameta.allure.Allure;
+import ru.testassignment.base.AppOptions;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Итог {@link JvmMatrix}: строка на профиль опций JVM.
+ *
+ * @param workload описание нагрузки
+ * @param warmup   прогрев перед замером
+ * @param rows     профили в порядке запуска
+ */
+public record JvmMatrixReport(String workload, Duration warmup, List<Row> rows) {
+
+    /**
+     * @param profile         имя профиля
+     * @param options         опции JVM
+     * @param firstResponseMs от запуска процесса до первого ответа
+     * @param throughput      запросов в секунду за замер
+     * @param p99             p99 самого медленного типа запроса, мс
+     * @param p99Label        этот тип запроса
+     * @param peakRssBytes    пик RSS процесса (VmHWM); -1 — /proc недоступен
+     * @param requests        запросов за замер
+     * @param errors          неожиданных ответов и сетевых ошибок за замер
+     * @param failure         почему приложение не запустилось; null — запустилось
+     */
+    public record Row(String profile, String options, long firstResponseMs, double throughput, double p99,
+                      String p99Label, long peakRssBytes, long requests, long errors, String failure) {
+
+        static Row failed(AppOptions profile, String failure) {
+            return new Row(profile.name(), String.join(" ", profile.jvmOptions()), -1, 0, Double.NaN, "—",
+                    -1, 0, 0, failure);
+        }
+    }
+
+    /** Строка профиля; null, если такого не было */
+    public Row row(String profile) {
+        return rows.stream().filter(r -> r.profile().equals(profile)).findFirst().orElse(null);
+    }
+
+    public void attachToAllure() {
+        Allure.addAttachment("Матрица опций JVM", "text/plain", toString(), ".txt");
+    }
+
+    @Override
+    public String toString() {
+        List<String> lines = new ArrayList<>();
+        lines.add("Матрица опций JVM приложения");
+        lines.add("Нагрузка: " + workload + "; прогрев " + warmup.toSeconds() + " с");
+        lines.add("");
+        lines.add(String.format("%-14s %12s %10s %10s %-8s %10s %8s  %s",
+                "Профиль", "Запуск, мс", "RPS", "p99, мс", "(запрос)", "Пик RSS, МБ", "Ошибок", "Опции"));
+        for (Row row : rows) {
+            if (row.failure() != null) {
+                lines.add(String.format("%-14s не запустилось: %s  %s", row.profile(), row.failure(), row.options()));
+                continue;
+            }
+            lines.add(String.format("%-14s %12d %10.1f %10.2f %-8s %10s %8d  %s",
+                    row.profile(), row.firstResponseMs(), row.throughput(), row.p99(), row.p99Label(),
+                    row.peakRssBytes() < 0 ? "?" : String.format("%.1f", row.peakRssBytes() / 1e6),
+                    row.errors(), row.options()));
+        }
+        return String.join(System.lineSeparator(), lines);
+    }
+}
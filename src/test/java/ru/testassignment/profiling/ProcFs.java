@@ -0,0 +1,54 @@
+package ru.testassignment.profiling;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * Счётчики процесса из /proc (Linux). На других ОС {@link #available} — false,
+ * и вызывающий переходит на оценки по JFR.
+ */
+public final class ProcFs {
+
+    // Единица utime/stime в /proc/[pid]/stat — USER_HZ, для пользовательских программ всегда 100
+    private static final long TICKS_PER_SECOND = 100;
+    // Номера полей utime и stime в /proc/[pid]/stat, считая с 1
+    private static final int UTIME_FIELD = 14;
+    private static final int STIME_FIELD = 15;
+
+    private ProcFs() {
+    }
+
+    public static boolean available(long pid) {
+        return Files.isReadable(stat(pid));
+    }
+
+    /** Процессорное время процесса (user + system) с его запуска, нс; точность — 10 мс */
+    public static long cpuNanos(long pid) throws IOException {
+        String stat = Files.readString(stat(pid));
+        // Имя процесса (поле 2) в скобках и может содержать пробелы — поля считаем после ")".
+        // Первое поле после скобки — третье по счёту
+        String[] fields = stat.substring(stat.lastIndexOf(')') + 2).trim().split(" ");
+        long ticks = Long.parseLong(fields[UTIME_FIELD - 3]) + Long.parseLong(fields[STIME_FIELD - 3]);
+        return ticks * 1_000_000_000L / TICKS_PER_SECOND;
+    }
+
+    /**
+     * Поле памяти из /proc/[pid]/status в байтах: VmRSS — резидентная память сейчас,
+     * VmHWM — её пик с запуска процесса
+     */
+    public static long statusBytes(long pid, String field) throws IOException {
+        for (String line : Files.readAllLines(Path.of("/proc", String.valueOf(pid), "status"))) {
+            if (line.startsWith(field + ":")) {
+                // "VmRSS:	  123456 kB"
+                String value = line.substring(field.length() + 1).trim();
+                return Long.parseLong(value.substring(0, value.indexOf(' '))) * 1024;
+            }
+        }
+        throw new IOException("В /proc/" + pid + "/status нет поля " + field);
+    }
+
+    private static Path stat(long pid) {
+        return Path.of("/proc", String.valueOf(pid), "stat");
+    }
+}
@@ -0,0 +1,150 @@
+package ru.testassignment.profiling;
+
+import ru.testassignment.base.AppManager;
+import ru.testassignment.config.TestConfig;
+import ru.testassignment.helper.TokenGenerator;
+import ru.testassignment.helper.TokenStream;
+import ru.testassignment.load.BulkSessions;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Эксперимент: сколько памяти приложения занимает живая сессия и освобождается ли она после LOGOUT.
+ *
+ * После прогревочного цикла на одну ступень N токенов логинятся ступенями ({@link BulkSessions}),
+ * затем все выходят. После каждой ступени — полная сборка мусора (jcmd GC.run) и замер: занятая куча (GC.heap_info) и RSS процесса
+ * (/proc/[pid]/status). Наклон «куча от числа сессий» — байт на сессию; куча после LOGOUT
+ * против стартовой — что осталось от вышедших сессий.
+ *
+ * С untilBreak после цикла логины продолжаются, пока приложение не начнёт отказывать
+ * (не 200, нет ответа за -Dhttp.timeoutSec, процесс упал) — это N, на котором ломается куча по умолчанию.
+ * После такого поиска приложение перезапускается.
+ *
+ * Поиск доходит до десятков миллионов LOGIN, и каждый проходит через мок. Поэтому мок не должен
+ * хранить ничего на токен — ни счётчиков по токену, ни журнала WireMock: иначе раньше кучи
+ * приложения кончится память самих тестов. В профиле load оба выключены.
+ */
+public final class SessionMemoryProbe {
+
+    // Номера потоков токенов эксперимента — вдали от тех, что берут тесты (stream(7), stream(42))
+    private static final AtomicLong NEXT_STREAM = new AtomicLong(1_000_000);
+    private static final int OK = 200;
+
+    private final AppManager app;
+    private final BulkSessions bulk;
+    private final long sessions;
+    private final int steps;
+    private final boolean untilBreak;
+    private final long breakLimit;
+
+    public SessionMemoryProbe(AppManager app, BulkSessions bulk, long sessions, int steps,
+                              boolean untilBreak, long breakLimit) {
+        this.app = app;
+        this.bulk = bulk;
+        this.sessions = sessions;
+        this.steps = steps;
+        this.untilBreak = untilBreak;
+        this.breakLimit = breakLimit;
+    }
+
+    /**
+     * Параметры из системных свойств: -Dmemory.sessions (100 000), -Dmemory.steps (10),
+     * -Dmemory.untilBreak (false), -Dmemory.breakLimit (50 000 000 — дальше не ищем)
+     */
+    public static SessionMemoryProbe fromSystemProperties(AppManager app) {
+        return new SessionMemoryProbe(app, BulkSessions.fromSystemProperties(),
+                Long.getLong("memory.sessions", 100_000),
+                Integer.getInteger("memory.steps", 10),
+                Boolean.getBoolean("memory.untilBreak"),
+                Long.getLong("memory.breakLimit", 50_000_000));
+    }
+
+    public SessionMemoryReport run() throws IOException, InterruptedException {
+        if (untilBreak) {
+            requireMockWithoutPerTokenState();
+        }
+        long maxHeap = HeapInfo.maxHeapBytes(app.jcmd("VM.flags"));
+        long step = Math.max(1, sessions / steps);
+        long streamId = NEXT_STREAM.getAndIncrement();
+        List<SessionMemoryReport.Sample> samples = new ArrayList<>();
+        Map<Integer, Long> loginStatuses = new TreeMap<>();
+        Map<Integer, Long> logoutStatuses = new TreeMap<>();
+
+        // Прогревочный цикл на одну ступень: соединения, пулы и ленивые структуры приложения
+        // создаются здесь, а не попадают в «остаток после LOGOUT»
+        TokenStream warmup = TokenGenerator.stream(NEXT_STREAM.getAndIncrement());
+        long warmupStream = warmup.streamId();
+        bulk.send(warmup, "LOGIN", Math.min(step, sessions));
+        bulk.send(TokenGenerator.stream(warmupStream), "LOGOUT", Math.min(step, sessions));
+
+        samples.add(sample("старт", 0));
+        TokenStream logins = TokenGenerator.stream(streamId);
+        long live = 0;
+        for (long sent = 0; sent < sessions; sent += step) {
+            Map<Integer, Long> statuses = bulk.send(logins, "LOGIN", Math.min(step, sessions - sent));
+            statuses.forEach((status, count) -> loginStatuses.merge(status, count, Long::sum));
+            live += statuses.getOrDefault(OK, 0L);
+            samples.add(sample("LOGIN", live));
+        }
+
+        // Тот же номер потока — те же токены в том же порядке
+        TokenStream logouts = TokenGenerator.stream(streamId);
+        for (long sent = 0; sent < sessions; sent += step) {
+            Map<Integer, Long> statuses = bulk.send(logouts, "LOGOUT", Math.min(step, sessions - sent));
+            statuses.forEach((status, count) -> logoutStatuses.merge(status, count, Long::sum));
+            live -= statuses.getOrDefault(OK, 0L);
+            samples.add(sample("LOGOUT", live));
+        }
+
+        SessionMemoryReport.Break breaking = untilBreak ? findBreak(step, samples) : null;
+        return new SessionMemoryReport(sessions, maxHeap, samples, loginStatuses, logoutStatuses, breaking);
+    }
+
+    /** Поиск предела — только если мок не копит записи на каждый токен (см. описание класса) */
+    private static void requireMockWithoutPerTokenState() {
+        boolean journal = "on".equals(TestConfig.MOCK_JOURNAL) && !"light".equals(TestConfig.MOCK_SERVER);
+        if (TestConfig.MOCK_TOKEN_COUNTS || journal) {
+            throw new IllegalStateException("Поиск предела сессий требует мок без записей на токен: "
+                    + "-Dmock.tokenCounts=false -Dmock.journal=off (так в профиле load); сейчас счётчики по токену "
+                    + (TestConfig.MOCK_TOKEN_COUNTS ? "включены" : "выключены") + ", журнал WireMock "
+                    + (journal ? "без предела" : "выключен"));
+        }
+    }
+
+    /** Логины ступенями, пока приложение не откажет или не наберётся breakLimit сессий */
+    private SessionMemoryReport.Break findBreak(long step, List<SessionMemoryReport.Sample> samples)
+            throws IOException, InterruptedException {
+        TokenStream tokens = TokenGenerator.stream(NEXT_STREAM.getAndIncrement());
+        long live = 0;
+        try {
+            while (live < breakLimit) {
+                Map<Integer, Long> statuses = bulk.send(tokens, "LOGIN", step);
+                live += statuses.getOrDefault(OK, 0L);
+                if (!app.isAlive()) {
+                    return new SessionMemoryReport.Break(live, "процесс приложения завершился");
+                }
+                if (statuses.keySet().stream().anyMatch(status -> status != OK)) {
+                    return new SessionMemoryReport.Break(live, "ответы " + statuses);
+                }
+                samples.add(sample("до отказа", live));
+            }
+            return new SessionMemoryReport.Break(live, "отказа нет до " + breakLimit + " сессий");
+        } finally {
+            // Приложение с переполненной кучей дальше не годится для тестов — запускаем заново
+            app.stop();
+            app.start();
+        }
+    }
+
+    private SessionMemoryReport.Sample sample(String phase, long liveSessions) throws IOException, InterruptedException {
+        app.jcmd("GC.run");
+        long heapUsed = HeapInfo.usedBytes(app.jcmd("GC.heap_info"));
+        long rss = ProcFs.available(app.pid()) ? ProcFs.statusBytes(app.pid(), "VmRSS") : -1;
+        return new SessionMemoryReport.Sample(phase, liveSessions, heapUsed, rss);
+    }
+}
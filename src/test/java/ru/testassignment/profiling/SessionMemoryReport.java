@@ -0,0 +1,181 @@
+package ru.testassignment.profiling;
+
+import io.qameta.allure.Allure;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.function.ToLongFunction;
+
+/**
+ * Итог {@link SessionMemoryProbe}: память приложения по ступеням LOGIN/LOGOUT.
+ *
+ * Куча после GC.run гуляет на 1–3 МБ между соседними замерами, поэтому выводы — не по отдельным
+ * замерам, а по прямым «куча от живых сессий»: одна по старту и ступеням LOGIN, другая по пику
+ * и ступеням LOGOUT. Остаток после выхода всех сессий — разница их значений при нуле сессий.
+ * Если прирост кучи за цикл не превышает шум замеров в {@value #MIN_SIGNAL_TO_NOISE} раз
+ * ({@link #growthMeasurable}), выводы о памяти делать нельзя: сессий слишком мало.
+ *
+ * @param sessions       сколько сессий в цикле LOGIN → LOGOUT
+ * @param maxHeapBytes   предел кучи приложения
+ * @param samples        замеры после каждой ступени (первый — до логинов)
+ * @param loginStatuses  статусы ответов на LOGIN цикла
+ * @param logoutStatuses статусы ответов на LOGOUT цикла
+ * @param breaking       где приложение начало отказывать; null — поиск не запускался
+ */
+public record SessionMemoryReport(long sessions, long maxHeapBytes, List<Sample> samples,
+                                  Map<Integer, Long> loginStatuses, Map<Integer, Long> logoutStatuses,
+                                  Break breaking) {
+
+    /**
+     * Замер после полной сборки мусора.
+     *
+     * @param phase        этап: старт, LOGIN, LOGOUT, до отказа
+     * @param liveSessions живых сессий в приложении
+     * @param heapUsed     занятая куча, байт
+     * @param rss          резидентная память процесса, байт; -1 — /proc недоступен
+     */
+    public record Sample(String phase, long liveSessions, long heapUsed, long rss) {
+    }
+
+    /**
+     * @param sessions живых сессий к моменту отказа (или к пределу поиска)
+     * @param cause    чем выразился отказ
+     */
+    public record Break(long sessions, String cause) {
+    }
+
+    // Во сколько раз прирост кучи за цикл должен превышать шум замеров
+    static final double MIN_SIGNAL_TO_NOISE = 5;
+    // Нижняя граница шума: разброс кучи после GC.run между соседними замерами — от 1 МБ
+    private static final double NOISE_FLOOR_BYTES = 1_000_000;
+
+    /** Прямая value = intercept + slope × liveSessions и разброс замеров вокруг неё */
+    private record Fit(double intercept, double slope, double residualStdDev) {
+    }
+
+    private Sample start() {
+        return samples.get(0);
+    }
+
+    /** Замер после последней ступени LOGOUT */
+    public Sample afterLogout() {
+        return samples.stream().filter(s -> s.phase().equals("LOGOUT")).reduce((a, b) -> b).orElseThrow();
+    }
+
+    /** Пик кучи в цикле — после последней ступени LOGIN */
+    public Sample peak() {
+        return samples.stream().filter(s -> s.phase().equals("LOGIN")).reduce((a, b) -> b).orElseThrow();
+    }
+
+    /** Байт кучи на живую сессию — наклон прямой по замерам старта и ступеней LOGIN */
+    public double heapBytesPerSession() {
+        return loginFit(Sample::heapUsed).slope();
+    }
+
+    /** Байт RSS на живую сессию; NaN — /proc недоступен */
+    public double rssBytesPerSession() {
+        return start().rss() < 0 ? Double.NaN : loginFit(Sample::rss).slope();
+    }
+
+    /** Прирост кучи за цикл по прямой LOGIN: байт на сессию × сессий */
+    public double heapGrowthBytes() {
+        return heapBytesPerSession() * sessions;
+    }
+
+    /** Шум замеров кучи: разброс вокруг прямой LOGIN, не меньше {@value #NOISE_FLOOR_BYTES} байт */
+    public double heapNoiseBytes() {
+        return Math.max(loginFit(Sample::heapUsed).residualStdDev(), NOISE_FLOOR_BYTES);
+    }
+
+    /** Прирост кучи за цикл заметно выше шума — байтам на сессию и остатку после LOGOUT можно верить */
+    public boolean growthMeasurable() {
+        return heapGrowthBytes() >= MIN_SIGNAL_TO_NOISE * heapNoiseBytes();
+    }
+
+    /** Куча, оставшаяся после выхода всех сессий, байт: прямая LOGOUT против прямой LOGIN при нуле сессий */
+    public double retainedBytes() {
+        return logoutFit(Sample::heapUsed).intercept() - loginFit(Sample::heapUsed).intercept();
+    }
+
+    /** Доля прироста кучи, которая осталась после выхода всех сессий (0 — вернулась вся) */
+    public double retainedShare() {
+        double growth = heapGrowthBytes();
+        return growth <= 0 ? 0 : Math.max(retainedBytes(), 0) / growth;
+    }
+
+    /** Оценка: сколько сессий поместится в предел кучи при найденных байтах на сессию */
+    public long estimatedBreakingSessions() {
+        double perSession = heapBytesPerSession();
+        return perSession <= 0 ? -1
+                : (long) ((maxHeapBytes - loginFit(Sample::heapUsed).intercept()) / perSession);
+    }
+
+    /** Прямая по старту и ступеням LOGIN */
+    private Fit loginFit(ToLongFunction<Sample> value) {
+        return fit(samples.stream()
+                .filter(s -> s.phase().equals("старт") || s.phase().equals("LOGIN"))
+                .toList(), value);
+    }
+
+    /** Прямая по пику (последней ступени LOGIN) и ступеням LOGOUT */
+    private Fit logoutFit(ToLongFunction<Sample> value) {
+        List<Sample> points = new ArrayList<>();
+        points.add(peak());
+        samples.stream().filter(s -> s.phase().equals("LOGOUT")).forEach(points::add);
+        return fit(points, value);
+    }
+
+    /** Наименьшие квадраты: value = intercept + slope × liveSessions */
+    private static Fit fit(List<Sample> points, ToLongFunction<Sample> value) {
+        double meanX = points.stream().mapToLong(Sample::liveSessions).average().orElse(0);
+        double meanY = points.stream().mapToLong(value).average().orElse(0);
+        double covariance = 0;
+        double variance = 0;
+        for (Sample point : points) {
+            double dx = point.liveSessions() - meanX;
+            covariance += dx * (value.applyAsLong(point) - meanY);
+            variance += dx * dx;
+        }
+        double slope = variance == 0 ? 0 : covariance / variance;
+        double intercept = meanY - slope * meanX;
+        double squares = 0;
+        for (Sample point : points) {
+            double residual = value.applyAsLong(point) - (intercept + slope * point.liveSessions());
+            squares += residual * residual;
+        }
+        // Две степени свободы ушли на прямую
+        double residualStdDev = points.size() > 2 ? Math.sqrt(squares / (points.size() - 2)) : 0;
+        return new Fit(intercept, slope, residualStdDev);
+    }
+
+    public void attachToAllure() {
+        Allure.addAttachment("Память сессий", "text/plain", toString(), ".txt");
+    }
+
+    @Override
+    public String toString() {
+        List<String> lines = new ArrayList<>();
+        lines.add(String.format("Память сессий: %d сессий, предел кучи %.0f МБ", sessions, maxHeapBytes / 1e6));
+        lines.add(String.format("Куча на сессию: %.0f байт, RSS на сессию: %s",
+                heapBytesPerSession(), Double.isNaN(rssBytesPerSession()) ? "?" : String.format("%.0f байт", rssBytesPerSession())));
+        lines.add(String.format("Прирост кучи за цикл: %.1f МБ при шуме замеров %.1f МБ%s",
+                heapGrowthBytes() / 1e6, heapNoiseBytes() / 1e6,
+                growthMeasurable() ? "" : String.format(" — меньше %.0f× шума, выводы о памяти ненадёжны: "
+                        + "увеличьте -Dmemory.sessions", MIN_SIGNAL_TO_NOISE)));
+        lines.add(String.format("После LOGOUT всех сессий осталось %.1f%% прироста кучи (%.1f МБ по прямым LOGIN и LOGOUT)",
+                100 * retainedShare(), retainedBytes() / 1e6));
+        lines.add("Оценка предела: " + estimatedBreakingSessions() + " сессий до заполнения кучи");
+        if (breaking != null) {
+            lines.add("Поиск предела: " + breaking.sessions() + " сессий — " + breaking.cause());
+        }
+        lines.add("LOGIN: " + loginStatuses + ", LOGOUT: " + logoutStatuses);
+        lines.add("");
+        lines.add(String.format("%-12s %12s %16s %12s", "Этап", "Сессий", "Куча после GC, МБ", "RSS, МБ"));
+        for (Sample sample : samples) {
+            lines.add(String.format("%-12s %12d %16.1f %12s", sample.phase(), sample.liveSessions(),
+                    sample.heapUsed() / 1e6, sample.rss() < 0 ? "?" : String.format("%.1f", sample.rss() / 1e6)));
+        }
+        return String.join(System.lineSeparator(), lines);
+    }
+}
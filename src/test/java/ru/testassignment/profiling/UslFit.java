@@ -0,0 +1,104 @@
+package ru.testassignment.profiling;
+
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Универсальный закон масштабируемости (USL, Н. Гюнтер): X(N) = λN / (1 + σ(N − 1) + κN(N − 1)).
+ *
+ * λ — пропускная способность одного ядра, σ — конкуренция (доля последовательной работы: очереди,
+ * блокировки), κ — согласованность (цена обмена данными между ядрами; из-за неё после пика
+ * пропускная способность падает). Коэффициенты подбираются по наименьшим квадратам на линеаризованной
+ * форме N / C(N) − 1 = σ(N − 1) + κN(N − 1), где C(N) = X(N) / X(1); λ = X(1).
+ *
+ * @param lambda    пропускная способность на одном ядре, запросов в секунду
+ * @param sigma     коэффициент конкуренции
+ * @param kappa     коэффициент согласованности
+ * @param rSquared  качество подгонки по X(N)
+ */
+public record UslFit(double lambda, double sigma, double kappa, double rSquared) {
+
+    /** Минимум точек: N = 1 задаёт λ, ещё две — σ и κ */
+    public static final int MIN_POINTS = 3;
+
+    /** Подгонка по замерам «ядер → запросов в секунду»; замер на одном ядре обязателен */
+    public static UslFit fit(Map<Integer, Double> throughputByCores) {
+        Map<Integer, Double> points = new TreeMap<>(throughputByCores);
+        if (points.size() < MIN_POINTS || !points.containsKey(1)) {
+            throw new IllegalArgumentException("Для USL нужно не меньше " + MIN_POINTS
+                    + " точек, включая N = 1: " + points);
+        }
+        double lambda = points.get(1);
+        // Нормальные уравнения для y = σ·a + κ·b без свободного члена
+        double aa = 0, ab = 0, bb = 0, ay = 0, by = 0;
+        for (Map.Entry<Integer, Double> point : points.entrySet()) {
+            int n = point.getKey();
+            double y = n / (point.getValue() / lambda) - 1;
+            double a = n - 1;
+            double b = (double) n * (n - 1);
+            aa += a * a;
+            ab += a * b;
+            bb += b * b;
+            ay += a * y;
+            by += b * y;
+        }
+        double determinant = aa * bb - ab * ab;
+        double sigma = (ay * bb - by * ab) / determinant;
+        double kappa = (by * aa - ay * ab) / determinant;
+        // Отрицательные коэффициенты физического смысла не имеют — обнуляем и подбираем второй заново
+        if (kappa < 0) {
+            kappa = 0;
+            sigma = ay / aa;
+        }
+        if (sigma < 0) {
+            sigma = 0;
+            kappa = Math.max(by / bb, 0);
+        }
+        UslFit fit = new UslFit(lambda, sigma, kappa, Double.NaN);
+        return new UslFit(lambda, sigma, kappa, fit.rSquared(points));
+    }
+
+    /** Пропускная способность по модели на n ядрах */
+    public double throughput(double n) {
+        return lambda * n / (1 + sigma * (n - 1) + kappa * n * (n - 1));
+    }
+
+    /**
+     * Число ядер, на котором пропускная способность максимальна: √((1 − σ) / κ).
+     * Без согласованности (κ = 0) пика нет — бесконечность, а предел — λ / σ
+     */
+    public double peakCores() {
+        return kappa > 0 ? Math.sqrt((1 - sigma) / kappa) : Double.POSITIVE_INFINITY;
+    }
+
+    /** Предел пропускной способности: в пике при κ > 0, асимптота λ / σ при κ = 0 */
+    public double maxThroughput() {
+        if (kappa > 0) {
+            return throughput(peakCores());
+        }
+        return sigma > 0 ? lambda / sigma : Double.POSITIVE_INFINITY;
+    }
+
+    /**
+     * Первое число ядер, на котором следующее ядро добавляет меньше share пропускной способности
+     * одного ядра (λ): дальше ядра почти не окупаются
+     */
+    public int diminishingReturnsCores(double share) {
+        for (int n = 1; n < 10_000; n++) {
+            if (throughput(n + 1) - throughput(n) < share * lambda) {
+                return n;
+            }
+        }
+        return Integer.MAX_VALUE;
+    }
+
+    private double rSquared(Map<Integer, Double> points) {
+        double mean = points.values().stream().mapToDouble(Double::doubleValue).average().orElse(0);
+        double residual = 0, total = 0;
+        for (Map.Entry<Integer, Double> point : points.entrySet()) {
+            residual += Math.pow(point.getValue() - throughput(point.getKey()), 2);
+            total += Math.pow(point.getValue() - mean, 2);
+        }
+        return total == 0 ? 1 : 1 - residual / total;
+    }
+}
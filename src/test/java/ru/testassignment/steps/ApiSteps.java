@@ -1,10 +1,15 @@
 package ru.testassignment.steps;
 
-import com.github.tomakehurst.wiremock.junit5.WireMockExtension;
+import io.qameta.allure.Allure;
 import io.qameta.allure.Step;
+import io.qameta.allure.model.Parameter;
 import io.restassured.response.ValidatableResponse;
+import ru.testassignment.client.EndpointClient;
+import ru.testassignment.mock.DownstreamProfile;
+import ru.testassignment.mock.MockBackend;
+import ru.testassignment.mock.NetworkConditions;
+import ru.testassignment.mock.NetworkProxy;
 
-import static com.github.tomakehurst.wiremock.client.WireMock.*;
 import static org.hamcrest.Matchers.equalTo;
 
 /**
@@ -18,22 +23,68 @@ public final class ApiSteps {
 
     // --- Настройка моков ---
 
+    @Step("Настроить мок /auth для токена {token} → ответ {statusCode}")
+    public static void stubAuth(MockBackend mock, String token, int statusCode) {
+        mock.stub("/auth", token, statusCode, DownstreamProfile.NONE);
+    }
+
+    @Step("Настроить мок /doAction для токена {token} → ответ {statusCode}")
+    public static void stubDoAction(MockBackend mock, String token, int statusCode) {
+        mock.stub("/doAction", token, statusCode, DownstreamProfile.NONE);
+    }
+
+    @Step("Настроить мок /auth для токена {token} → ответ {statusCode}, поведение {profile}")
+    public static void stubAuth(MockBackend mock, String token, int statusCode, DownstreamProfile profile) {
+        mock.stub("/auth", token, statusCode, profile);
+    }
+
+    @Step("Настроить мок /doAction для токена {token} → ответ {statusCode}, поведение {profile}")
+    public static void stubDoAction(MockBackend mock, String token, int statusCode, DownstreamProfile profile) {
+        mock.stub("/doAction", token, statusCode, profile);
+    }
+
+    /**
+     * Общий стаб /auth для любого токена.
+     * Не подходит для параллельных тестов с разными ответами мока — используйте вариант с токеном.
+     */
     @Step("Настроить мок /auth → ответ {statusCode}")
-    public static void stubAuth(WireMockExtension wm, int statusCode) {
-        wm.stubFor(post(urlEqualTo("/auth"))
-                .willReturn(aResponse()
-                        .withStatus(statusCode)
-                        .withHeader("Content-Type", "application/json")
-                        .withBody("{}")));
+    public static void stubAuth(MockBackend mock, int statusCode) {
+        mock.stubAnyToken("/auth", statusCode, DownstreamProfile.NONE);
     }
 
+    /**
+     * Общий стаб /doAction для любого токена.
+     * Не подходит для параллельных тестов с разными ответами мока — используйте вариант с токеном.
+     */
     @Step("Настроить мок /doAction → ответ {statusCode}")
-    public static void stubDoAction(WireMockExtension wm, int statusCode) {
-        wm.stubFor(post(urlEqualTo("/doAction"))
-                .willReturn(aResponse()
-                        .withStatus(statusCode)
-                        .withHeader("Content-Type", "application/json")
-                        .withBody("{}")));
+    public static void stubDoAction(MockBackend mock, int statusCode) {
+        mock.stubAnyToken("/doAction", statusCode, DownstreamProfile.NONE);
+    }
+
+    /** Общий стаб /auth с задержками и сбоями по профилю — для нагрузочных прогонов */
+    @Step("Настроить мок /auth → ответ {statusCode}, поведение {profile}")
+    public static void stubAuth(MockBackend mock, int statusCode, DownstreamProfile profile) {
+        mock.stubAnyToken("/auth", statusCode, profile);
+    }
+
+    /** Общий стаб /doAction с задержками и сбоями по профилю — для нагрузочных прогонов */
+    @Step("Настроить мок /doAction → ответ {statusCode}, поведение {profile}")
+    public static void stubDoAction(MockBackend mock, int statusCode, DownstreamProfile profile) {
+        mock.stubAnyToken("/doAction", statusCode, profile);
+    }
+
+    // --- Сеть между приложением и моком ---
+
+    // Условия общие для всех тестов: менять их можно только в @Isolated-классах и с возвратом в конце
+
+    @Step("Искажать сеть до внешнего сервиса: {conditions}")
+    public static void setNetwork(NetworkProxy network, NetworkConditions conditions) {
+        network.setConditions(conditions);
+    }
+
+    @Step("Вернуть сеть до внешнего сервиса в исходное состояние")
+    public static void resetNetwork(NetworkProxy network) {
+        network.reset();
     }
 
     // --- Проверки ответа ---
@@ -50,32 +101,79 @@ public final class ApiSteps {
                 .body("result", equalTo("ERROR"));
     }
 
+    // Варианты с бюджетом времени: время ответа — параметром шага, превышение бюджета — падение.
+    // Время — EndpointClient.responseTime, при любом транспорте
+
+    @Step("Проверить: статус {expectedStatus}, результат OK, ответ не дольше {budgetMs} мс")
+    public static void assertResultOkWithin(ValidatableResponse response, int expectedStatus, long budgetMs) {
+        long timeMillis = attachResponseTime(response);
+        response.statusCode(expectedStatus)
+                .body("result", equalTo("OK"));
+        assertWithinBudget(timeMillis, budgetMs);
+    }
+
+    @Step("Проверить: статус {expectedStatus}, результат ERROR, ответ не дольше {budgetMs} мс")
+    public static void assertResultErrorWithin(ValidatableResponse response, int expectedStatus, long budgetMs) {
+        long timeMillis = attachResponseTime(response);
+        response.statusCode(expectedStatus)
+                .body("result", equalTo("ERROR"));
+        assertWithinBudget(timeMillis, budgetMs);
+    }
+
     @Step("Проверить: HTTP статус {expectedStatus}")
     public static void assertStatus(ValidatableResponse response, int expectedStatus) {
         response.statusCode(expectedStatus);
     }
 
+    private static long attachResponseTime(ValidatableResponse response) {
+        long timeMillis = EndpointClient.responseTime(response);
+        Allure.getLifecycle().updateStep(step -> step.getParameters().add(new Parameter()
+                .setName("Время ответа, мс")
+                .setValue(timeMillis < 0 ? "не замерено" : String.valueOf(timeMillis))));
+        return timeMillis;
+    }
+
+    private static void assertWithinBudget(long timeMillis, long budgetMs) {
+        if (timeMillis < 0) {
+            throw new AssertionError("Время ответа не замерено — запрос отправлен не через EndpointClient?");
+        }
+        if (timeMillis > budgetMs) {
+            throw new AssertionError("Ответ за " + timeMillis + " мс — дольше бюджета " + budgetMs + " мс");
+        }
+    }
+
     // --- Проверки обращений к моку ---
 
-    @Step("Проверить: мок /auth получил {count} запрос(ов)")
-    public static void verifyAuthCalled(WireMockExtension wm, int count) {
-        wm.verify(count, postRequestedFor(urlEqualTo("/auth")));
+    // Считаются только запросы с токеном теста — параллельные тесты друг другу не мешают.
+    // Источник зависит от мока: журнал WireMock или счётчики CallCounter (см. MockBackend)
+
+    @Step("Проверить: мок /auth получил {count} запрос(ов) с токеном {token}")
+    public static void verifyAuthCalled(MockBackend mock, String token, int count) {
+        mock.verifyCalled("/auth", token, count);
+    }
+
+    @Step("Проверить: мок /doAction получил {count} запрос(ов) с токеном {token}")
+    public static void verifyDoActionCalled(MockBackend mock, String token, int count) {
+        mock.verifyCalled("/doAction", token, count);
+    }
+
+    @Step("Проверить: мок /auth не получал запросов с токеном {token}")
+    public static void verifyAuthNotCalled(MockBackend mock, String token) {
+        mock.verifyCalled("/auth", token, 0);
     }
 
-    @Step("Проверить: мок /doAction получил {count} запрос(ов)")
-    public static void verifyDoActionCalled(WireMockExtension wm, int count) {
-        wm.verify(count, postRequestedFor(urlEqualTo("/doAction")));
+    @Step("Проверить: мок /doAction не получал запросов с токеном {token}")
+    public static void verifyDoActionNotCalled(MockBackend mock, String token) {
+        mock.verifyCalled("/doAction", token, 0);
     }
 
     @Step("Проверить: мок /auth получил запрос с токеном {token}")
-    public static void verifyAuthCalledWithToken(WireMockExtension wm, String token) {
-        wm.verify(postRequestedFor(urlEqualTo("/auth"))
-                .withRequestBody(containing("token=" + token)));
+    public static void verifyAuthCalledWithToken(MockBackend mock, String token) {
+        mock.verifyCalledWithToken("/auth", token);
     }
 
     @Step("Проверить: мок /doAction получил запрос с токеном {token}")
-    public static void verifyDoActionCalledWithToken(WireMockExtension wm, String token) {
-        wm.verify(postRequestedFor(urlEqualTo("/doAction"))
-                .withRequestBody(containing("token=" + token)));
+    public static void verifyDoActionCalledWithToken(MockBackend mock, String token) {
+        mock.verifyCalledWithToken("/doAction", token);
     }
 }
@@ -0,0 +1,50 @@
+package ru.testassignment.tests;
+
+import io.qameta.allure.*;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.parallel.Isolated;
+import ru.testassignment.base.BaseTest;
+import ru.testassignment.profiling.ActionCostProfiler;
+import ru.testassignment.profiling.ActionCostReport;
+import ru.testassignment.steps.ApiSteps;
+
+import java.io.IOException;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@Tag("load")
+@Isolated // CPU и аллокации процесса приложения — только от запросов этого теста
+@Epic("Нагрузочное тестирование")
+@Feature("Стоимость запросов")
+public class ActionCostTest extends BaseTest {
+
+    @Test
+    @Story("CPU и память на запрос")
+    @Severity(SeverityLevel.NORMAL)
+    @DisplayName("Стоимость LOGIN, ACTION, LOGOUT и отказов валидации в CPU и аллокациях")
+    @Description("Каждый вид запроса (-Dcost.requests штук) отправляется в своём окне времени, "
+            + "пока приложение пишет JFR. Из окна — CPU процесса (/proc) и аллокации (выборка JFR) "
+            + "на один запрос за вычетом фона. Отказы валидации — неверный API-ключ, токен и action — "
+            + "показывают, насколько дёшево приложение отклоняет запросы.")
+    void should_reportCostPerRequest_forEachAction() throws IOException, InterruptedException {
+        // Arrange — мок отвечает 200 на любой токен
+        ApiSteps.stubAuth(mock, 200);
+        ApiSteps.stubDoAction(mock, 200);
+        ActionCostProfiler profiler = ActionCostProfiler.fromSystemProperties(app);
+
+        // Act
+        ActionCostReport report = profiler.run();
+        report.attachToAllure();
+
+        // Assert — в каждом окне только ожидаемые ответы и замеренная стоимость
+        for (ActionCostProfiler.Probe probe : ActionCostProfiler.Probe.values()) {
+            ActionCostReport.Row row = report.row(probe.name());
+            assertTrue(probe.expectedStatuses().containsAll(row.statuses().keySet()), report::toString);
+            assertEquals(report.requestsPerProbe(), row.requests(), report::toString);
+            assertTrue(row.allocatedBytes() > 0, report::toString);
+        }
+    }
+}
@@ -6,7 +6,10 @@ import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import ru.testassignment.base.BaseTest;
 import ru.testassignment.client.EndpointClient;
+import ru.testassignment.client.ExcludedFromTimings;
+import ru.testassignment.config.TestConfig;
 import ru.testassignment.helper.TokenGenerator;
+import ru.testassignment.mock.DownstreamProfile;
 import ru.testassignment.steps.ApiSteps;
 
 @Epic("API тестирование сервиса аутентификации")
@@ -21,16 +24,16 @@ public class ActionTest extends BaseTest {
             + "затем выполняет действие (ACTION). Внешний сервис отвечает 200 — результат OK.")
     void should_returnOk_when_actionAfterLogin() {
         // Arrange — логинимся, настраиваем мок для doAction
-        ApiSteps.stubAuth(wireMock, 200);
-        ApiSteps.stubDoAction(wireMock, 200);
         String token = TokenGenerator.validToken();
+        ApiSteps.stubAuth(mock, token, 200);
+        ApiSteps.stubDoAction(mock, token, 200);
         EndpointClient.login(token);
 
         // Act — выполняем действие
         ValidatableResponse response = EndpointClient.action(token);
 
-        // Assert
-        ApiSteps.assertResultOk(response, 200);
+        // Assert — успешный ответ в пределах бюджета времени действия (TestConfig.latencyBudgetMs)
+        ApiSteps.assertResultOkWithin(response, 200, TestConfig.latencyBudgetMs("ACTION"));
     }
 
     @Test
@@ -41,8 +44,8 @@ public class ActionTest extends BaseTest {
             + "Токен не зарегистрирован в хранилище — приложение должно вернуть ERROR.")
     void should_returnError_when_actionWithoutLogin() {
         // Arrange — мок настроен, но LOGIN не делаем
-        ApiSteps.stubDoAction(wireMock, 200);
         String token = TokenGenerator.validToken();
+        ApiSteps.stubDoAction(mock, token, 200);
 
         // Act
         ValidatableResponse response = EndpointClient.action(token);
@@ -59,9 +62,9 @@ public class ActionTest extends BaseTest {
             + "Попытка выполнить ACTION после выхода должна вернуть ERROR — токен удалён (403).")
     void should_returnError_when_actionAfterLogout() {
         // Arrange — полный цикл: login → logout
-        ApiSteps.stubAuth(wireMock, 200);
-        ApiSteps.stubDoAction(wireMock, 200);
         String token = TokenGenerator.validToken();
+        ApiSteps.stubAuth(mock, token, 200);
+        ApiSteps.stubDoAction(mock, token, 200);
         EndpointClient.login(token);
         EndpointClient.logout(token);
 
@@ -80,9 +83,9 @@ public class ActionTest extends BaseTest {
             + "Приложение должно обработать ошибку и вернуть ERROR (500).")
     void should_returnError_when_actionAndMockReturns500() {
         // Arrange
-        ApiSteps.stubAuth(wireMock, 200);
-        ApiSteps.stubDoAction(wireMock, 500);
         String token = TokenGenerator.validToken();
+        ApiSteps.stubAuth(mock, token, 200);
+        ApiSteps.stubDoAction(mock, token, 500);
         EndpointClient.login(token);
 
         // Act
@@ -100,9 +103,9 @@ public class ActionTest extends BaseTest {
             + "Приложение должно обработать ошибку и вернуть ERROR (500).")
     void should_returnError_when_actionAndMockReturns400() {
         // Arrange
-        ApiSteps.stubAuth(wireMock, 200);
-        ApiSteps.stubDoAction(wireMock, 400);
         String token = TokenGenerator.validToken();
+        ApiSteps.stubAuth(mock, token, 200);
+        ApiSteps.stubDoAction(mock, token, 400);
         EndpointClient.login(token);
 
         // Act
@@ -112,6 +115,27 @@ public class ActionTest extends BaseTest {
         ApiSteps.assertResultError(response, 500);
     }
 
+    @Test
+    @Story("Медленный внешний сервис")
+    @Severity(SeverityLevel.NORMAL)
+    @ExcludedFromTimings // Мок задержан нарочно — в сводку времени ответа не входит
+    @DisplayName("ACTION при медленном внешнем сервисе дожидается ответа и возвращает OK")
+    @Description("Внешний сервис /doAction отвечает с задержкой 300 мс. "
+            + "Приложение должно дождаться ответа и вернуть OK, а не оборвать запрос.")
+    void should_returnOk_when_doActionIsSlow() {
+        // Arrange — /doAction этого токена отвечает через 300 мс
+        String token = TokenGenerator.validToken();
+        ApiSteps.stubAuth(mock, token, 200);
+        ApiSteps.stubDoAction(mock, token, 200, DownstreamProfile.fixed(300));
+        EndpointClient.login(token);
+
+        // Act
+        ValidatableResponse response = EndpointClient.action(token);
+
+        // Assert
+        ApiSteps.assertResultOk(response, 200);
+    }
+
     @Test
     @Story("Множественные действия")
     @Severity(SeverityLevel.NORMAL)
@@ -120,9 +144,9 @@ public class ActionTest extends BaseTest {
             + "действия многократно. Каждый ACTION должен возвращать OK.")
     void should_returnOk_when_multipleActionsAfterLogin() {
         // Arrange
-        ApiSteps.stubAuth(wireMock, 200);
-        ApiSteps.stubDoAction(wireMock, 200);
         String token = TokenGenerator.validToken();
+        ApiSteps.stubAuth(mock, token, 200);
+        ApiSteps.stubDoAction(mock, token, 200);
         EndpointClient.login(token);
 
         // Act & Assert — три действия подряд
@@ -0,0 +1,50 @@
+package ru.testassignment.tests;
+
+import io.qameta.allure.*;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.parallel.Isolated;
+import ru.testassignment.base.BaseTest;
+import ru.testassignment.profiling.ClusterScaling;
+import ru.testassignment.profiling.ClusterScalingReport;
+import ru.testassignment.steps.ApiSteps;
+
+import java.util.Arrays;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@Tag("load")
+@Isolated // Экземпляры кластера делят процессор только с нагрузкой этого теста
+@Epic("Нагрузочное тестирование")
+@Feature("Горизонтальное масштабирование")
+public class ClusterScalingTest extends BaseTest {
+
+    @Test
+    @Story("Экземпляры за прокси с привязкой токена")
+    @Severity(SeverityLevel.NORMAL)
+    @DisplayName("Кластер из 1, 2, 3 экземпляров: сессии не теряются, запросы делятся между экземплярами")
+    @Description("На каждом шаге (-Dcluster.steps) поднимаются k экземпляров приложения за прокси, "
+            + "который выбирает экземпляр по хешу token. Полные сессии LOGIN → ACTION → LOGOUT "
+            + "доводят кластер до насыщения. Ни одного 403 быть не должно — иначе запрос сессии "
+            + "ушёл не на тот экземпляр; каждый экземпляр должен получить свою долю запросов.")
+    void should_keepSessionsSticky_when_instancesAdded() throws InterruptedException {
+        // Arrange — мок отвечает 200 на любой токен
+        ApiSteps.stubAuth(mock, 200);
+        ApiSteps.stubDoAction(mock, 200);
+        ClusterScaling scaling = ClusterScaling.fromSystemProperties();
+
+        // Act
+        ClusterScalingReport report = scaling.run();
+        report.attachToAllure();
+
+        // Assert — каждый шаг запустился, сессии корректны, нагрузка на всех экземплярах
+        for (ClusterScalingReport.Row row : report.rows()) {
+            assertNull(row.failure(), report::toString);
+            assertEquals(0, row.errors(), report::toString);
+            assertTrue(Arrays.stream(row.routed()).allMatch(count -> count > 0), report::toString);
+        }
+    }
+}
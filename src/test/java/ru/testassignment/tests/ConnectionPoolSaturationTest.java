@@ -0,0 +1,43 @@
+package ru.testassignment.tests;
+
+import io.qameta.allure.*;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.parallel.Isolated;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+import ru.testassignment.base.BaseTest;
+import ru.testassignment.load.SaturationProbe;
+import ru.testassignment.load.SaturationReport;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@Tag("load")
+@Isolated // Мок подменяется глобально — параллельные тесты получили бы задержки
+@Epic("Нагрузочное тестирование")
+@Feature("Поведение внешнего сервиса")
+public class ConnectionPoolSaturationTest extends BaseTest {
+
+    @ParameterizedTest(name = "{0}")
+    @EnumSource(SaturationProbe.Target.class)
+    @Story("Предел одновременных запросов к внешнему сервису")
+    @Severity(SeverityLevel.NORMAL)
+    @DisplayName("Насыщение пула исходящих соединений: предел, очередь и восстановление")
+    @Description("Мок держит ответы (-Dsaturation.delayMs), одновременность запросов к приложению "
+            + "удваивается до -Dsaturation.max. Отчёт показывает, сколько запросов приложение "
+            + "пропускает к внешнему сервису одновременно, как растёт очередь после предела "
+            + "и за сколько задержка возвращается к исходной, когда мок снова отвечает быстро.")
+    void should_findOutboundLimit_andRecover(SaturationProbe.Target target) throws InterruptedException {
+        // Arrange
+        SaturationProbe probe = SaturationProbe.fromSystemProperties(mock, target);
+
+        // Act
+        SaturationReport report = probe.run();
+        report.attachToAllure();
+
+        // Assert — предел может быть выше -Dsaturation.max, но восстановление обязательно
+        assertFalse(report.levels().isEmpty(), report::toString);
+        assertTrue(report.recovered(), report::toString);
+    }
+}
@@ -0,0 +1,52 @@
+package ru.testassignment.tests;
+
+import io.qameta.allure.*;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.parallel.Isolated;
+import ru.testassignment.base.BaseTest;
+import ru.testassignment.client.HttpClientTransport;
+import ru.testassignment.load.RequestSender;
+import ru.testassignment.profiling.CoreScaling;
+import ru.testassignment.profiling.CoreScalingReport;
+import ru.testassignment.steps.ApiSteps;
+
+import java.io.IOException;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@Tag("load")
+@Isolated // Приложение перезапускается на каждом шаге, процессор — только ему и нагрузке
+@Epic("Нагрузочное тестирование")
+@Feature("Опции JVM приложения")
+public class CoreScalingTest extends BaseTest {
+
+    @Test
+    @Story("Масштабирование по ядрам")
+    @Severity(SeverityLevel.NORMAL)
+    @DisplayName("Пропускная способность на 1, 2, 4, … N ядрах и модель USL")
+    @Description("Приложение запускается на k ядрах (taskset и -XX:ActiveProcessorCount, шаги "
+            + "-Dcores.steps) и доводится до насыщения закрытой нагрузкой. По RPS шагов подбирается "
+            + "универсальный закон масштабируемости: коэффициенты конкуренции σ и согласованности κ, "
+            + "пик и число ядер, после которого следующее ядро добавляет меньше половины одного.")
+    void should_fitUsl_toThroughputByCores() throws IOException, InterruptedException {
+        // Arrange — мок отвечает 200 на любой токен; транспорт без накладных расходов REST Assured
+        ApiSteps.stubAuth(mock, 200);
+        ApiSteps.stubDoAction(mock, 200);
+        CoreScaling scaling = CoreScaling.fromSystemProperties(app, RequestSender.httpClient(HttpClientTransport.shared()));
+
+        // Act
+        CoreScalingReport report = scaling.run();
+        report.attachToAllure();
+
+        // Assert — каждый шаг запустился и отработал без ошибок
+        for (CoreScalingReport.Row row : report.rows()) {
+            assertNull(row.failure(), report::toString);
+            assertTrue(row.throughput() > 0, report::toString);
+            assertEquals(0, row.errors(), report::toString);
+        }
+    }
+}
@@ -0,0 +1,63 @@
+package ru.testassignment.tests;
+
+import io.qameta.allure.*;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.parallel.Isolated;
+import ru.testassignment.base.BaseTest;
+import ru.testassignment.load.DownstreamComparison;
+import ru.testassignment.load.LoadProfile;
+import ru.testassignment.load.LoadReport;
+import ru.testassignment.load.LoadRunner;
+import ru.testassignment.load.RequestSender;
+import ru.testassignment.mock.DownstreamProfile;
+import ru.testassignment.steps.ApiSteps;
+
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@Tag("load")
+@Isolated // Замеры не должны пересекаться с другими тестами
+@Epic("Нагрузочное тестирование")
+@Feature("Поведение внешнего сервиса")
+public class DownstreamProfileLoadTest extends BaseTest {
+
+    // Профили по умолчанию: без задержки, постоянная, с хвостом, разброс, по капле, сбои
+    private static final String DEFAULT_PROFILES =
+            "none,fixed:50,lognormal:50:0.5,uniform:10:100,dribble:4:100,lognormal:50:0.5+errors:5+resets:1";
+
+    @Test
+    @Story("Задержка приложения вслед за внешним сервисом")
+    @Severity(SeverityLevel.NORMAL)
+    @DisplayName("Нагрузка при разных профилях внешнего сервиса: p99 приложения против p99 мока")
+    @Description("Один и тот же профиль нагрузки (-Dload.*) прогоняется для каждого профиля мока "
+            + "(-Dmock.profiles, через запятую; формат — DownstreamProfile). Для каждого прогона "
+            + "сравниваются p99 ответов /auth и /doAction с p99 LOGIN и ACTION приложения.")
+    void should_trackDownstreamLatency_when_mockIsSlowOrFaulty() throws InterruptedException {
+        // Arrange
+        List<DownstreamProfile> profiles = Arrays.stream(
+                        System.getProperty("mock.profiles", DEFAULT_PROFILES).split(","))
+                .map(DownstreamProfile::parse)
+                .toList();
+        LoadProfile load = LoadProfile.fromSystemProperties();
+        DownstreamComparison comparison = new DownstreamComparison();
+
+        // Act — прогон на каждый профиль мока
+        for (DownstreamProfile profile : profiles) {
+            ApiSteps.stubAuth(mock, 200, profile);
+            ApiSteps.stubDoAction(mock, 200, profile);
+            mock.downstreamLatency().reset();
+
+            LoadReport app = new LoadRunner(load, RequestSender.configured()).run();
+            comparison.add(profile.toString(), app,
+                    mock.downstreamLatency().report("Внешний сервис: " + profile, app.elapsed()));
+        }
+        comparison.attachToAllure();
+
+        // Assert — сбои мока дают ошибки приложения, поэтому проверяем только, что прогоны состоялись
+        assertTrue(comparison.minRequestsPerRun() > 0, comparison::toString);
+    }
+}
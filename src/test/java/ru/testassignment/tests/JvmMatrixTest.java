@@ -0,0 +1,52 @@
+package ru.testassignment.tests;
+
+import io.qameta.allure.*;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.parallel.Isolated;
+import ru.testassignment.base.BaseTest;
+import ru.testassignment.client.HttpClientTransport;
+import ru.testassignment.load.RequestSender;
+import ru.testassignment.profiling.JvmMatrix;
+import ru.testassignment.profiling.JvmMatrixReport;
+import ru.testassignment.steps.ApiSteps;
+
+import java.io.IOException;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@Tag("load")
+@Isolated // Приложение перезапускается с каждым профилем — другие тесты в это время не работают
+@Epic("Нагрузочное тестирование")
+@Feature("Опции JVM приложения")
+public class JvmMatrixTest extends BaseTest {
+
+    @Test
+    @Story("Сравнение GC, кучи и JIT")
+    @Severity(SeverityLevel.NORMAL)
+    @DisplayName("Матрица опций JVM: запуск, пропускная способность, p99 и пик RSS по профилям")
+    @Description("Приложение по очереди запускается с каждым профилем -Dmatrix.profiles (по умолчанию "
+            + "Serial, Parallel, G1, ZGC, G1 с кучей 256 МБ, G1 только с C1) и получает одну и ту же "
+            + "нагрузку -Dload.*. Таблица профилей — во вложении. Каждый профиль должен запуститься "
+            + "и отработать нагрузку без ошибок.")
+    void should_compareJvmProfiles_underSameWorkload() throws IOException, InterruptedException {
+        // Arrange — мок отвечает 200 на любой токен; транспорт без накладных расходов REST Assured
+        ApiSteps.stubAuth(mock, 200);
+        ApiSteps.stubDoAction(mock, 200);
+        JvmMatrix matrix = JvmMatrix.fromSystemProperties(app, RequestSender.httpClient(HttpClientTransport.shared()));
+
+        // Act
+        JvmMatrixReport report = matrix.run();
+        report.attachToAllure();
+
+        // Assert
+        for (JvmMatrixReport.Row row : report.rows()) {
+            assertNull(row.failure(), report::toString);
+            assertTrue(row.requests() > 0, report::toString);
+            assertEquals(0, row.errors(), report::toString);
+        }
+    }
+}
@@ -0,0 +1,45 @@
+package ru.testassignment.tests;
+
+import io.qameta.allure.*;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.parallel.Isolated;
+import ru.testassignment.base.BaseTest;
+import ru.testassignment.load.LoadProfile;
+import ru.testassignment.load.LoadReport;
+import ru.testassignment.load.LoadRunner;
+import ru.testassignment.load.RequestSender;
+import ru.testassignment.steps.ApiSteps;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@Tag("load")
+@Isolated // Замеры не должны пересекаться с другими тестами
+@Epic("Нагрузочное тестирование")
+@Feature("Смешанная нагрузка LOGIN/ACTION/LOGOUT")
+public class LoadSmokeTest extends BaseTest {
+
+    @Test
+    @Story("Смешанный профиль нагрузки")
+    @Severity(SeverityLevel.NORMAL)
+    @DisplayName("Смешанная нагрузка: сессии, брошенные сессии и невалидные токены без ошибок")
+    @Description("Виртуальные пользователи выполняют сценарии из профиля (-Dload.*): полный цикл "
+            + "LOGIN → ACTION × N → LOGOUT, сессии без LOGOUT и запросы с невалидным токеном. "
+            + "Внешний сервис всегда отвечает 200 — ни одного неожиданного ответа быть не должно.")
+    void should_serveMixedLoad_without_errors() throws InterruptedException {
+        // Arrange — мок отвечает 200 на любой токен
+        ApiSteps.stubAuth(mock, 200);
+        ApiSteps.stubDoAction(mock, 200);
+        LoadProfile profile = LoadProfile.fromSystemProperties();
+
+        // Act
+        LoadReport report = new LoadRunner(profile, RequestSender.configured()).run();
+        report.attachToAllure();
+
+        // Assert
+        assertTrue(report.totalRequests() > 0, "Не отправлено ни одного запроса");
+        assertEquals(0, report.totalErrors(), report::toString);
+    }
+}
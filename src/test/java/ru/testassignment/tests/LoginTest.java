@@ -6,6 +6,7 @@ import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import ru.testassignment.base.BaseTest;
 import ru.testassignment.client.EndpointClient;
+import ru.testassignment.config.TestConfig;
 import ru.testassignment.helper.TokenGenerator;
 import ru.testassignment.steps.ApiSteps;
 
@@ -21,14 +22,14 @@ public class LoginTest extends BaseTest {
             + "внешний сервис /auth отвечает 200 — приложение возвращает OK.")
     void should_returnOk_when_loginWithValidTokenAndMockReturns200() {
         // Arrange — настраиваем мок внешнего сервиса
-        ApiSteps.stubAuth(wireMock, 200);
         String token = TokenGenerator.validToken();
+        ApiSteps.stubAuth(mock, token, 200);
 
         // Act — отправляем запрос LOGIN
         ValidatableResponse response = EndpointClient.login(token);
 
-        // Assert — ожидаем успешный ответ
-        ApiSteps.assertResultOk(response, 200);
+        // Assert — ожидаем успешный ответ в пределах бюджета времени действия (TestConfig.latencyBudgetMs)
+        ApiSteps.assertResultOkWithin(response, 200, TestConfig.latencyBudgetMs("LOGIN"));
     }
 
     @Test
@@ -39,15 +40,14 @@ public class LoginTest extends BaseTest {
             + "Приложение должно корректно обработать ошибку и вернуть ERROR.")
     void should_returnError_when_loginAndMockReturns500() {
         // Arrange
-        ApiSteps.stubAuth(wireMock, 500);
         String token = TokenGenerator.validToken();
+        ApiSteps.stubAuth(mock, token, 500);
 
         // Act
         ValidatableResponse response = EndpointClient.login(token);
 
-        // Assert
-        // Assert — приложение возвращает 500 при ошибке внешнего сервиса
-        ApiSteps.assertResultError(response, 500);
+        // Assert — приложение возвращает 500 при ошибке внешнего сервиса, и тоже без задержки
+        ApiSteps.assertResultErrorWithin(response, 500, TestConfig.latencyBudgetMs("LOGIN"));
     }
 
     @Test
@@ -58,8 +58,8 @@ public class LoginTest extends BaseTest {
             + "Приложение должно обработать ошибку и вернуть ERROR.")
     void should_returnError_when_loginAndMockReturns400() {
         // Arrange
-        ApiSteps.stubAuth(wireMock, 400);
         String token = TokenGenerator.validToken();
+        ApiSteps.stubAuth(mock, token, 400);
 
         // Act
         ValidatableResponse response = EndpointClient.login(token);
@@ -76,8 +76,8 @@ public class LoginTest extends BaseTest {
             + "Приложение должно обработать ошибку и вернуть ERROR.")
     void should_returnError_when_loginAndMockReturns403() {
         // Arrange
-        ApiSteps.stubAuth(wireMock, 403);
         String token = TokenGenerator.validToken();
+        ApiSteps.stubAuth(mock, token, 403);
 
         // Act
         ValidatableResponse response = EndpointClient.login(token);
@@ -94,8 +94,8 @@ public class LoginTest extends BaseTest {
             + "должен вернуть ERROR — токен уже существует в хранилище (409 Conflict).")
     void should_returnError_when_loginWithSameTokenTwice() {
         // Arrange — первый LOGIN успешный
-        ApiSteps.stubAuth(wireMock, 200);
         String token = TokenGenerator.validToken();
+        ApiSteps.stubAuth(mock, token, 200);
         EndpointClient.login(token);
 
         // Act — повторный LOGIN с тем же токеном
@@ -113,9 +113,10 @@ public class LoginTest extends BaseTest {
             + "Токены независимы друг от друга.")
     void should_returnOk_when_loginWithTwoDifferentTokens() {
         // Arrange
-        ApiSteps.stubAuth(wireMock, 200);
         String token1 = TokenGenerator.validToken();
         String token2 = TokenGenerator.validToken();
+        ApiSteps.stubAuth(mock, token1, 200);
+        ApiSteps.stubAuth(mock, token2, 200);
 
         // Act
         ValidatableResponse response1 = EndpointClient.login(token1);
@@ -6,6 +6,7 @@ import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import ru.testassignment.base.BaseTest;
 import ru.testassignment.client.EndpointClient;
+import ru.testassignment.config.TestConfig;
 import ru.testassignment.helper.TokenGenerator;
 import ru.testassignment.steps.ApiSteps;
 
@@ -21,15 +22,15 @@ public class LogoutTest extends BaseTest {
             + "затем завершает сессию. Приложение должно вернуть OK и удалить токен.")
     void should_returnOk_when_logoutAfterLogin() {
         // Arrange — логинимся
-        ApiSteps.stubAuth(wireMock, 200);
         String token = TokenGenerator.validToken();
+        ApiSteps.stubAuth(mock, token, 200);
         EndpointClient.login(token);
 
         // Act — выходим
         ValidatableResponse response = EndpointClient.logout(token);
 
-        // Assert
-        ApiSteps.assertResultOk(response, 200);
+        // Assert — успешный ответ в пределах бюджета времени действия (TestConfig.latencyBudgetMs)
+        ApiSteps.assertResultOkWithin(response, 200, TestConfig.latencyBudgetMs("LOGOUT"));
     }
 
     @Test
@@ -57,8 +58,8 @@ public class LogoutTest extends BaseTest {
             + "должна вернуть ERROR — токен уже удалён из хранилища (403).")
     void should_returnError_when_logoutTwice() {
         // Arrange — логин и первый logout
-        ApiSteps.stubAuth(wireMock, 200);
         String token = TokenGenerator.validToken();
+        ApiSteps.stubAuth(mock, token, 200);
         EndpointClient.login(token);
         EndpointClient.logout(token);
 
@@ -0,0 +1,150 @@
+package ru.testassignment.tests;
+
+import io.qameta.allure.*;
+import io.restassured.response.ValidatableResponse;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.parallel.Isolated;
+import ru.testassignment.base.BaseTest;
+import ru.testassignment.client.EndpointClient;
+import ru.testassignment.client.ExcludedFromTimings;
+import ru.testassignment.helper.TokenGenerator;
+import ru.testassignment.mock.NetworkConditions;
+import ru.testassignment.steps.ApiSteps;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+@Isolated // Условия сети общие для всех запросов приложения к моку
+@ExcludedFromTimings // Задержки искусственные — в сводку времени ответа не входят
+@Epic("API тестирование сервиса аутентификации")
+@Feature("Плохая сеть до внешнего сервиса")
+public class NetworkConditionsTest extends BaseTest {
+
+    @BeforeEach
+    void requireNetworkProxy() {
+        assumeTrue(network != null, "Прокси сети отключён (-Dnet.proxy=false)");
+    }
+
+    @AfterEach
+    void restoreNetwork() {
+        if (network != null) {
+            ApiSteps.resetNetwork(network);
+        }
+    }
+
+    @Test
+    @Story("Медленная установка соединения")
+    @Severity(SeverityLevel.NORMAL)
+    @DisplayName("Медленный connect: LOGIN успешен, но не быстрее установки соединения")
+    @Description("Соединение с внешним сервисом устанавливается 300 мс. Приложение должно дождаться его "
+            + "и вернуть OK; время ответа не меньше задержки — значит, приложение открыло новое соединение.")
+    void should_returnOk_when_connectIsSlow() {
+        // Arrange
+        String token = TokenGenerator.validToken();
+        ApiSteps.stubAuth(mock, token, 200);
+        ApiSteps.setNetwork(network, NetworkConditions.NONE.withConnectDelay(300));
+
+        // Act
+        ValidatableResponse response = EndpointClient.login(token);
+
+        // Assert — OK, и задержка соединения видна в ответе приложения
+        ApiSteps.assertResultOk(response, 200);
+        assertSlowerThan(response, 300);
+    }
+
+    @Test
+    @Story("Задержка и разброс в сети")
+    @Severity(SeverityLevel.NORMAL)
+    @DisplayName("Задержка 150 ± 50 мс: LOGIN успешен, запрос и ответ задержаны")
+    @Description("Каждый кусок данных в обе стороны задерживается на 100–200 мс. "
+            + "Приложение возвращает OK не быстрее чем за две минимальные задержки — туда и обратно.")
+    void should_returnOk_when_latencyWithJitter() {
+        // Arrange
+        String token = TokenGenerator.validToken();
+        ApiSteps.stubAuth(mock, token, 200);
+        ApiSteps.setNetwork(network, NetworkConditions.NONE.withLatency(150, 50));
+
+        // Act
+        ValidatableResponse response = EndpointClient.login(token);
+
+        // Assert
+        ApiSteps.assertResultOk(response, 200);
+        assertSlowerThan(response, 200);
+    }
+
+    @Test
+    @Story("Узкий канал")
+    @Severity(SeverityLevel.NORMAL)
+    @DisplayName("Канал 1000 байт/с: LOGIN успешен, но запрос с заголовками идёт сотни миллисекунд")
+    @Description("Пропускная способность каждого направления — 1000 байт/с. HTTP-запрос приложения "
+            + "к /auth с заголовками и ответ мока вместе больше 200 байт, поэтому ответ не быстрее 200 мс.")
+    void should_returnOk_when_bandwidthIsLimited() {
+        // Arrange
+        String token = TokenGenerator.validToken();
+        ApiSteps.stubAuth(mock, token, 200);
+        ApiSteps.setNetwork(network, NetworkConditions.NONE.withBandwidth(1000));
+
+        // Act
+        ValidatableResponse response = EndpointClient.login(token);
+
+        // Assert
+        ApiSteps.assertResultOk(response, 200);
+        assertSlowerThan(response, 200);
+    }
+
+    @Test
+    @Story("Зависшее соединение")
+    @Severity(SeverityLevel.CRITICAL)
+    @DisplayName("Ответ завис на середине заголовков: LOGIN дожидается продолжения и возвращает OK")
+    @Description("Мок ответил, но после первых 20 байт ответ стоит 1500 мс при открытом соединении — "
+            + "как при потере пакетов или перегруженном балансировщике. Приложение не должно "
+            + "ни потерять ответ, ни оборвать запрос раньше времени.")
+    void should_returnOk_when_responseStallsMidway() {
+        // Arrange
+        String token = TokenGenerator.validToken();
+        ApiSteps.stubAuth(mock, token, 200);
+        ApiSteps.setNetwork(network, NetworkConditions.NONE.withStall(20, 1500));
+
+        // Act
+        ValidatableResponse response = EndpointClient.login(token);
+
+        // Assert
+        ApiSteps.assertResultOk(response, 200);
+        assertSlowerThan(response, 1500);
+    }
+
+    @Test
+    @Story("Обрыв соединения")
+    @Severity(SeverityLevel.CRITICAL)
+    @DisplayName("Обрыв соединения RST: LOGIN возвращает ошибку, сессия не создаётся")
+    @Description("Каждое соединение с внешним сервисом обрывается RST на первом же куске запроса. "
+            + "Приложение должно вернуть ERROR (500), а не зависнуть; ACTION с этим токеном "
+            + "после восстановления сети — 403: сессия не создана.")
+    void should_returnError_when_connectionIsReset() {
+        // Arrange
+        String token = TokenGenerator.validToken();
+        ApiSteps.stubAuth(mock, token, 200);
+        ApiSteps.stubDoAction(mock, token, 200);
+        ApiSteps.setNetwork(network, NetworkConditions.NONE.withResets(100));
+        long resetsBefore = network.resets();
+
+        // Act
+        ValidatableResponse response = EndpointClient.login(token);
+        ApiSteps.resetNetwork(network);
+        ValidatableResponse action = EndpointClient.action(token);
+
+        // Assert — обрыв дошёл до приложения и превратился в ошибку
+        ApiSteps.assertResultError(response, 500);
+        assertTrue(network.resets() > resetsBefore, "Прокси не оборвал ни одного соединения");
+        ApiSteps.assertResultError(action, 403);
+    }
+
+    private static void assertSlowerThan(ValidatableResponse response, long minMillis) {
+        long timeMillis = EndpointClient.responseTime(response);
+        assertTrue(timeMillis >= minMillis,
+                "Ответ за " + timeMillis + " мс — быстрее, чем позволяют условия сети (" + minMillis + " мс)");
+    }
+}
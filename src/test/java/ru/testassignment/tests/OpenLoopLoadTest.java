@@ -0,0 +1,48 @@
+package ru.testassignment.tests;
+
+import io.qameta.allure.*;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.parallel.Isolated;
+import ru.testassignment.base.BaseTest;
+import ru.testassignment.load.OpenLoopProfile;
+import ru.testassignment.load.OpenLoopReport;
+import ru.testassignment.load.OpenLoopRunner;
+import ru.testassignment.load.RequestSender;
+import ru.testassignment.steps.ApiSteps;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@Tag("load")
+@Isolated // Замеры не должны пересекаться с другими тестами
+@Epic("Нагрузочное тестирование")
+@Feature("Постоянная частота запросов (открытая модель)")
+public class OpenLoopLoadTest extends BaseTest {
+
+    @Test
+    @Story("Задержки с поправкой на coordinated omission")
+    @Severity(SeverityLevel.NORMAL)
+    @DisplayName("Постоянная частота: все запросы по расписанию обслужены без ошибок")
+    @Description("Запросы LOGIN/ACTION/LOGOUT отправляются по фиксированному расписанию "
+            + "(-Dopen.rate запросов в секунду), не дожидаясь предыдущих ответов. "
+            + "Задержка считается от планового времени отправки и от фактической — "
+            + "в отчёте видно, сколько ожидания скрывает обычный замер.")
+    void should_serveConstantRate_without_errors() throws InterruptedException {
+        // Arrange — мок отвечает 200 на любой токен
+        ApiSteps.stubAuth(mock, 200);
+        ApiSteps.stubDoAction(mock, 200);
+        OpenLoopProfile profile = OpenLoopProfile.fromSystemProperties();
+
+        // Act
+        OpenLoopReport report = new OpenLoopRunner(profile, RequestSender.configured()).run();
+        report.attachToAllure();
+
+        // Assert — все запросы обслужены; задержка от плана не меньше задержки от отправки
+        assertTrue(report.corrected().totalRequests() > 0, "Не отправлено ни одного запроса");
+        assertEquals(0, report.corrected().totalErrors(), report::toString);
+        report.corrected().actions().forEach(c -> assertTrue(
+                c.max() >= report.uncorrected().action(c.label()).max(), report::toString));
+    }
+}
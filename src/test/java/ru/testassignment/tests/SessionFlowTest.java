@@ -22,9 +22,9 @@ public class SessionFlowTest extends BaseTest {
             + "Каждый шаг должен вернуть OK.")
     void should_completeFullCycle_when_loginActionLogout() {
         // Arrange
-        ApiSteps.stubAuth(wireMock, 200);
-        ApiSteps.stubDoAction(wireMock, 200);
         String token = TokenGenerator.validToken();
+        ApiSteps.stubAuth(mock, token, 200);
+        ApiSteps.stubDoAction(mock, token, 200);
 
         // Act & Assert — полный цикл
         ApiSteps.assertResultOk(EndpointClient.login(token), 200);
@@ -40,10 +40,12 @@ public class SessionFlowTest extends BaseTest {
             + "Новый LOGIN с другим токеном после LOGOUT должен работать корректно.")
     void should_allowNewSession_when_loginAfterLogout() {
         // Arrange
-        ApiSteps.stubAuth(wireMock, 200);
-        ApiSteps.stubDoAction(wireMock, 200);
         String token1 = TokenGenerator.validToken();
         String token2 = TokenGenerator.validToken();
+        ApiSteps.stubAuth(mock, token1, 200);
+        ApiSteps.stubAuth(mock, token2, 200);
+        ApiSteps.stubDoAction(mock, token1, 200);
+        ApiSteps.stubDoAction(mock, token2, 200);
 
         // Act — первая сессия
         ApiSteps.assertResultOk(EndpointClient.login(token1), 200);
@@ -63,10 +65,12 @@ public class SessionFlowTest extends BaseTest {
             + "после LOGOUT первого должен вернуть OK.")
     void should_keepOtherSession_when_oneTokenLogsOut() {
         // Arrange — два пользователя залогинены
-        ApiSteps.stubAuth(wireMock, 200);
-        ApiSteps.stubDoAction(wireMock, 200);
         String token1 = TokenGenerator.validToken();
         String token2 = TokenGenerator.validToken();
+        ApiSteps.stubAuth(mock, token1, 200);
+        ApiSteps.stubAuth(mock, token2, 200);
+        ApiSteps.stubDoAction(mock, token1, 200);
+        ApiSteps.stubDoAction(mock, token2, 200);
         EndpointClient.login(token1);
         EndpointClient.login(token2);
 
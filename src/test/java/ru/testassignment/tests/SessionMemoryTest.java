@@ -0,0 +1,55 @@
+package ru.testassignment.tests;
+
+import io.qameta.allure.*;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.parallel.Isolated;
+import ru.testassignment.base.BaseTest;
+import ru.testassignment.profiling.SessionMemoryProbe;
+import ru.testassignment.profiling.SessionMemoryReport;
+import ru.testassignment.steps.ApiSteps;
+
+import java.io.IOException;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+@Tag("load")
+@Isolated // Куча приложения должна расти только от сессий этого теста
+@Epic("Нагрузочное тестирование")
+@Feature("Память хранилища сессий")
+public class SessionMemoryTest extends BaseTest {
+
+    @Test
+    @Story("Рост и возврат памяти")
+    @Severity(SeverityLevel.CRITICAL)
+    @DisplayName("Память сессий: байт на сессию и возврат памяти после LOGOUT")
+    @Description("N токенов (-Dmemory.sessions) логинятся ступенями, затем все выходят; после каждой "
+            + "ступени — полная сборка мусора и замер кучи (jcmd GC.heap_info) и RSS. "
+            + "После LOGOUT всех сессий куча должна вернуться к исходной: остаток больше "
+            + "-Dmemory.maxRetained (доля прироста, 0.25) — хранилище не отдаёт память. "
+            + "Выводы — по прямым через все ступени, а не по отдельным замерам; если прирост кучи "
+            + "не превышает шум замеров в 5 раз, тест пропускается: сессий слишком мало. "
+            + "С -Dmemory.untilBreak=true логины продолжаются до первого отказа приложения.")
+    void should_releaseMemory_when_allSessionsLogOut() throws IOException, InterruptedException {
+        // Arrange — мок отвечает 200 на любой токен
+        ApiSteps.stubAuth(mock, 200);
+        SessionMemoryProbe probe = SessionMemoryProbe.fromSystemProperties(app);
+        double maxRetained = Double.parseDouble(System.getProperty("memory.maxRetained", "0.25"));
+
+        // Act
+        SessionMemoryReport report = probe.run();
+        report.attachToAllure();
+
+        // Assert — все сессии созданы и закрыты, память вернулась
+        assertEquals(Map.of(200, report.sessions()), report.loginStatuses(), report::toString);
+        assertEquals(Map.of(200, report.sessions()), report.logoutStatuses(), report::toString);
+        assumeTrue(report.growthMeasurable(), () -> "Прирост кучи не выше шума замеров — увеличьте -Dmemory.sessions\n"
+                + report);
+        assertTrue(report.heapBytesPerSession() > 0, report::toString);
+        assertTrue(report.retainedShare() <= maxRetained, report::toString);
+    }
+}
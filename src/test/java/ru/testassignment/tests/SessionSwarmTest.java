@@ -0,0 +1,50 @@
+package ru.testassignment.tests;
+
+import io.qameta.allure.*;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.parallel.Isolated;
+import ru.testassignment.base.BaseTest;
+import ru.testassignment.client.HttpClientTransport;
+import ru.testassignment.load.RequestSender;
+import ru.testassignment.load.SessionSwarm;
+import ru.testassignment.load.SwarmReport;
+import ru.testassignment.steps.ApiSteps;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@Tag("load")
+@Isolated // Замеры не должны пересекаться с другими тестами
+@Epic("Нагрузочное тестирование")
+@Feature("Массовые параллельные сессии")
+public class SessionSwarmTest extends BaseTest {
+
+    @Test
+    @Story("Независимость сессий под нагрузкой")
+    @Severity(SeverityLevel.CRITICAL)
+    @DisplayName("Рой сессий: тысячи одновременных LOGIN → ACTION → LOGOUT без утечек")
+    @Description("Каждый пользователь (-Dswarm.sessions, по умолчанию 10 000) работает в своём "
+            + "виртуальном потоке (на Java 17 — в пуле платформенных) и проходит полный цикл сессии. "
+            + "После LOGOUT контрольный ACTION обязан вернуть 403: если он успешен, "
+            + "токен вышедшего пользователя продолжает работать — это утечка между сессиями.")
+    void should_isolateSessions_when_thousandsRunConcurrently() throws InterruptedException {
+        // Arrange — мок отвечает 200 на любой токен; транспорт без накладных расходов REST Assured
+        ApiSteps.stubAuth(mock, 200);
+        ApiSteps.stubDoAction(mock, 200);
+        SessionSwarm swarm = SessionSwarm.fromSystemProperties(
+                RequestSender.httpClient(HttpClientTransport.shared()));
+
+        // Act
+        SwarmReport report = swarm.run(Duration.ofSeconds(Long.getLong("swarm.timeout", 600)));
+        report.attachToAllure();
+
+        // Assert — все сессии отработали, утечек и неожиданных ответов нет
+        assertTrue(report.completed(), report::toString);
+        assertEquals(0, report.leaks(), report::toString);
+        assertEquals(0, report.requests().totalErrors(), report::toString);
+    }
+}
@@ -0,0 +1,57 @@
+package ru.testassignment.tests;
+
+import io.qameta.allure.*;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.parallel.Isolated;
+import ru.testassignment.base.BaseTest;
+import ru.testassignment.load.StoreSizeLatency;
+import ru.testassignment.load.StoreSizeReport;
+import ru.testassignment.steps.ApiSteps;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@Tag("load")
+@Isolated // Хранилище приложения наполняет только этот тест, после него приложение перезапускается
+@Epic("Нагрузочное тестирование")
+@Feature("Память хранилища сессий")
+public class StoreSizeLatencyTest extends BaseTest {
+
+    @Test
+    @Story("Задержка от размера хранилища")
+    @Severity(SeverityLevel.NORMAL)
+    @DisplayName("Задержка ACTION не растёт с числом живых сессий")
+    @Description("Хранилище наполняется до размеров -Dstore.sizes (по умолчанию 10³, 10⁴, 10⁵; "
+            + "для 10⁶–10⁷ задать явно). На каждом размере — ACTION живых сессий и ACTION токенов "
+            + "без сессии (403, только поиск в хранилище). Кривая — вложением и в "
+            + "target/store-size-latency.csv. Медиана не должна вырасти больше чем в -Dstore.maxGrowth "
+            + "раз (3) от меньшего размера к большему.")
+    void should_keepActionLatencyFlat_when_storeGrows() throws IOException, InterruptedException {
+        // Arrange — мок отвечает 200 на любой токен
+        ApiSteps.stubAuth(mock, 200);
+        ApiSteps.stubDoAction(mock, 200);
+        StoreSizeLatency experiment = StoreSizeLatency.fromSystemProperties(app);
+        double maxGrowth = Double.parseDouble(System.getProperty("store.maxGrowth", "3"));
+
+        // Act
+        StoreSizeReport report = experiment.run();
+        report.attachToAllure();
+        report.writeCsv(Path.of("target/store-size-latency.csv"));
+
+        // Assert — каждый размер набран, ответы ожидаемые, медиана не растёт с размером
+        for (StoreSizeReport.Level level : report.levels()) {
+            assertEquals(Set.of(200), level.fillStatuses().keySet(), report::toString);
+            assertEquals(level.targetSessions(), level.liveSessions(), report::toString);
+            assertEquals(0, level.action().errors(), report::toString);
+            assertEquals(0, level.rejected().errors(), report::toString);
+        }
+        assertTrue(report.p50Growth(StoreSizeReport.Level::action) <= maxGrowth, report::toString);
+        assertTrue(report.p50Growth(StoreSizeReport.Level::rejected) <= maxGrowth, report::toString);
+    }
+}
@@ -0,0 +1,101 @@
+package ru.testassignment.tests;
+
+import io.qameta.allure.*;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import ru.testassignment.helper.TokenGenerator;
+import ru.testassignment.helper.TokenStream;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.regex.Pattern;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@Epic("Инфраструктура тестов")
+@Feature("Генератор токенов")
+public class TokenGeneratorTest {
+
+    private static final Pattern VALID_TOKEN = Pattern.compile("^[0-9A-F]{32}$");
+
+    @Test
+    @Story("Уникальность токенов")
+    @Severity(SeverityLevel.CRITICAL)
+    @DisplayName("Токены из разных потоков валидны и не повторяются")
+    @Description("Четыре потока генерируют по 250 000 токенов. Каждый токен должен проходить "
+            + "валидацию приложения ^[0-9A-F]{32}$, а совпадений быть не должно — иначе тесты "
+            + "случайно получат чужую сессию.")
+    void should_generateUniqueValidTokens_when_manyThreads() throws Exception {
+        // Arrange
+        int threads = 4;
+        int perThread = 250_000;
+        Set<String> tokens = ConcurrentHashMap.newKeySet(threads * perThread);
+        ExecutorService pool = Executors.newFixedThreadPool(threads);
+
+        // Act
+        try {
+            Future<?>[] futures = new Future<?>[threads];
+            for (int t = 0; t < threads; t++) {
+                futures[t] = pool.submit(() -> {
+                    String[] batch = TokenGenerator.currentStream().fill(new String[perThread]);
+                    for (String token : batch) {
+                        tokens.add(token);
+                    }
+                });
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } finally {
+            pool.shutdown();
+        }
+
+        // Assert
+        assertEquals(threads * perThread, tokens.size(), "Найдены повторяющиеся токены");
+        assertTrue(tokens.stream().allMatch(token -> VALID_TOKEN.matcher(token).matches()));
+    }
+
+    @Test
+    @Story("Воспроизводимость")
+    @Severity(SeverityLevel.NORMAL)
+    @DisplayName("Поток с тем же seed и номером повторяет ту же последовательность")
+    @Description("Последовательность токенов определяется seed запуска и номером потока — "
+            + "по seed из лога можно повторить упавший прогон с теми же токенами.")
+    void should_replaySameSequence_when_sameStreamId() {
+        // Act
+        String[] first = TokenGenerator.stream(42).fill(new String[1000]);
+        String[] second = TokenGenerator.stream(42).fill(new String[1000]);
+        String[] other = TokenGenerator.stream(43).fill(new String[1000]);
+
+        // Assert
+        assertArrayEquals(first, second);
+        assertTrue(Set.of(first).stream().noneMatch(Set.of(other)::contains),
+                "Разные потоки не должны пересекаться");
+    }
+
+    @Test
+    @Story("Готовые тела запросов")
+    @Severity(SeverityLevel.NORMAL)
+    @DisplayName("Тело формы содержит очередной токен потока и действие")
+    @Description("Для массовой отправки токены можно получать сразу в виде тела "
+            + "application/x-www-form-urlencoded: token=ТОКЕН&action=ДЕЙСТВИЕ.")
+    void should_buildFormBody_withNextToken() {
+        // Arrange
+        TokenStream expected = TokenGenerator.stream(7);
+        TokenStream actual = TokenGenerator.stream(7);
+
+        // Act
+        byte[][] bodies = actual.formBodies("LOGIN", 3);
+
+        // Assert
+        for (byte[] body : bodies) {
+            assertEquals("token=" + expected.next() + "&action=LOGIN", new String(body, StandardCharsets.US_ASCII));
+        }
+    }
+}
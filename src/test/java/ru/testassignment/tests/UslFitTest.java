@@ -0,0 +1,55 @@
+package ru.testassignment.tests;
+
+import io.qameta.allure.*;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import ru.testassignment.profiling.UslFit;
+
+import java.util.Map;
+import java.util.TreeMap;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@Epic("Инфраструктура тестов")
+@Feature("Модель масштабируемости USL")
+public class UslFitTest {
+
+    @Test
+    @Story("Подгонка коэффициентов")
+    @Severity(SeverityLevel.NORMAL)
+    @DisplayName("USL восстанавливает σ и κ по пропускной способности на 1–32 ядрах")
+    @Description("Пропускная способность посчитана по USL с λ = 1000, σ = 0.05, κ = 0.002. "
+            + "Подгонка должна вернуть те же коэффициенты и пик √((1 − σ) / κ) ≈ 21.8 ядра.")
+    void should_recoverCoefficients_when_throughputFollowsUsl() {
+        // Arrange
+        UslFit model = new UslFit(1000, 0.05, 0.002, 1);
+        Map<Integer, Double> throughput = new TreeMap<>();
+        for (int cores : new int[]{1, 2, 4, 8, 16, 32}) {
+            throughput.put(cores, model.throughput(cores));
+        }
+
+        // Act
+        UslFit fit = UslFit.fit(throughput);
+
+        // Assert
+        assertEquals(1000, fit.lambda(), 1e-6);
+        assertEquals(0.05, fit.sigma(), 1e-9);
+        assertEquals(0.002, fit.kappa(), 1e-9);
+        assertEquals(21.79, fit.peakCores(), 0.01);
+        assertEquals(1, fit.rSquared(), 1e-9);
+        assertTrue(fit.diminishingReturnsCores(0.5) < fit.peakCores());
+    }
+
+    @Test
+    @Story("Подгонка коэффициентов")
+    @Severity(SeverityLevel.MINOR)
+    @DisplayName("Без замера на одном ядре или при двух точках подгонка отклоняется")
+    @Description("λ берётся из замера на одном ядре, а σ и κ нужны ещё две точки.")
+    void should_rejectFit_when_notEnoughPoints() {
+        // Assert — при двух точках или без N = 1 σ и κ не определить
+        assertThrows(IllegalArgumentException.class, () -> UslFit.fit(Map.of(1, 100.0, 2, 180.0)));
+        assertThrows(IllegalArgumentException.class, () -> UslFit.fit(Map.of(2, 180.0, 4, 300.0, 8, 400.0)));
+    }
+}
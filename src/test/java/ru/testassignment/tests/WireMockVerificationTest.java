@@ -20,15 +20,15 @@ public class WireMockVerificationTest extends BaseTest {
             + "к внешнему сервису: отправляет POST на /auth и передаёт токен в теле запроса.")
     void should_sendAuthRequest_when_login() {
         // Arrange
-        ApiSteps.stubAuth(wireMock, 200);
         String token = TokenGenerator.validToken();
+        ApiSteps.stubAuth(mock, token, 200);
 
         // Act
         EndpointClient.login(token);
 
         // Assert — мок получил запрос с правильным токеном
-        ApiSteps.verifyAuthCalled(wireMock, 1);
-        ApiSteps.verifyAuthCalledWithToken(wireMock, token);
+        ApiSteps.verifyAuthCalled(mock, token, 1);
+        ApiSteps.verifyAuthCalledWithToken(mock, token);
     }
 
     @Test
@@ -39,17 +39,17 @@ public class WireMockVerificationTest extends BaseTest {
             + "к внешнему сервису: отправляет POST на /doAction и передаёт токен в теле запроса.")
     void should_sendDoActionRequest_when_action() {
         // Arrange — сначала логин
-        ApiSteps.stubAuth(wireMock, 200);
-        ApiSteps.stubDoAction(wireMock, 200);
         String token = TokenGenerator.validToken();
+        ApiSteps.stubAuth(mock, token, 200);
+        ApiSteps.stubDoAction(mock, token, 200);
         EndpointClient.login(token);
 
         // Act
         EndpointClient.action(token);
 
         // Assert — мок /doAction получил запрос с правильным токеном
-        ApiSteps.verifyDoActionCalled(wireMock, 1);
-        ApiSteps.verifyDoActionCalledWithToken(wireMock, token);
+        ApiSteps.verifyDoActionCalled(mock, token, 1);
+        ApiSteps.verifyDoActionCalledWithToken(mock, token);
     }
 
     @Test
@@ -60,18 +60,16 @@ public class WireMockVerificationTest extends BaseTest {
             + "Приложение не должно отправлять запросы к внешнему сервису при LOGOUT.")
     void should_notCallMock_when_logout() {
         // Arrange — логинимся
-        ApiSteps.stubAuth(wireMock, 200);
         String token = TokenGenerator.validToken();
+        ApiSteps.stubAuth(mock, token, 200);
         EndpointClient.login(token);
-        // Сбрасываем счётчик обращений после логина
-        wireMock.resetRequests();
 
         // Act — выходим
         EndpointClient.logout(token);
 
-        // Assert — мок не получал запросов при LOGOUT
-        ApiSteps.verifyAuthCalled(wireMock, 0);
-        ApiSteps.verifyDoActionCalled(wireMock, 0);
+        // Assert — после LOGOUT обращений с этим токеном не прибавилось: только /auth от LOGIN
+        ApiSteps.verifyAuthCalled(mock, token, 1);
+        ApiSteps.verifyDoActionNotCalled(mock, token);
     }
 
     @Test
@@ -82,13 +80,13 @@ public class WireMockVerificationTest extends BaseTest {
             + "в формате application/x-www-form-urlencoded (token=ЗНАЧЕНИЕ).")
     void should_sendTokenInFormUrlEncoded_when_login() {
         // Arrange
-        ApiSteps.stubAuth(wireMock, 200);
         String token = TokenGenerator.validToken();
+        ApiSteps.stubAuth(mock, token, 200);
 
         // Act
         EndpointClient.login(token);
 
         // Assert — запрос содержит token=ЗНАЧЕНИЕ в теле
-        ApiSteps.verifyAuthCalledWithToken(wireMock, token);
+        ApiSteps.verifyAuthCalledWithToken(mock, token);
     }
 }